@@ -2,7 +2,9 @@ package edu.ncsu.csc216.packdoption.model.animals;
 
 import edu.ncsu.csc216.packdoption.util.Date;
 import edu.ncsu.csc216.packdoption.util.Note;
+import edu.ncsu.csc216.packdoption.util.SimpleListIterator;
 import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
+import edu.ncsu.csc216.packdoption.util.SortedList;
 
 /**
  * An abstract class representing an animal.
@@ -12,6 +14,11 @@ import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
  */
 public abstract class Animal implements Comparable<Animal> {
 
+	/** The listener array of an animal that nothing is listening to */
+	private static final AdoptionListener[] NO_LISTENERS = new AdoptionListener[0];
+	/** The change listener array of an animal that nothing is listening to */
+	private static final ChangeListener[] NO_CHANGE_LISTENERS = new ChangeListener[0];
+
 	/** The name of the animal */
 	private String name;
 	/** The birthday of the animal */
@@ -22,8 +29,14 @@ public abstract class Animal implements Comparable<Animal> {
 	private boolean houseTrained;
 	/** Whether the animal is good with kids */
 	private boolean goodWithKids;
-	/** The notes for the animal */
-	private SortedLinkedList<Note> notes;
+	/**
+	 * The notes for the animal. Any SortedList may be supplied, such as a
+	 * ConcurrentSortedList when the list itself is shared between threads. The
+	 * animal is not made thread-safe by it.
+	 */
+	private SortedList<Note> notes;
+	/** Loads the notes the first time they are needed, or null once they are */
+	private volatile NoteLoader noteLoader;
 	/** The date the animal entered the rescue */
 	private Date dateEnterRescue;
 	/** Whether the animal is adopted */
@@ -32,6 +45,67 @@ public abstract class Animal implements Comparable<Animal> {
 	private Date dateAdopted;
 	/** The owner of the animal */
 	private String owner;
+	/** The listeners told about adoption changes, replaced rather than modified */
+	private volatile AdoptionListener[] adoptionListeners = NO_LISTENERS;
+	/** The listeners told about any change, replaced rather than modified */
+	private volatile ChangeListener[] changeListeners = NO_CHANGE_LISTENERS;
+
+	/**
+	 * Receives notice when the adoption information of an animal is set, so that
+	 * a rescue holding the animal can keep its counts up to date even when the
+	 * animal is changed directly.
+	 */
+	public interface AdoptionListener {
+
+		/**
+		 * Called after the adoption information of an animal has been set.
+		 * 
+		 * @param animal     the animal whose adoption information was set
+		 * @param wasAdopted whether the animal was adopted before the change
+		 */
+		void adoptionChanged(Animal animal, boolean wasAdopted);
+	}
+
+	/**
+	 * Receives notice when the size, notes, or adoption information of an animal
+	 * change through the animal, so that a rescue holding the animal knows it has
+	 * changed since it was last saved.
+	 */
+	public interface ChangeListener {
+
+		/**
+		 * Called after the animal has changed.
+		 * 
+		 * @param animal the animal that changed
+		 */
+		void animalChanged(Animal animal);
+
+		/**
+		 * Called after a note is added to the animal, instead of animalChanged.
+		 * Unless overridden, calls animalChanged.
+		 * 
+		 * @param animal the animal that changed
+		 * @param note   the note added
+		 */
+		default void noteAdded(Animal animal, Note note) {
+			animalChanged(animal);
+		}
+	}
+
+	/**
+	 * Supplies the notes of an animal the first time they are needed, so that
+	 * notes read from a file are not built for animals whose notes are never
+	 * looked at.
+	 */
+	public interface NoteLoader {
+
+		/**
+		 * Builds the notes of the animal.
+		 * 
+		 * @return the notes
+		 */
+		SortedList<Note> loadNotes();
+	}
 
 	/**
 	 * Enumeration representing one of the three possible age categories for an
@@ -74,7 +148,7 @@ public abstract class Animal implements Comparable<Animal> {
 	 * @throws IllegalArgumentException if any parameters are invalid
 	 */
 	public Animal(String name, Date birthday, Size size, boolean houseTrained, boolean goodWithKids,
-			SortedLinkedList<Note> notes, Date dateEnterRescue, boolean adopted, Date dateAdopted, String owner) {
+			SortedList<Note> notes, Date dateEnterRescue, boolean adopted, Date dateAdopted, String owner) {
 
 		if (name == null || name.trim().isEmpty() || name.contains("\n") || name.contains(",")) {
 			throw new IllegalArgumentException("Cannot add: Invalid name");
@@ -129,7 +203,7 @@ public abstract class Animal implements Comparable<Animal> {
 	 * @throws IllegalArgumentException if any parameters are invalid
 	 */
 	public Animal(String name, Date birthday, Size size, boolean houseTrained, boolean goodWithKids,
-			SortedLinkedList<Note> notes, Date dateEnterRescue) {
+			SortedList<Note> notes, Date dateEnterRescue) {
 		this(name, birthday, size, houseTrained, goodWithKids, notes, dateEnterRescue, false, null, null);
 
 	}
@@ -184,10 +258,45 @@ public abstract class Animal implements Comparable<Animal> {
 	 * 
 	 * @return the notes of the animal
 	 */
-	public SortedLinkedList<Note> getNotes() {
+	public SortedList<Note> getNotes() {
+		NoteLoader loader = noteLoader;
+		if (loader != null) {
+			synchronized (this) {
+				if (noteLoader != null) {
+					notes = noteLoader.loadNotes();
+					noteLoader = null;
+				}
+			}
+		}
 		return notes;
 	}
 
+	/**
+	 * Has the notes of the animal built by a loader the first time they are
+	 * needed, in place of the notes the animal holds now. If the loader throws an
+	 * exception it is passed on and the notes are loaded again the next time they
+	 * are needed.
+	 * 
+	 * @param loader the loader of the notes
+	 * @throws IllegalArgumentException if loader is null
+	 */
+	public synchronized void setNoteLoader(NoteLoader loader) {
+		if (loader == null) {
+			throw new IllegalArgumentException();
+		}
+		noteLoader = loader;
+	}
+
+	/**
+	 * Returns whether the notes of the animal have been built, which they are
+	 * unless a NoteLoader has been set and they have not been needed since.
+	 * 
+	 * @return true if the notes are loaded
+	 */
+	public boolean isNotesLoaded() {
+		return noteLoader == null;
+	}
+
 	/**
 	 * Returns the size of the animal.
 	 * 
@@ -247,9 +356,96 @@ public abstract class Animal implements Comparable<Animal> {
 			throw new IllegalArgumentException("Cannot add: Invalid owner");
 		}
 
+		boolean wasAdopted = this.adopted;
 		this.adopted = adopted;
 		this.dateAdopted = dateAdopted;
 		this.owner = owner != null ? owner.trim() : null;
+
+		for (AdoptionListener listener : adoptionListeners) {
+			listener.adoptionChanged(this, wasAdopted);
+		}
+		changed();
+	}
+
+	/**
+	 * Registers a listener to be told whenever the adoption information of the
+	 * animal is set.
+	 * 
+	 * @param listener the listener to add
+	 * @throws IllegalArgumentException if listener is null
+	 */
+	public synchronized void addAdoptionListener(AdoptionListener listener) {
+		if (listener == null) {
+			throw new IllegalArgumentException();
+		}
+
+		AdoptionListener[] listeners = new AdoptionListener[adoptionListeners.length + 1];
+		System.arraycopy(adoptionListeners, 0, listeners, 0, adoptionListeners.length);
+		listeners[adoptionListeners.length] = listener;
+		adoptionListeners = listeners;
+	}
+
+	/**
+	 * Removes a listener added with addAdoptionListener. Does nothing if the
+	 * listener was not registered.
+	 * 
+	 * @param listener the listener to remove
+	 */
+	public synchronized void removeAdoptionListener(AdoptionListener listener) {
+		for (int i = 0; i < adoptionListeners.length; i++) {
+			if (adoptionListeners[i] == listener) {
+				AdoptionListener[] listeners = new AdoptionListener[adoptionListeners.length - 1];
+				System.arraycopy(adoptionListeners, 0, listeners, 0, i);
+				System.arraycopy(adoptionListeners, i + 1, listeners, i, listeners.length - i);
+				adoptionListeners = listeners;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Registers a listener to be told whenever the size, notes, or adoption
+	 * information of the animal change.
+	 * 
+	 * @param listener the listener to add
+	 * @throws IllegalArgumentException if listener is null
+	 */
+	public synchronized void addChangeListener(ChangeListener listener) {
+		if (listener == null) {
+			throw new IllegalArgumentException();
+		}
+
+		ChangeListener[] listeners = new ChangeListener[changeListeners.length + 1];
+		System.arraycopy(changeListeners, 0, listeners, 0, changeListeners.length);
+		listeners[changeListeners.length] = listener;
+		changeListeners = listeners;
+	}
+
+	/**
+	 * Removes a listener added with addChangeListener. Does nothing if the
+	 * listener was not registered.
+	 * 
+	 * @param listener the listener to remove
+	 */
+	public synchronized void removeChangeListener(ChangeListener listener) {
+		for (int i = 0; i < changeListeners.length; i++) {
+			if (changeListeners[i] == listener) {
+				ChangeListener[] listeners = new ChangeListener[changeListeners.length - 1];
+				System.arraycopy(changeListeners, 0, listeners, 0, i);
+				System.arraycopy(changeListeners, i + 1, listeners, i, listeners.length - i);
+				changeListeners = listeners;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Tells the change listeners that the animal has changed.
+	 */
+	private void changed() {
+		for (ChangeListener listener : changeListeners) {
+			listener.animalChanged(this);
+		}
 	}
 
 	/**
@@ -268,6 +464,7 @@ public abstract class Animal implements Comparable<Animal> {
 		}
 
 		this.size = size;
+		changed();
 	}
 
 	/**
@@ -279,11 +476,23 @@ public abstract class Animal implements Comparable<Animal> {
 	 */
 	public boolean addNote(Note note) {
 
-		if (note == null || this.notes.contains(note)) {
+		if (note == null) {
 			throw new IllegalArgumentException("Cannot add note");
 		}
 
-		return this.notes.add(note);
+		// The list rejects duplicates itself, so the check and insert are one step
+		boolean added;
+		try {
+			added = getNotes().add(note);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Cannot add note");
+		}
+		if (added) {
+			for (ChangeListener listener : changeListeners) {
+				listener.noteAdded(this, note);
+			}
+		}
+		return added;
 	}
 
 	/**
@@ -381,8 +590,9 @@ public abstract class Animal implements Comparable<Animal> {
 		StringBuilder string = new StringBuilder();
 		string.append(name).append(" (").append(birthday).append(")\n");
 
-		for (int i = 0; i < notes.size(); i++) {
-			string.append("-").append(notes.get(i)).append("\n");
+		SimpleListIterator<Note> it = getNotes().iterator();
+		while (it.hasNext()) {
+			string.append("-").append(it.next()).append("\n");
 		}
 
 		return string.toString().trim();
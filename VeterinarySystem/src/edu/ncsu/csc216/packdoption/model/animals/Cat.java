@@ -2,7 +2,7 @@ package edu.ncsu.csc216.packdoption.model.animals;
 
 import edu.ncsu.csc216.packdoption.util.Date;
 import edu.ncsu.csc216.packdoption.util.Note;
-import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
+import edu.ncsu.csc216.packdoption.util.SortedList;
 
 /**
  * A concrete class extending Animal representing a cat.
@@ -28,7 +28,7 @@ public class Cat extends Animal {
 	 * @throws IllegalArgumentException if any parameters are invalid
 	 */
 	public Cat(String name, Date birthday, Size size, boolean houseTrained, boolean goodWithKids,
-			SortedLinkedList<Note> notes, Date dateEnterRescue, boolean adopted, Date dateAdopted, String owner) {
+			SortedList<Note> notes, Date dateEnterRescue, boolean adopted, Date dateAdopted, String owner) {
 		super(name, birthday, size, houseTrained, goodWithKids, notes, dateEnterRescue, adopted, dateAdopted, owner);
 	}
 
@@ -45,7 +45,7 @@ public class Cat extends Animal {
 	 * @throws IllegalArgumentException if any parameters are invalid
 	 */
 	public Cat(String name, Date birthday, Size size, boolean houseTrained, boolean goodWithKids,
-			SortedLinkedList<Note> notes, Date dateEnterRescue) {
+			SortedList<Note> notes, Date dateEnterRescue) {
 		super(name, birthday, size, houseTrained, goodWithKids, notes, dateEnterRescue);
 	}
 
@@ -2,7 +2,7 @@ package edu.ncsu.csc216.packdoption.model.animals;
 
 import edu.ncsu.csc216.packdoption.util.Date;
 import edu.ncsu.csc216.packdoption.util.Note;
-import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
+import edu.ncsu.csc216.packdoption.util.SortedList;
 
 /**
  * A concrete class extending Animal representing a dog.
@@ -61,7 +61,7 @@ public class Dog extends Animal {
 	 * @throws IllegalArgumentException if any parameters are invalid
 	 */
 	public Dog(String name, Date birthday, Size size, boolean houseTrained, boolean goodWithKids,
-			SortedLinkedList<Note> notes, Date dateEnterRescue, boolean adopted, Date dateAdopted, String owner,
+			SortedList<Note> notes, Date dateEnterRescue, boolean adopted, Date dateAdopted, String owner,
 			Breed breed) {
 		super(name, birthday, size, houseTrained, goodWithKids, notes, dateEnterRescue, adopted, dateAdopted, owner);
 
@@ -86,7 +86,7 @@ public class Dog extends Animal {
 	 * @throws IllegalArgumentException if any parameters are invalid
 	 */
 	public Dog(String name, Date birthday, Size size, boolean houseTrained, boolean goodWithKids,
-			SortedLinkedList<Note> notes, Date dateEnterRescue, Breed breed) {
+			SortedList<Note> notes, Date dateEnterRescue, Breed breed) {
 		super(name, birthday, size, houseTrained, goodWithKids, notes, dateEnterRescue);
 
 		if (breed == null) {
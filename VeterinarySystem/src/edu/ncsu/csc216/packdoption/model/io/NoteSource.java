@@ -0,0 +1,195 @@
+package edu.ncsu.csc216.packdoption.model.io;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+import edu.ncsu.csc216.packdoption.model.animals.Animal.NoteLoader;
+import edu.ncsu.csc216.packdoption.util.Date;
+import edu.ncsu.csc216.packdoption.util.Note;
+import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
+
+/**
+ * The file a PackDoptionReader read animals from, kept open so the notes of
+ * each animal can be read from it the first time they are needed. The reader
+ * checks the notes of every animal as it reads the file and remembers only
+ * where they lie, and a NoteLoader made by the source reads and builds them
+ * later. Messages repeated across the notes it loads share one String through
+ * a StringTable.
+ *
+ * A PackDoptionWriter never changes a file in place, so a file saved over
+ * after it was read stays readable through the open channel. A file changed in
+ * place is caught by its size, or by the checksum the reader took of each
+ * range of notes. The channel is closed once no loader needs it any more.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+final class NoteSource implements Closeable {
+
+	/** Closes the channels of sources that are no longer reachable */
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	/** The channel of the file */
+	private final FileChannel channel;
+	/** The size of the file when it was read */
+	private final long size;
+	/** Closes the channel, at the latest when the source is unreachable */
+	private final Cleaner.Cleanable cleanable;
+	/** The table repeated messages are shared through */
+	private final StringTable strings = new StringTable();
+	/** Whether a loader has been made */
+	private volatile boolean used;
+
+	/**
+	 * Opens the file animals are being read from.
+	 *
+	 * @param file the file
+	 * @throws IOException if the file cannot be opened
+	 */
+	NoteSource(Path file) throws IOException {
+		channel = FileChannel.open(file);
+		size = channel.size();
+		cleanable = CLEANER.register(this, new Closer(channel));
+	}
+
+	/**
+	 * Returns a loader that builds the notes stored in a range of the file.
+	 *
+	 * @param start    the position of the first byte of the first note
+	 * @param end      the position just past the last byte of the last note
+	 * @param checksum the CRC-32 checksum of the range when it was read
+	 * @return the loader
+	 */
+	NoteLoader loader(long start, long end, int checksum) {
+		used = true;
+		return () -> load(start, end, checksum);
+	}
+
+	/**
+	 * Returns whether a loader has been made, since a source that made none can
+	 * be closed as soon as the file has been read.
+	 *
+	 * @return true if a loader needs the file
+	 */
+	boolean isUsed() {
+		return used;
+	}
+
+	/**
+	 * Reads and builds the notes stored in a range of the file.
+	 *
+	 * @param start    the position of the first byte of the first note
+	 * @param end      the position just past the last byte of the last note
+	 * @param checksum the CRC-32 checksum of the range when it was read
+	 * @return the notes
+	 * @throws UncheckedIOException     if the file cannot be read
+	 * @throws IllegalArgumentException if the file has changed since it was read
+	 */
+	private SortedLinkedList<Note> load(long start, long end, int checksum) {
+		ByteBuffer bytes = ByteBuffer.allocate((int) (end - start));
+		try {
+			if (channel.size() != size) {
+				throw new IllegalArgumentException("Unable to load file.");
+			}
+			while (bytes.hasRemaining()) {
+				if (channel.read(bytes, start + bytes.position()) < 0) {
+					throw new EOFException();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		byte[] array = bytes.array();
+		CRC32 crc = new CRC32();
+		crc.update(array);
+		if ((int) crc.getValue() != checksum) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+		SortedLinkedList<Note> notes = new SortedLinkedList<>();
+		int fieldStart = 0;
+		for (int i = 0; i <= array.length; i++) {
+			if (i == array.length || array[i] == ',') {
+				addNote(notes, bytes, fieldStart, i);
+				fieldStart = i + 1;
+			}
+		}
+		return notes;
+	}
+
+	/**
+	 * Builds the note in a field and adds it to the notes. The date of the note
+	 * runs up to the first space and the message is the rest of the field.
+	 *
+	 * @param notes the notes
+	 * @param bytes the bytes of the notes
+	 * @param start the position of the first byte of the field
+	 * @param end   the position just past the last byte of the field
+	 * @throws IllegalArgumentException if the field is not a valid note, or the
+	 *                                  note is already in the list
+	 */
+	private void addNote(SortedLinkedList<Note> notes, ByteBuffer bytes, int start, int end) {
+		int space = start;
+		while (space < end && bytes.get(space) != ' ') {
+			space++;
+		}
+		if (space == end) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+
+		// The message is trimmed before it is interned, so the table holds the same
+		// text the Note keeps
+		int messageStart = space + 1;
+		while (messageStart < end && (bytes.get(messageStart) & 0xFF) <= ' ') {
+			messageStart++;
+		}
+		while (end > messageStart && (bytes.get(end - 1) & 0xFF) <= ' ') {
+			end--;
+		}
+		Date date = Date.parse(new String(bytes.array(), start, space - start, StandardCharsets.ISO_8859_1));
+		notes.add(new Note(date, strings.intern(bytes, messageStart, end)));
+	}
+
+	/**
+	 * Closes the channel. Loaders made by the source can no longer load notes.
+	 */
+	@Override
+	public void close() {
+		cleanable.clean();
+	}
+
+	/**
+	 * Closes a channel, without holding on to the source it belongs to.
+	 */
+	private static final class Closer implements Runnable {
+
+		/** The channel to close */
+		private final FileChannel channel;
+
+		/**
+		 * Constructs a Closer.
+		 *
+		 * @param channel the channel to close
+		 */
+		Closer(FileChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public void run() {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				// Nothing more can be done with the channel
+			}
+		}
+	}
+}
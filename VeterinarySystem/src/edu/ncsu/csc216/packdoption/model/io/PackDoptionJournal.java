@@ -0,0 +1,785 @@
+package edu.ncsu.csc216.packdoption.model.io;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import edu.ncsu.csc216.packdoption.model.animals.Animal;
+import edu.ncsu.csc216.packdoption.model.animals.Animal.Size;
+import edu.ncsu.csc216.packdoption.model.animals.Cat;
+import edu.ncsu.csc216.packdoption.model.animals.Dog;
+import edu.ncsu.csc216.packdoption.model.animals.Dog.Breed;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler.Urgency;
+import edu.ncsu.csc216.packdoption.model.rescue.MutationListener;
+import edu.ncsu.csc216.packdoption.model.rescue.Rescue;
+import edu.ncsu.csc216.packdoption.model.rescue.RescueList;
+import edu.ncsu.csc216.packdoption.util.Date;
+import edu.ncsu.csc216.packdoption.util.Note;
+import edu.ncsu.csc216.packdoption.util.SimpleListIterator;
+import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
+
+/**
+ * An append-only log of the changes made to a RescueList since it was last
+ * saved to a PackDoption file. The journal lives next to the file, named after
+ * it with a .journal extension, and starts with the size and modification time
+ * of the file it belongs to, so a journal left from before the file was last
+ * saved is never replayed into it.
+ *
+ * Set as the MutationListener of a RescueList, the journal encodes each change
+ * as a small binary record and returns at once. A background thread writes the
+ * records to disk and forces them there, taking every record added while the
+ * previous batch was being forced in one write, so many changes share the cost
+ * of one force. Each record carries a checksum, and a record cut short by a
+ * crash is dropped along with anything after it when the journal is replayed.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+public class PackDoptionJournal implements MutationListener, Closeable {
+
+	/** The extension added to the name of a file to name its journal */
+	public static final String EXTENSION = ".journal";
+	/** The first four bytes of a journal, "PDJ1" */
+	private static final int MAGIC = 0x50444A31;
+	/** The size of the header in bytes */
+	private static final int HEADER_SIZE = 20;
+	/** The largest record that is read back, in bytes */
+	private static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+	/** Message of the exception thrown for a journal that cannot be replayed */
+	private static final String LOAD_ERROR = "Unable to load file.";
+	/** Message of the exception thrown for a journal that cannot be written */
+	private static final String SAVE_ERROR = "Unable to save file.";
+
+	/** Record of a rescue added to the list */
+	private static final byte RESCUE_ADDED = 1;
+	/** Record of an animal added to a rescue */
+	private static final byte ANIMAL_ADDED = 2;
+	/** Record of a note added to an animal */
+	private static final byte NOTE_ADDED = 3;
+	/** Record of the size and adoption information of an animal being set */
+	private static final byte ANIMAL_CHANGED = 4;
+	/** Record of an appointment added */
+	private static final byte APPOINTMENT_ADDED = 5;
+	/** Record of an appointment removed */
+	private static final byte APPOINTMENT_REMOVED = 6;
+	/** Record of the urgency of an appointment changing */
+	private static final byte URGENCY_CHANGED = 7;
+	/** Marks a cat in a record */
+	private static final byte CAT = 0;
+	/** Marks a dog in a record */
+	private static final byte DOG = 1;
+
+	/** The sizes an animal can have */
+	private static final Size[] SIZES = Size.values();
+	/** The breeds a dog can have */
+	private static final Breed[] BREEDS = Breed.values();
+	/** The urgencies an appointment can have */
+	private static final Urgency[] URGENCIES = Urgency.values();
+
+	/** The PackDoption file the journal belongs to */
+	private final Path dataFile;
+	/** The journal file */
+	private final Path file;
+	/** The channel of the journal file, or null until it is opened */
+	private FileChannel channel;
+	/** Stream over the channel that batches are written through */
+	private OutputStream channelOut;
+	/** The thread that writes and forces batches of records */
+	private Thread committer;
+
+	/** Guards the pending records and the counts below */
+	private final Object lock = new Object();
+	/** Held while the channel is written, forced, or truncated */
+	private final Object channelLock = new Object();
+	/** The framed records waiting to be written */
+	private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+	/** The buffer the next batch is swapped into */
+	private ByteArrayOutputStream spare = new ByteArrayOutputStream();
+	/** The number of bytes of records added */
+	private long appended;
+	/** The number of bytes of records forced to disk */
+	private long durable;
+	/** The error that stopped the committer, or null */
+	private IOException failure;
+	/** Whether the journal has been closed */
+	private boolean closed;
+	/** The number of resets, changed only while both locks are held */
+	private long resets;
+
+	/** The payload of the record being encoded */
+	private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+	/** Encodes fields into the payload */
+	private final DataOutputStream out = new DataOutputStream(record);
+	/** Computes the checksum of each record */
+	private final CRC32 crc = new CRC32();
+
+	/**
+	 * Constructs the journal of a PackDoption file. Nothing is read or written
+	 * until the journal is opened or reset.
+	 *
+	 * @param filename the PackDoption file
+	 * @throws IllegalArgumentException if filename is null or not a valid path
+	 */
+	public PackDoptionJournal(String filename) {
+		if (filename == null) {
+			throw new IllegalArgumentException();
+		}
+		try {
+			dataFile = Path.of(filename).toAbsolutePath();
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException();
+		}
+		file = dataFile.resolveSibling(dataFile.getFileName() + EXTENSION);
+	}
+
+	/**
+	 * Returns the journal file.
+	 *
+	 * @return the path of the journal
+	 */
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * Returns the PackDoption file the journal belongs to.
+	 *
+	 * @return the path of the file
+	 */
+	public Path getDataFile() {
+		return dataFile;
+	}
+
+	/**
+	 * Replays the journal into a list just read from the PackDoption file, if the
+	 * journal belongs to the file as it is now, and opens the journal to record
+	 * further changes after the ones replayed. A journal that does not belong to
+	 * the file is started again.
+	 *
+	 * @param list the list read from the file
+	 * @return the number of changes replayed
+	 * @throws IllegalArgumentException with the message “Unable to load file.” if
+	 *                                  the journal cannot be read or a change in
+	 *                                  it cannot be made to the list
+	 */
+	public int open(RescueList list) {
+		if (channel != null) {
+			throw new IllegalStateException("Journal already open");
+		}
+		try {
+			channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			channelOut = Channels.newOutputStream(channel);
+			int replayed = replay(list);
+			if (replayed < 0) {
+				reset();
+				return 0;
+			}
+			start();
+			return replayed;
+		} catch (IOException | RuntimeException e) {
+			close();
+			throw new IllegalArgumentException(LOAD_ERROR);
+		}
+	}
+
+	/**
+	 * Empties the journal after the list has been saved to the PackDoption file,
+	 * so that it belongs to the file as just saved. Changes not yet written are
+	 * dropped, since the file now holds them, including a batch the committer
+	 * took before the reset but had not yet written.
+	 *
+	 * @throws IllegalArgumentException with the message “Unable to save file.” if
+	 *                                  the journal cannot be written
+	 */
+	public void reset() {
+		try {
+			synchronized (channelLock) {
+				if (channel == null) {
+					channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+							StandardOpenOption.WRITE);
+					channelOut = Channels.newOutputStream(channel);
+				}
+				synchronized (lock) {
+					pending.reset();
+					durable = appended;
+					// A batch the committer has already taken is dropped too
+					resets++;
+				}
+				channel.truncate(0);
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+				header.putInt(MAGIC).putLong(Files.size(dataFile))
+						.putLong(Files.getLastModifiedTime(dataFile).toMillis()).flip();
+				channel.position(0);
+				while (header.hasRemaining()) {
+					channel.write(header);
+				}
+				channel.force(true);
+			}
+			start();
+		} catch (IOException e) {
+			throw new IllegalArgumentException(SAVE_ERROR);
+		}
+	}
+
+	/**
+	 * Waits until every change recorded so far is on disk.
+	 *
+	 * @throws IllegalArgumentException with the message “Unable to save file.” if
+	 *                                  the journal could not be written
+	 */
+	public void flush() {
+		synchronized (lock) {
+			long target = appended;
+			while (durable < target && failure == null && !closed) {
+				try {
+					lock.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+			if (failure != null) {
+				throw new IllegalArgumentException(SAVE_ERROR);
+			}
+		}
+	}
+
+	/**
+	 * Writes every change recorded so far and closes the journal. Changes made
+	 * after the journal is closed are not recorded, and it cannot be opened again.
+	 */
+	@Override
+	public void close() {
+		Thread thread;
+		synchronized (lock) {
+			closed = true;
+			thread = committer;
+			lock.notifyAll();
+		}
+		if (thread != null) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		synchronized (channelLock) {
+			if (channel != null) {
+				try {
+					channel.close();
+				} catch (IOException e) {
+					// Every record written has already been forced
+				}
+			}
+		}
+	}
+
+	@Override
+	public void rescueAdded(Rescue rescue) {
+		synchronized (lock) {
+			begin(RESCUE_ADDED);
+			writeString(rescue.getName());
+			end();
+
+			SimpleListIterator<Animal> animals = rescue.animalIterator();
+			while (animals.hasNext()) {
+				animalAdded(rescue, animals.next());
+			}
+			AppointmentScheduler appointments = rescue.getAppointments();
+			for (Animal animal : appointments) {
+				appointmentAdded(rescue, animal, appointments.getUrgency(animal));
+			}
+		}
+	}
+
+	@Override
+	public void animalAdded(Rescue rescue, Animal animal) {
+		synchronized (lock) {
+			begin(ANIMAL_ADDED);
+			writeString(rescue.getName());
+			writeKey(animal);
+			writeByte(animal.getSize().ordinal());
+			writeBoolean(animal.isHouseTrained());
+			writeBoolean(animal.isGoodWithKids());
+			writeDate(animal.getDateEnterRescue());
+			writeAdoption(animal);
+			if (animal instanceof Dog) {
+				writeByte(((Dog) animal).getBreed().ordinal());
+			}
+			writeInt(animal.getNotes().size());
+			SimpleListIterator<Note> notes = animal.getNotes().iterator();
+			while (notes.hasNext()) {
+				Note note = notes.next();
+				writeDate(note.getDate());
+				writeString(note.getMessage());
+			}
+			end();
+		}
+	}
+
+	@Override
+	public void noteAdded(Rescue rescue, Animal animal, Note note) {
+		synchronized (lock) {
+			begin(NOTE_ADDED);
+			writeString(rescue.getName());
+			writeKey(animal);
+			writeDate(note.getDate());
+			writeString(note.getMessage());
+			end();
+		}
+	}
+
+	@Override
+	public void animalChanged(Rescue rescue, Animal animal) {
+		synchronized (lock) {
+			begin(ANIMAL_CHANGED);
+			writeString(rescue.getName());
+			writeKey(animal);
+			writeByte(animal.getSize().ordinal());
+			writeAdoption(animal);
+			end();
+		}
+	}
+
+	@Override
+	public void appointmentAdded(Rescue rescue, Animal animal, Urgency urgency) {
+		synchronized (lock) {
+			begin(APPOINTMENT_ADDED);
+			writeString(rescue.getName());
+			writeKey(animal);
+			writeByte(urgency.ordinal());
+			end();
+		}
+	}
+
+	@Override
+	public void appointmentRemoved(Rescue rescue, Animal animal) {
+		synchronized (lock) {
+			begin(APPOINTMENT_REMOVED);
+			writeString(rescue.getName());
+			writeKey(animal);
+			end();
+		}
+	}
+
+	@Override
+	public void urgencyChanged(Rescue rescue, Animal animal, Urgency urgency) {
+		synchronized (lock) {
+			begin(URGENCY_CHANGED);
+			writeString(rescue.getName());
+			writeKey(animal);
+			writeByte(urgency.ordinal());
+			end();
+		}
+	}
+
+	/**
+	 * Starts the committer thread if it is not running.
+	 */
+	private void start() {
+		synchronized (lock) {
+			if (committer == null && !closed) {
+				committer = new Thread(this::commit, "PackDoption journal " + file.getFileName());
+				committer.setDaemon(true);
+				committer.start();
+			}
+		}
+	}
+
+	/**
+	 * Writes and forces batches of records until the journal is closed and every
+	 * record has been written.
+	 */
+	private void commit() {
+		while (true) {
+			ByteArrayOutputStream batch;
+			long target;
+			long batchResets;
+			synchronized (lock) {
+				while (pending.size() == 0 && !closed) {
+					try {
+						lock.wait();
+					} catch (InterruptedException e) {
+						closed = true;
+					}
+				}
+				if (pending.size() == 0) {
+					committer = null;
+					lock.notifyAll();
+					return;
+				}
+				batch = pending;
+				pending = spare;
+				spare = batch;
+				target = appended;
+				batchResets = resets;
+			}
+
+			try {
+				synchronized (channelLock) {
+					// After a reset the file holds the records in the batch
+					if (batchResets == resets) {
+						batch.writeTo(channelOut);
+						channel.force(false);
+					}
+				}
+			} catch (IOException e) {
+				synchronized (lock) {
+					failure = e;
+					committer = null;
+					lock.notifyAll();
+				}
+				return;
+			}
+
+			synchronized (lock) {
+				batch.reset();
+				durable = Math.max(durable, target);
+				lock.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Starts encoding a record. Callers hold the lock.
+	 *
+	 * @param type the type of the record
+	 */
+	private void begin(byte type) {
+		record.reset();
+		writeByte(type);
+	}
+
+	/**
+	 * Frames the encoded record with its length and checksum and adds it to the
+	 * pending records. Callers hold the lock. Records are dropped once the
+	 * journal is closed or has failed.
+	 */
+	private void end() {
+		if (closed || failure != null || channel == null) {
+			return;
+		}
+		byte[] bytes = record.toByteArray();
+		crc.reset();
+		crc.update(bytes);
+		int length = bytes.length;
+		int checksum = (int) crc.getValue();
+		pending.write(length >>> 24);
+		pending.write(length >>> 16);
+		pending.write(length >>> 8);
+		pending.write(length);
+		pending.write(checksum >>> 24);
+		pending.write(checksum >>> 16);
+		pending.write(checksum >>> 8);
+		pending.write(checksum);
+		pending.write(bytes, 0, length);
+		appended += 8 + length;
+		lock.notifyAll();
+	}
+
+	/**
+	 * Encodes the fields that identify an animal within a rescue.
+	 *
+	 * @param animal the animal
+	 */
+	private void writeKey(Animal animal) {
+		writeByte(animal instanceof Dog ? DOG : CAT);
+		writeString(animal.getName());
+		writeDate(animal.getBirthday());
+	}
+
+	/**
+	 * Encodes the adoption information of an animal.
+	 *
+	 * @param animal the animal
+	 */
+	private void writeAdoption(Animal animal) {
+		writeBoolean(animal.adopted());
+		if (animal.adopted()) {
+			writeDate(animal.getDateAdopted());
+			writeString(animal.getOwner());
+		}
+	}
+
+	/**
+	 * Encodes a date as its month, day, and year.
+	 *
+	 * @param date the date
+	 */
+	private void writeDate(Date date) {
+		writeByte(date.getMonth());
+		writeByte(date.getDay());
+		writeInt(date.getYear());
+	}
+
+	/**
+	 * Encodes a string as its length in UTF-8 bytes followed by the bytes.
+	 *
+	 * @param value the string
+	 */
+	private void writeString(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeInt(bytes.length);
+		record.write(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Encodes a byte.
+	 *
+	 * @param value the byte
+	 */
+	private void writeByte(int value) {
+		record.write(value);
+	}
+
+	/**
+	 * Encodes a boolean as one byte.
+	 *
+	 * @param value the boolean
+	 */
+	private void writeBoolean(boolean value) {
+		record.write(value ? 1 : 0);
+	}
+
+	/**
+	 * Encodes an int in four bytes.
+	 *
+	 * @param value the int
+	 */
+	private void writeInt(int value) {
+		try {
+			out.writeInt(value);
+		} catch (IOException e) {
+			// Writing to a byte array cannot fail
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Reads the journal, and if it belongs to the PackDoption file as it is now,
+	 * makes each change in it to the list. A record cut short or damaged ends
+	 * the journal, which is truncated there so that new records follow the last
+	 * good one.
+	 *
+	 * @param list the list read from the file
+	 * @return the number of changes made, or -1 if the journal does not belong to
+	 *         the file
+	 * @throws IOException              if the journal cannot be read
+	 * @throws IllegalArgumentException if a change cannot be made to the list
+	 */
+	private int replay(RescueList list) throws IOException {
+		if (channel.size() < HEADER_SIZE) {
+			return -1;
+		}
+		DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Channels.newInputStream(channel.position(0)), 64 * 1024));
+		if (in.readInt() != MAGIC || in.readLong() != Files.size(dataFile)
+				|| in.readLong() != Files.getLastModifiedTime(dataFile).toMillis()) {
+			return -1;
+		}
+
+		Map<String, Rescue> rescues = new HashMap<>();
+		for (int i = 0; i < list.size(); i++) {
+			rescues.put(list.getRescue(i).getName(), list.getRescue(i));
+		}
+
+		long position = HEADER_SIZE;
+		int replayed = 0;
+		byte[] payload = new byte[256];
+		while (true) {
+			int length;
+			int checksum;
+			try {
+				length = in.readInt();
+				checksum = in.readInt();
+				if (length <= 0 || length > MAX_RECORD_SIZE) {
+					break;
+				}
+				if (payload.length < length) {
+					payload = new byte[Math.max(length, payload.length * 2)];
+				}
+				in.readFully(payload, 0, length);
+			} catch (EOFException e) {
+				break;
+			}
+			crc.reset();
+			crc.update(payload, 0, length);
+			if ((int) crc.getValue() != checksum) {
+				break;
+			}
+
+			apply(new DataInputStream(new ByteArrayInputStream(payload, 0, length)), list, rescues);
+			position += 8 + length;
+			replayed++;
+		}
+
+		channel.truncate(position);
+		channel.position(position);
+		return replayed;
+	}
+
+	/**
+	 * Makes the change in one record to the list.
+	 *
+	 * @param in      the payload of the record
+	 * @param list    the list
+	 * @param rescues the rescues of the list by name
+	 * @throws IOException              if the record is shorter than its fields
+	 * @throws IllegalArgumentException if the change cannot be made
+	 */
+	private static void apply(DataInputStream in, RescueList list, Map<String, Rescue> rescues)
+			throws IOException {
+		byte type = in.readByte();
+		String name = readString(in);
+		if (type == RESCUE_ADDED) {
+			Rescue rescue = new Rescue(name);
+			list.addRescue(rescue);
+			rescues.put(rescue.getName(), rescue);
+			return;
+		}
+
+		Rescue rescue = rescues.get(name);
+		if (rescue == null) {
+			throw new IllegalArgumentException(LOAD_ERROR);
+		}
+		byte kind = in.readByte();
+		String animalName = readString(in);
+		Date birthday = readDate(in);
+		if (type == ANIMAL_ADDED) {
+			rescue.addAnimal(readAnimal(in, kind, animalName, birthday));
+			return;
+		}
+
+		Animal animal = find(rescue, kind, animalName, birthday);
+		switch (type) {
+		case NOTE_ADDED:
+			animal.addNote(new Note(readDate(in), readString(in)));
+			break;
+		case ANIMAL_CHANGED:
+			animal.setSize(SIZES[in.readByte()]);
+			boolean adopted = in.readBoolean();
+			animal.setAdoptionInfo(adopted, adopted ? readDate(in) : null, adopted ? readString(in) : null);
+			break;
+		case APPOINTMENT_ADDED:
+			rescue.getAppointments().add(animal, URGENCIES[in.readByte()]);
+			break;
+		case APPOINTMENT_REMOVED:
+			rescue.getAppointments().remove(animal);
+			break;
+		case URGENCY_CHANGED:
+			rescue.getAppointments().setUrgency(animal, URGENCIES[in.readByte()]);
+			break;
+		default:
+			throw new IllegalArgumentException(LOAD_ERROR);
+		}
+	}
+
+	/**
+	 * Decodes the fields of an animal that follow its key.
+	 *
+	 * @param in       the payload of the record
+	 * @param kind     whether the animal is a cat or a dog
+	 * @param name     the name of the animal
+	 * @param birthday the birthday of the animal
+	 * @return the animal
+	 * @throws IOException if the record is shorter than its fields
+	 */
+	private static Animal readAnimal(DataInputStream in, byte kind, String name, Date birthday) throws IOException {
+		Size size = SIZES[in.readByte()];
+		boolean houseTrained = in.readBoolean();
+		boolean goodWithKids = in.readBoolean();
+		Date dateEnterRescue = readDate(in);
+		boolean adopted = in.readBoolean();
+		Date dateAdopted = adopted ? readDate(in) : null;
+		String owner = adopted ? readString(in) : null;
+		Breed breed = kind == DOG ? BREEDS[in.readByte()] : null;
+		SortedLinkedList<Note> notes = new SortedLinkedList<>();
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			notes.add(new Note(readDate(in), readString(in)));
+		}
+
+		if (kind == DOG) {
+			return new Dog(name, birthday, size, houseTrained, goodWithKids, notes, dateEnterRescue, adopted,
+					dateAdopted, owner, breed);
+		}
+		return new Cat(name, birthday, size, houseTrained, goodWithKids, notes, dateEnterRescue, adopted,
+				dateAdopted, owner);
+	}
+
+	/**
+	 * Finds the cat or dog with the given name and birthday in a rescue.
+	 *
+	 * @param rescue   the rescue
+	 * @param kind     whether the animal is a cat or a dog
+	 * @param name     the name of the animal
+	 * @param birthday the birthday of the animal
+	 * @return the animal
+	 * @throws IllegalArgumentException if the rescue has no such animal
+	 */
+	private static Animal find(Rescue rescue, byte kind, String name, Date birthday) {
+		Animal animal = rescue.getAnimal(name, birthday);
+		if (animal != null && (animal instanceof Dog) == (kind == DOG)) {
+			return animal;
+		}
+		// A cat and a dog may share a name and birthday, and only one is indexed
+		SimpleListIterator<Animal> animals = rescue.animalIterator();
+		while (animals.hasNext()) {
+			animal = animals.next();
+			if (animal.getName().equals(name) && animal.getBirthday().equals(birthday)
+					&& (animal instanceof Dog) == (kind == DOG)) {
+				return animal;
+			}
+		}
+		throw new IllegalArgumentException(LOAD_ERROR);
+	}
+
+	/**
+	 * Decodes a date.
+	 *
+	 * @param in the payload of a record
+	 * @return the date
+	 * @throws IOException if the record is shorter than its fields
+	 */
+	private static Date readDate(DataInputStream in) throws IOException {
+		int month = in.readByte();
+		int day = in.readByte();
+		return Date.of(month, day, in.readInt());
+	}
+
+	/**
+	 * Decodes a string.
+	 *
+	 * @param in the payload of a record
+	 * @return the string
+	 * @throws IOException if the record is shorter than its fields
+	 */
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > in.available()) {
+			throw new EOFException();
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
@@ -1,14 +1,28 @@
 package edu.ncsu.csc216.packdoption.model.io;
 
+import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.util.Scanner;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import edu.ncsu.csc216.packdoption.model.animals.Animal;
 import edu.ncsu.csc216.packdoption.model.animals.Animal.Size;
 import edu.ncsu.csc216.packdoption.model.animals.Cat;
 import edu.ncsu.csc216.packdoption.model.animals.Dog;
 import edu.ncsu.csc216.packdoption.model.animals.Dog.Breed;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler.Urgency;
 import edu.ncsu.csc216.packdoption.model.rescue.Rescue;
 import edu.ncsu.csc216.packdoption.model.rescue.RescueList;
 import edu.ncsu.csc216.packdoption.util.Date;
@@ -16,23 +30,183 @@ import edu.ncsu.csc216.packdoption.util.Note;
 import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
 
 /**
- * A class for reading PackDoption files.
- * 
+ * A class for reading PackDoption files. The file is read through a buffer of
+ * bytes and each record is split into fields in place, so only the names,
+ * owners, and note text of a record are copied out as Strings. When memory
+ * mapping is turned on the file is parsed straight from windows of it mapped
+ * into memory instead of being read into the heap.
+ *
+ * Rescues in a file are independent of each other, so with a parallelism
+ * above one the reader first finds where each rescue starts and then parses
+ * the rescues on a fork-join pool, adding them to the list in file order. An
+ * invalid record fails the read with the exception its rescue's task threw,
+ * which is the one a serial read throws. The file is read again serially only
+ * when it cannot be opened, mapped, or read, or when its lines are out of
+ * order, so that those errors are reported as a serial read reports them.
+ *
+ * A file that starts with the magic number of a PackDoptionSnapshot is read as
+ * a binary snapshot instead of being parsed.
+ *
+ * With lazy notes turned on, the notes of each animal are checked as the file
+ * is read but not built. The reader records where they lie in the file and the
+ * animal reads and builds them the first time they are needed, so loading a
+ * file costs little more for animals with many notes than for animals with
+ * none.
+ *
+ * Owners and note messages are shared through a StringTable while a file is
+ * read, so an owner or message repeated across many records is held once.
+ *
  * @author Michael Pacheco
  * @author Dania Swelam
  */
 public class PackDoptionReader {
 
+	/** The default size of the read buffer in bytes */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	/** The default size of a mapped window in bytes */
+	public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+	/** Message of the exception thrown for a file that cannot be read */
+	private static final String LOAD_ERROR = "Unable to load file.";
+	/** The sizes an animal can have */
+	private static final Size[] SIZES = Size.values();
+	/** The breeds a dog can have */
+	private static final Breed[] BREEDS = Breed.values();
+	/** The urgencies an appointment can have */
+	private static final Urgency[] URGENCIES = Urgency.values();
+
+	/** The initial size of the read buffer in bytes */
+	private int bufferSize;
+	/** Whether files are memory mapped instead of read into the buffer */
+	private boolean memoryMapped;
+	/** The initial size of a mapped window in bytes */
+	private int windowSize;
+	/** The number of threads that parse rescues at once */
+	private int parallelism;
+	/** Whether notes are built when first needed instead of as they are read */
+	private boolean lazyNotes;
+
 	/**
 	 * Constructs a PackDoptionReader.
 	 */
 	public PackDoptionReader() {
-		// Implement
+		bufferSize = DEFAULT_BUFFER_SIZE;
+		memoryMapped = false;
+		windowSize = DEFAULT_WINDOW_SIZE;
+		parallelism = 1;
+		lazyNotes = false;
+	}
+
+	/**
+	 * Returns the initial size of the read buffer.
+	 *
+	 * @return the buffer size in bytes
+	 */
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * Sets the initial size of the read buffer. The buffer grows past this size if
+	 * a line does not fit in it.
+	 *
+	 * @param bufferSize the buffer size in bytes
+	 * @throws IllegalArgumentException if bufferSize is not positive
+	 */
+	public void setBufferSize(int bufferSize) {
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("Invalid buffer size");
+		}
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * Returns whether files are memory mapped.
+	 *
+	 * @return true if files are parsed from memory mapped windows
+	 */
+	public boolean isMemoryMapped() {
+		return memoryMapped;
+	}
+
+	/**
+	 * Sets whether files are memory mapped. A mapped file is parsed a window at a
+	 * time, so files larger than 2 GB can be read.
+	 *
+	 * @param memoryMapped true to parse files from memory mapped windows
+	 */
+	public void setMemoryMapped(boolean memoryMapped) {
+		this.memoryMapped = memoryMapped;
+	}
+
+	/**
+	 * Returns the initial size of a mapped window.
+	 *
+	 * @return the window size in bytes
+	 */
+	public int getWindowSize() {
+		return windowSize;
+	}
+
+	/**
+	 * Sets the initial size of a mapped window. The window grows past this size
+	 * if a line does not fit in it.
+	 *
+	 * @param windowSize the window size in bytes
+	 * @throws IllegalArgumentException if windowSize is not positive
+	 */
+	public void setWindowSize(int windowSize) {
+		if (windowSize <= 0) {
+			throw new IllegalArgumentException("Invalid window size");
+		}
+		this.windowSize = windowSize;
+	}
+
+	/**
+	 * Returns the number of threads that parse rescues at once.
+	 *
+	 * @return the parallelism, where 1 means files are read serially
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of threads that parse rescues at once.
+	 *
+	 * @param parallelism the parallelism, where 1 means files are read serially
+	 * @throws IllegalArgumentException if parallelism is less than 1
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Invalid parallelism");
+		}
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Returns whether notes are built when first needed.
+	 *
+	 * @return true if notes are loaded lazily
+	 */
+	public boolean isLazyNotes() {
+		return lazyNotes;
+	}
+
+	/**
+	 * Sets whether notes are built when first needed instead of as they are
+	 * read. Lazy notes are read from the file later, so the file is kept open
+	 * until the notes of every animal read from it have been built or the
+	 * animals are no longer used.
+	 *
+	 * @param lazyNotes true to load notes lazily
+	 */
+	public void setLazyNotes(boolean lazyNotes) {
+		this.lazyNotes = lazyNotes;
 	}
 
 	/**
 	 * Reads the pack adoption data from the specified file.
-	 * 
+	 *
 	 * @param filename the file to read
 	 * @return the RescueList read from the file
 	 * @throws IllegalArgumentException if there is an error while processing the
@@ -40,225 +214,671 @@ public class PackDoptionReader {
 	 *                                  with the message “Unable to load file.”
 	 */
 	public static RescueList readRescueListFile(String filename) throws IllegalArgumentException {
+		return new PackDoptionReader().readRescueList(filename);
+	}
 
-		try (Scanner fileReader = new Scanner(new FileInputStream(filename))) {
+	/**
+	 * Reads the pack adoption data from the specified file using this reader's
+	 * settings.
+	 *
+	 * @param filename the file to read
+	 * @return the RescueList read from the file
+	 * @throws IllegalArgumentException if there is an error while processing the
+	 *                                  file an IllegalArgumentException is thrown
+	 *                                  with the message “Unable to load file.”
+	 */
+	public RescueList readRescueList(String filename) {
+		return readRescueList(filename, null);
+	}
+
+	/**
+	 * Reads the pack adoption data from the specified file using this reader's
+	 * settings, indexing where each rescue lies in the file so that unchanged
+	 * rescues can later be saved by copying them. A snapshot is read whole and
+	 * indexes nothing.
+	 *
+	 * @param filename the file to read
+	 * @param segments the index to fill, which is cleared if the file cannot be
+	 *                 read, or null to index nothing
+	 * @return the RescueList read from the file
+	 * @throws IllegalArgumentException if there is an error while processing the
+	 *                                  file an IllegalArgumentException is thrown
+	 *                                  with the message “Unable to load file.”
+	 */
+	public RescueList readRescueList(String filename, RescueSegments segments) {
+		if (segments != null) {
+			try {
+				segments.reset(Path.of(filename).toAbsolutePath());
+			} catch (IOException | InvalidPathException e) {
+				segments.clear();
+				segments = null;
+			}
+		}
+
+		if (PackDoptionSnapshot.isSnapshot(Path.of(filename))) {
+			clear(segments);
+			return readSnapshot(filename);
+		}
+
+		NoteSource notes = lazyNotes ? openNotes(filename) : null;
+		StringTable strings = new StringTable();
+		if (parallelism > 1) {
+			RescueList rescueList = readInParallel(filename, segments, notes, strings);
+			if (rescueList != null) {
+				return done(rescueList, notes);
+			}
+		}
+
+		try (FileInputStream in = new FileInputStream(filename);
+				PackDoptionTokenizer tokenizer = open(in, strings)) {
+			return done(readRescueList(tokenizer, segments, notes, in.getChannel().size()), notes);
+		} catch (FileNotFoundException e) {
+			failed(segments, notes);
+			throw new IllegalArgumentException("File not found.");
+		} catch (IOException e) {
+			failed(segments, notes);
+			throw new IllegalArgumentException(LOAD_ERROR);
+		} catch (RuntimeException e) {
+			failed(segments, notes);
+			throw e;
+		}
+	}
+
+	/**
+	 * Opens a file to load notes from lazily.
+	 *
+	 * @param filename the file
+	 * @return the source of the notes, or null if the file cannot be opened, in
+	 *         which case reading it fails too
+	 */
+	private static NoteSource openNotes(String filename) {
+		try {
+			return new NoteSource(Path.of(filename));
+		} catch (IOException | InvalidPathException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Finishes a successful read, closing the source of lazy notes if no animal
+	 * needs it.
+	 *
+	 * @param rescueList the RescueList read
+	 * @param notes      the source of lazy notes, or null
+	 * @return the RescueList
+	 */
+	private static RescueList done(RescueList rescueList, NoteSource notes) {
+		if (notes != null && !notes.isUsed()) {
+			notes.close();
+		}
+		return rescueList;
+	}
+
+	/**
+	 * Cleans up after a failed read.
+	 *
+	 * @param segments the index to clear, or null
+	 * @param notes    the source of lazy notes to close, or null
+	 */
+	private static void failed(RescueSegments segments, NoteSource notes) {
+		clear(segments);
+		if (notes != null) {
+			notes.close();
+		}
+	}
+
+	/**
+	 * Reads a file holding a PackDoptionSnapshot.
+	 *
+	 * @param filename the file to read
+	 * @return the RescueList read from the file
+	 * @throws IllegalArgumentException with the message “Unable to load file.” if
+	 *                                  the file cannot be read or is not a valid
+	 *                                  snapshot
+	 */
+	private RescueList readSnapshot(String filename) {
+		try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(filename), bufferSize)) {
+			return PackDoptionSnapshot.read(in);
+		} catch (IOException e) {
+			throw new IllegalArgumentException(LOAD_ERROR);
+		}
+	}
+
+	/**
+	 * Clears an index of a file that could not be read.
+	 *
+	 * @param segments the index, or null
+	 */
+	private static void clear(RescueSegments segments) {
+		if (segments != null) {
+			segments.clear();
+		}
+	}
+
+	/**
+	 * Opens a tokenizer over a file using this reader's settings.
+	 *
+	 * @param in      the stream of the file
+	 * @param strings the table to share repeated text through
+	 * @return the tokenizer
+	 * @throws IOException if the file cannot be read
+	 */
+	private PackDoptionTokenizer open(FileInputStream in, StringTable strings) throws IOException {
+		PackDoptionTokenizer tokenizer = memoryMapped ? PackDoptionTokenizer.map(in.getChannel(), windowSize)
+				: new PackDoptionTokenizer(in.getChannel(), bufferSize);
+		tokenizer.setStringTable(strings);
+		return tokenizer;
+	}
+
+	/**
+	 * Reads the file by parsing its rescues on a fork-join pool.
+	 *
+	 * @param filename the file to read
+	 * @param segments the index to fill, or null
+	 * @param notes    the source of lazy notes, or null to build notes as read
+	 * @param strings  the table to share repeated text through
+	 * @return the RescueList read from the file, or null if the file could not be
+	 *         opened, mapped, or read in parallel and must be read serially to
+	 *         report the error
+	 * @throws IllegalArgumentException if a record is invalid, with the same
+	 *                                  message as a serial read
+	 */
+	private RescueList readInParallel(String filename, RescueSegments segments, NoteSource notes,
+			StringTable strings) {
+		long[] starts;
+		try (FileInputStream in = new FileInputStream(filename);
+				PackDoptionTokenizer tokenizer = open(in, null)) {
+			starts = findRescues(tokenizer, in.getChannel().size());
+		} catch (IOException e) {
+			// The serial read reports a file that cannot be opened or read
+			return null;
+		}
+		if (starts == null) {
+			return null;
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try (FileInputStream in = new FileInputStream(filename)) {
+			FileChannel file = in.getChannel();
+			List<ForkJoinTask<Rescue>> tasks = new ArrayList<>(starts.length - 1);
+			for (int i = 0; i < starts.length - 1; i++) {
+				long start = starts[i];
+				long end = starts[i + 1];
+				tasks.add(pool.submit(() -> readRescue(file, start, end, notes, strings)));
+			}
+
+			Rescue[] rescues = new Rescue[tasks.size()];
 			RescueList rescueList = new RescueList();
-			boolean firstLine = true;
-			boolean rescueFlag = false;
-
-			while (fileReader.hasNextLine()) {
-				String line = fileReader.nextLine().trim();
-
-				if (!line.isEmpty()) {
-					char indicator = line.charAt(0);
-					String data = line.substring(2).trim();
-
-					switch (indicator) {
-					case '#':
-						if (rescueFlag) {
-							throw new IllegalArgumentException("Unable to load file.");
-						}
-						rescueFlag = true;
-						rescueList.addRescue(new Rescue(data));
-						break;
-					case '*':
-						if (rescueList.size() > 0) {
-							rescueFlag = true;
-							addAnimal(rescueList, data);
-						} else {
-							throw new IllegalArgumentException("Unable to load file.");
-						}
-						break;
-					case '-':
-						if (rescueList.size() > 0) {
-							addAppointment(rescueList, data);
-						} else {
-							throw new IllegalArgumentException("Unable to load file.");
-						}
-						break;
-					default:
-						throw new IllegalArgumentException("Unable to load file.");
-					}
-					firstLine = false;
-				} else if (firstLine) {
-					throw new IllegalArgumentException("Unable to load file.");
-				} else {
-					rescueFlag = false;
+			for (int i = 0; i < rescues.length; i++) {
+				rescues[i] = tasks.get(i).get();
+				rescueList.addRescue(rescues[i]);
+			}
+			if (segments != null) {
+				for (int i = 0; i < rescues.length; i++) {
+					segments.add(rescues[i], starts[i], starts[i + 1]);
 				}
 			}
-			fileReader.close();
 			return rescueList;
-		} catch (FileNotFoundException e) {
-			throw new IllegalArgumentException("File not found.");
+		} catch (ExecutionException e) {
+			Throwable cause = thrownBy(e);
+			if (cause instanceof RuntimeException) {
+				failed(segments, notes);
+				throw (RuntimeException) cause;
+			}
+			// A rescue that could not be mapped or read from the channel is read
+			// again serially
+			return null;
+		} catch (IOException e) {
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (RuntimeException e) {
+			failed(segments, notes);
+			throw e;
+		} finally {
+			pool.shutdownNow();
 		}
 	}
 
 	/**
-	 * Adds an animal to the specified rescue list based on the provided data.
-	 * 
-	 * @param rescueList the list of rescues
-	 * @param data       the data for the animal
-	 * @throws IllegalArgumentException if there is an error while processing the
-	 *                                  animal data
+	 * Returns the exception a task threw. A task that ran on another thread is
+	 * reported by a copy of its exception that has the exception as its cause.
+	 *
+	 * @param e the exception thrown by getting the result of the task
+	 * @return the exception the task threw
+	 */
+	private static Throwable thrownBy(ExecutionException e) {
+		Throwable cause = e.getCause();
+		if (cause != null && cause.getCause() != null && cause.getCause().getClass() == cause.getClass()) {
+			return cause.getCause();
+		}
+		return cause;
+	}
+
+	/**
+	 * Finds the position of each rescue line in a file, checking that the lines
+	 * are in an order a serial read accepts.
+	 *
+	 * @param tokenizer the tokenizer over the file
+	 * @param size      the size of the file in bytes
+	 * @return the position of each rescue line followed by the size of the file,
+	 *         or null if the lines are out of order
+	 * @throws IOException if the file cannot be read
+	 */
+	private static long[] findRescues(PackDoptionTokenizer tokenizer, long size) throws IOException {
+		long[] starts = new long[16];
+		int count = 0;
+		boolean firstLine = true;
+		boolean rescueFlag = false;
+
+		while (tokenizer.nextLine()) {
+			if (!tokenizer.isBlank()) {
+				char indicator = tokenizer.indicator();
+				if (indicator == '#' && !rescueFlag) {
+					if (count == starts.length - 1) {
+						starts = Arrays.copyOf(starts, starts.length * 2);
+					}
+					starts[count++] = tokenizer.lineOffset();
+					rescueFlag = true;
+				} else if (indicator == '*' && count > 0) {
+					rescueFlag = true;
+				} else if (indicator != '-' || count == 0) {
+					return null;
+				}
+				firstLine = false;
+			} else if (firstLine) {
+				return null;
+			} else {
+				rescueFlag = false;
+			}
+		}
+
+		starts[count++] = size;
+		return Arrays.copyOf(starts, count);
+	}
+
+	/**
+	 * Reads the rescue that fills a range of a file.
+	 *
+	 * @param file  the file
+	 * @param start the position of the rescue line
+	 * @param end   the position just past the rescue's last line
+	 * @param notes   the source of lazy notes, or null to build notes as read
+	 * @param strings the table to share repeated text through
+	 * @return the rescue
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if a record is invalid
 	 */
-	private static void addAnimal(RescueList rescueList, String data) {
-		String[] animalData = data.split(",");
-		Animal animal;
+	private Rescue readRescue(FileChannel file, long start, long end, NoteSource notes, StringTable strings)
+			throws IOException {
+		if (end - start > Integer.MAX_VALUE) {
+			throw new IOException("Rescue too large to read at once");
+		}
 
-		if ("Cat".equals(animalData[0])) {
-			animal = createCat(animalData);
-		} else if ("Dog".equals(animalData[0])) {
-			animal = createDog(animalData);
+		int length = (int) (end - start);
+		ByteBuffer bytes;
+		if (memoryMapped) {
+			bytes = file.map(MapMode.READ_ONLY, start, length);
 		} else {
-			throw new IllegalArgumentException("Unable to load file.");
+			bytes = ByteBuffer.allocate(length);
+			while (bytes.hasRemaining()) {
+				if (file.read(bytes, start + bytes.position()) < 0) {
+					throw new EOFException();
+				}
+			}
+			bytes.flip();
+		}
+
+		PackDoptionTokenizer tokenizer = new PackDoptionTokenizer(bytes, start);
+		tokenizer.setStringTable(strings);
+		RescueList rescueList = readRescueList(tokenizer, null, notes, end);
+		if (rescueList.size() != 1) {
+			throw new IllegalArgumentException(LOAD_ERROR);
+		}
+		return rescueList.getRescue(0);
+	}
+
+	/**
+	 * Reads every record from the tokenizer into a new RescueList. Each rescue is
+	 * indexed once all of its records have been read.
+	 *
+	 * @param tokenizer the tokenizer over the file
+	 * @param segments  the index to fill, or null
+	 * @param notes     the source of lazy notes, or null to build notes as read
+	 * @param end       the position of the end of the input
+	 * @return the RescueList read from the file
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if a record is invalid or out of place
+	 */
+	private static RescueList readRescueList(PackDoptionTokenizer tokenizer, RescueSegments segments,
+			NoteSource notes, long end) throws IOException {
+		RescueList rescueList = new RescueList();
+		Rescue rescue = null;
+		long start = 0;
+		boolean firstLine = true;
+		boolean rescueFlag = false;
+
+		while (tokenizer.nextLine()) {
+			if (!tokenizer.isBlank()) {
+				char indicator = tokenizer.indicator();
+				tokenizer.split();
+
+				switch (indicator) {
+				case '#':
+					if (rescueFlag) {
+						throw new IllegalArgumentException(LOAD_ERROR);
+					}
+					rescueFlag = true;
+					if (segments != null && rescue != null) {
+						segments.add(rescue, start, tokenizer.lineOffset());
+					}
+					start = tokenizer.lineOffset();
+					rescue = new Rescue(tokenizer.data());
+					rescueList.addRescue(rescue);
+					break;
+				case '*':
+					if (rescue == null) {
+						throw new IllegalArgumentException(LOAD_ERROR);
+					}
+					rescueFlag = true;
+					rescue.addAnimal(createAnimal(tokenizer, notes));
+					break;
+				case '-':
+					if (rescue == null) {
+						throw new IllegalArgumentException(LOAD_ERROR);
+					}
+					addAppointment(rescue, tokenizer);
+					break;
+				default:
+					throw new IllegalArgumentException(LOAD_ERROR);
+				}
+				firstLine = false;
+			} else if (firstLine) {
+				throw new IllegalArgumentException(LOAD_ERROR);
+			} else {
+				rescueFlag = false;
+			}
+		}
+		if (segments != null && rescue != null) {
+			segments.add(rescue, start, end);
 		}
+		return rescueList;
+	}
 
-		rescueList.getRescue(rescueList.size() - 1).addAnimal(animal);
+	/**
+	 * Creates an animal from the current record.
+	 *
+	 * @param tokenizer the tokenizer positioned on an animal record
+	 * @param notes     the source of lazy notes, or null to build notes as read
+	 * @return the created animal
+	 * @throws IllegalArgumentException if there is an error while processing the
+	 *                                  animal data
+	 */
+	private static Animal createAnimal(PackDoptionTokenizer tokenizer, NoteSource notes) {
+		if (tokenizer.fieldEquals(0, "Cat", false)) {
+			return createCat(tokenizer, notes);
+		} else if (tokenizer.fieldEquals(0, "Dog", false)) {
+			return createDog(tokenizer, notes);
+		} else {
+			throw new IllegalArgumentException(LOAD_ERROR);
+		}
 	}
 
 	/**
-	 * Creates a Cat object from the provided data.
-	 * 
-	 * @param data the data for the cat
+	 * Creates a Cat object from the current record.
+	 *
+	 * @param tokenizer the tokenizer positioned on a cat record
+	 * @param notes     the source of lazy notes, or null to build notes as read
 	 * @return the created Cat object
 	 * @throws IllegalArgumentException if there is an error while processing the
 	 *                                  cat data
 	 */
-	private static Animal createCat(String[] data) {
-		boolean adopted = Boolean.parseBoolean(data[7]);
-		Date dateAdopted = adopted ? parseDate(data[8]) : null;
-		String owner = adopted ? data[9] : null;
+	private static Animal createCat(PackDoptionTokenizer tokenizer, NoteSource notes) {
+		boolean adopted = tokenizer.fieldEquals(7, "true", true);
+		Date dateAdopted = adopted ? parseDate(tokenizer, 8) : null;
+		String owner = adopted ? tokenizer.internField(9) : null;
+		int notesIndex = adopted ? 11 : 8;
 
-		return new Cat(data[1], parseDate(data[2]), parseSize(data[3]), parseBoolean(data[4]), parseBoolean(data[5]),
-				parseNotes(data, adopted ? 11 : 8), parseDate(data[6]), adopted, dateAdopted, owner);
+		Animal cat = new Cat(tokenizer.field(1), parseDate(tokenizer, 2), parseSize(tokenizer, 3),
+				parseBoolean(tokenizer, 4), parseBoolean(tokenizer, 5), parseNotes(tokenizer, notesIndex, notes),
+				parseDate(tokenizer, 6), adopted, dateAdopted, owner);
+		deferNotes(cat, tokenizer, notesIndex, notes);
+		return cat;
 	}
 
 	/**
-	 * Creates a Dog object from the provided data.
-	 * 
-	 * @param data the data for the dog
+	 * Creates a Dog object from the current record.
+	 *
+	 * @param tokenizer the tokenizer positioned on a dog record
+	 * @param notes     the source of lazy notes, or null to build notes as read
 	 * @return the created Dog object
 	 * @throws IllegalArgumentException if there is an error while processing the
 	 *                                  dog data
 	 */
-	private static Animal createDog(String[] data) {
-		boolean adopted = Boolean.parseBoolean(data[7]);
-		Date dateAdopted = adopted ? parseDate(data[8]) : null;
-		String owner = adopted ? data[9] : null;
+	private static Animal createDog(PackDoptionTokenizer tokenizer, NoteSource notes) {
+		boolean adopted = tokenizer.fieldEquals(7, "true", true);
+		Date dateAdopted = adopted ? parseDate(tokenizer, 8) : null;
+		String owner = adopted ? tokenizer.internField(9) : null;
+		int notesIndex = adopted ? 12 : 9;
 
-		return new Dog(data[1], parseDate(data[2]), parseSize(data[3]), parseBoolean(data[4]), parseBoolean(data[5]),
-				parseNotes(data, adopted ? 12 : 9), parseDate(data[6]), adopted, dateAdopted, owner,
-				parseBreed(data[adopted ? 10 : 7]));
+		Animal dog = new Dog(tokenizer.field(1), parseDate(tokenizer, 2), parseSize(tokenizer, 3),
+				parseBoolean(tokenizer, 4), parseBoolean(tokenizer, 5), parseNotes(tokenizer, notesIndex, notes),
+				parseDate(tokenizer, 6), adopted, dateAdopted, owner, parseBreed(tokenizer, adopted ? 10 : 7));
+		deferNotes(dog, tokenizer, notesIndex, notes);
+		return dog;
 	}
 
 	/**
-	 * Adds an appointment to the specified rescue list based on the provided data.
-	 * 
-	 * @param rescueList the list of rescues
-	 * @param data       the data for the appointment
+	 * Adds an appointment from the current record to the rescue. The urgency of
+	 * the appointment is optional and defaults to routine.
+	 *
+	 * @param rescue    the rescue the appointment is for
+	 * @param tokenizer the tokenizer positioned on an appointment record
 	 * @throws IllegalArgumentException if there is an error while processing the
 	 *                                  appointment data
 	 */
-	private static void addAppointment(RescueList rescueList, String data) {
-		String[] appointmentData = data.split(",");
-		Date date = parseDate(appointmentData[1].trim());
-		Animal animal = rescueList.getRescue(rescueList.size() - 1).getAnimal(appointmentData[0], date);
-		rescueList.getRescue(rescueList.size() - 1).addAppointment(animal);
+	private static void addAppointment(Rescue rescue, PackDoptionTokenizer tokenizer) {
+		String name = tokenizer.field(0);
+		tokenizer.trimField(1);
+		Date date = parseDate(tokenizer, 1);
+		Urgency urgency = Urgency.ROUTINE;
+		if (tokenizer.fieldCount() > 2) {
+			tokenizer.trimField(2);
+			urgency = tokenizer.fieldEnum(2, URGENCIES, false);
+			if (urgency == null) {
+				throw new IllegalArgumentException(LOAD_ERROR);
+			}
+		}
+		rescue.addAppointment(rescue.getAnimal(name, date), urgency);
 	}
 
 	/**
-	 * Parses a Date object from the provided string.
-	 * 
-	 * @param date the string representing the date
+	 * Parses a Date object from a field of the current record.
+	 *
+	 * @param tokenizer the tokenizer positioned on a record
+	 * @param index     the index of the field
 	 * @return the parsed Date object
 	 * @throws IllegalArgumentException if there is an error while parsing the date
 	 */
-	private static Date parseDate(String date) {
+	private static Date parseDate(PackDoptionTokenizer tokenizer, int index) {
 		try {
-			return new Date(date);
+			return Date.parse(tokenizer.chars(index));
 		} catch (Exception e) {
-			throw new IllegalArgumentException("Unable to load file.");
+			throw new IllegalArgumentException(LOAD_ERROR);
 		}
 	}
 
 	/**
-	 * Parses a Size object from the provided string.
-	 * 
-	 * @param size the string representing the size
+	 * Parses a Size object from a field of the current record.
+	 *
+	 * @param tokenizer the tokenizer positioned on a record
+	 * @param index     the index of the field
 	 * @return the parsed Size object
 	 * @throws IllegalArgumentException if there is an error while parsing the size
 	 */
-	private static Size parseSize(String size) {
-		try {
-			return Size.valueOf(size);
-		} catch (Exception e) {
-			throw new IllegalArgumentException("Unable to load file.");
+	private static Size parseSize(PackDoptionTokenizer tokenizer, int index) {
+		Size size = tokenizer.fieldEnum(index, SIZES, false);
+		if (size == null) {
+			throw new IllegalArgumentException(LOAD_ERROR);
 		}
+		return size;
 	}
 
 	/**
-	 * Parses a boolean value from the provided string.
-	 * 
-	 * @param value the string representing the boolean value
+	 * Parses a boolean value from a field of the current record.
+	 *
+	 * @param tokenizer the tokenizer positioned on a record
+	 * @param index     the index of the field
 	 * @return the parsed boolean value
-	 * @throws IllegalArgumentException if the string is not a valid boolean value
+	 * @throws IllegalArgumentException if the field is not a valid boolean value
 	 */
-	private static boolean parseBoolean(String value) {
-		if ("true".equals(value)) {
+	private static boolean parseBoolean(PackDoptionTokenizer tokenizer, int index) {
+		if (tokenizer.fieldEquals(index, "true", false)) {
 			return true;
-		} else if ("false".equals(value)) {
+		} else if (tokenizer.fieldEquals(index, "false", false)) {
 			return false;
 		} else {
-			throw new IllegalArgumentException("Unable to load file.");
+			throw new IllegalArgumentException(LOAD_ERROR);
 		}
 	}
 
 	/**
-	 * Parses a Breed object from the provided string.
-	 * 
-	 * @param breed the string representing the breed
+	 * Parses a Breed object from a field of the current record, ignoring case.
+	 *
+	 * @param tokenizer the tokenizer positioned on a record
+	 * @param index     the index of the field
 	 * @return the parsed Breed object
 	 * @throws IllegalArgumentException if there is an error while parsing the breed
 	 */
-	private static Breed parseBreed(String breed) {
-		try {
-			return Breed.valueOf(breed.toUpperCase());
-		} catch (Exception e) {
-			throw new IllegalArgumentException("Unable to load file.");
+	private static Breed parseBreed(PackDoptionTokenizer tokenizer, int index) {
+		Breed breed = tokenizer.fieldEnum(index, BREEDS, true);
+		if (breed == null) {
+			throw new IllegalArgumentException(LOAD_ERROR);
 		}
+		return breed;
 	}
 
 	/**
-	 * Parses a list of notes from the provided data starting at the specified
-	 * index.
-	 * 
-	 * @param data       the array of strings representing the notes data
-	 * @param startIndex the starting index in the array to parse notes from
+	 * Parses the notes of the current record starting at the specified field.
+	 * Lazy notes are only checked, and an empty list is returned for them. A
+	 * repeated note is rejected either way, so a file loads or fails the same
+	 * whether its notes are lazy or not.
+	 *
+	 * @param tokenizer  the tokenizer positioned on a record
+	 * @param startIndex the index of the first note field
+	 * @param source     the source of lazy notes, or null to build the notes
 	 * @return a SortedLinkedList of parsed Note objects
 	 * @throws IllegalArgumentException if there is an error while parsing the notes
 	 */
-	private static SortedLinkedList<Note> parseNotes(String[] data, int startIndex) {
+	private static SortedLinkedList<Note> parseNotes(PackDoptionTokenizer tokenizer, int startIndex,
+			NoteSource source) {
 		SortedLinkedList<Note> notes = new SortedLinkedList<>();
-		for (int i = startIndex; i < data.length; i++) {
-			notes.add(parseNote(data[i]));
+		if (source != null) {
+			int[] dates = new int[Math.max(tokenizer.fieldCount() - startIndex, 0)];
+			for (int i = startIndex; i < tokenizer.fieldCount(); i++) {
+				dates[i - startIndex] = checkNote(tokenizer, i);
+				for (int j = startIndex; j < i; j++) {
+					if (dates[j - startIndex] == dates[i - startIndex] && sameMessage(tokenizer, i, j)) {
+						throw new IllegalArgumentException(LOAD_ERROR);
+					}
+				}
+			}
+			return notes;
+		}
+		try {
+			for (int i = startIndex; i < tokenizer.fieldCount(); i++) {
+				notes.add(parseNote(tokenizer, i));
+			}
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(LOAD_ERROR);
 		}
 		return notes;
 	}
 
 	/**
-	 * Parses a Note object from the provided string.
-	 * 
-	 * @param noteData the string representing the note data
+	 * Has an animal load its notes from where they lie in the file the first time
+	 * they are needed.
+	 *
+	 * @param animal     the animal created from the current record
+	 * @param tokenizer  the tokenizer positioned on the record
+	 * @param startIndex the index of the first note field
+	 * @param source     the source of lazy notes, or null if notes were built
+	 */
+	private static void deferNotes(Animal animal, PackDoptionTokenizer tokenizer, int startIndex,
+			NoteSource source) {
+		int last = tokenizer.fieldCount() - 1;
+		if (source != null && startIndex <= last) {
+			int start = tokenizer.fieldStart(startIndex);
+			int end = tokenizer.fieldEnd(last);
+			animal.setNoteLoader(
+					source.loader(tokenizer.offset(start), tokenizer.offset(end), tokenizer.checksum(start, end)));
+		}
+	}
+
+	/**
+	 * Checks that a field of the current record is a valid note without building
+	 * the note.
+	 *
+	 * @param tokenizer the tokenizer positioned on a record
+	 * @param index     the index of the field
+	 * @return the epoch day of the date of the note
+	 * @throws IllegalArgumentException if the field is not a valid note
+	 */
+	private static int checkNote(PackDoptionTokenizer tokenizer, int index) {
+		int space = tokenizer.indexOf(index, ' ');
+		if (space < 0 || !tokenizer.hasText(space + 1, tokenizer.fieldEnd(index))) {
+			throw new IllegalArgumentException(LOAD_ERROR);
+		}
+		try {
+			return Date.parse(tokenizer.chars(tokenizer.fieldStart(index), space)).getEpochDay();
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(LOAD_ERROR);
+		}
+	}
+
+	/**
+	 * Returns true if two note fields of the current record have the same
+	 * message once it is trimmed, as the Notes built from them would.
+	 *
+	 * @param tokenizer the tokenizer positioned on a record
+	 * @param index     the index of one note field
+	 * @param other     the index of the other note field
+	 * @return true if the messages are equal
+	 */
+	private static boolean sameMessage(PackDoptionTokenizer tokenizer, int index, int other) {
+		int start = tokenizer.indexOf(index, ' ') + 1;
+		int end = tokenizer.fieldEnd(index);
+		int otherStart = tokenizer.indexOf(other, ' ') + 1;
+		int otherEnd = tokenizer.fieldEnd(other);
+		return tokenizer.rangesEqual(tokenizer.textStart(start, end), tokenizer.textEnd(start, end),
+				tokenizer.textStart(otherStart, otherEnd), tokenizer.textEnd(otherStart, otherEnd));
+	}
+
+	/**
+	 * Parses a Note object from a field of the current record. The date of the
+	 * note runs up to the first space and the message is the rest of the field.
+	 * The message is trimmed before it is interned, so the table holds the same
+	 * text the Note keeps.
+	 *
+	 * @param tokenizer the tokenizer positioned on a record
+	 * @param index     the index of the field
 	 * @return the parsed Note object
 	 * @throws IllegalArgumentException if there is an error while parsing the note
 	 */
-	private static Note parseNote(String noteData) {
-		String[] parts = noteData.split(" ", 2);
+	private static Note parseNote(PackDoptionTokenizer tokenizer, int index) {
+		int space = tokenizer.indexOf(index, ' ');
+		if (space < 0) {
+			throw new IllegalArgumentException(LOAD_ERROR);
+		}
 		try {
-			return new Note(new Date(parts[0]), parts[1]);
+			Date date = Date.parse(tokenizer.chars(tokenizer.fieldStart(index), space));
+			int end = tokenizer.fieldEnd(index);
+			return new Note(date,
+					tokenizer.internString(tokenizer.textStart(space + 1, end), tokenizer.textEnd(space + 1, end)));
 		} catch (Exception e) {
-			throw new IllegalArgumentException("Unable to load file.");
+			throw new IllegalArgumentException(LOAD_ERROR);
 		}
 	}
 
-}
\ No newline at end of file
+}
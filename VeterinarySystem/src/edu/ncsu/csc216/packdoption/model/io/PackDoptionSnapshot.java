@@ -0,0 +1,406 @@
+package edu.ncsu.csc216.packdoption.model.io;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.ncsu.csc216.packdoption.model.animals.Animal;
+import edu.ncsu.csc216.packdoption.model.animals.Animal.Size;
+import edu.ncsu.csc216.packdoption.model.animals.Cat;
+import edu.ncsu.csc216.packdoption.model.animals.Dog;
+import edu.ncsu.csc216.packdoption.model.animals.Dog.Breed;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler.Urgency;
+import edu.ncsu.csc216.packdoption.model.rescue.Rescue;
+import edu.ncsu.csc216.packdoption.model.rescue.RescueList;
+import edu.ncsu.csc216.packdoption.util.Date;
+import edu.ncsu.csc216.packdoption.util.Note;
+import edu.ncsu.csc216.packdoption.util.SimpleListIterator;
+import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
+
+/**
+ * The binary snapshot format for PackDoption data, a compact alternative to the
+ * text format that loads without parsing. A snapshot starts with a magic number
+ * and a format version, followed by a table of every distinct name, owner, and
+ * note message in the list, so text repeated across records is stored once
+ * and each record refers to it by index. Sizes, breeds, and urgencies are
+ * stored as their ordinals and dates as their epoch day, and counts and
+ * indexes are stored in as few bytes as their value needs.
+ *
+ * A snapshot holds everything the text format does. The PackDoptionReader
+ * recognizes a snapshot by its magic number, and the PackDoptionWriter writes
+ * one in place of a text file when asked to.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+public final class PackDoptionSnapshot {
+
+	/** The extension of a snapshot file */
+	public static final String EXTENSION = ".pds";
+	/** The magic number a snapshot starts with, "PDS1" */
+	private static final int MAGIC = 0x50445331;
+	/** The version of the snapshot format this class reads and writes */
+	private static final int VERSION = 1;
+	/** Message of the exception thrown for a snapshot that cannot be read */
+	private static final String LOAD_ERROR = "Unable to load file.";
+	/** The kind byte of a cat */
+	private static final byte CAT = 0;
+	/** The kind byte of a dog */
+	private static final byte DOG = 1;
+	/** The flag bit of a house trained animal */
+	private static final int HOUSE_TRAINED = 1;
+	/** The flag bit of an animal good with kids */
+	private static final int GOOD_WITH_KIDS = 2;
+	/** The flag bit of an adopted animal */
+	private static final int ADOPTED = 4;
+	/** The sizes an animal can have */
+	private static final Size[] SIZES = Size.values();
+	/** The breeds a dog can have */
+	private static final Breed[] BREEDS = Breed.values();
+	/** The urgencies an appointment can have */
+	private static final Urgency[] URGENCIES = Urgency.values();
+
+	/**
+	 * Snapshots are read and written with the static methods of this class.
+	 */
+	private PackDoptionSnapshot() {
+	}
+
+	/**
+	 * Returns whether a file starts with the magic number of a snapshot.
+	 *
+	 * @param file the file to check
+	 * @return true if the file is a snapshot, false if it is not or cannot be
+	 *         read
+	 */
+	public static boolean isSnapshot(Path file) {
+		try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+			return in.readInt() == MAGIC;
+		} catch (IOException | RuntimeException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Returns whether a filename names a snapshot by its extension.
+	 *
+	 * @param filename the filename
+	 * @return true if the filename ends with the snapshot extension
+	 */
+	public static boolean hasExtension(String filename) {
+		return filename.regionMatches(true, filename.length() - EXTENSION.length(), EXTENSION, 0,
+				EXTENSION.length());
+	}
+
+	/**
+	 * Writes a RescueList to a stream as a snapshot. The stream is not buffered,
+	 * flushed, or closed by this method.
+	 *
+	 * @param stream the stream to write to
+	 * @param list   the RescueList to write
+	 * @throws IOException if the stream cannot be written to or an appointment is
+	 *                     for an animal not in its rescue
+	 */
+	public static void write(OutputStream stream, RescueList list) throws IOException {
+		DataOutputStream out = new DataOutputStream(stream);
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+
+		Map<String, Integer> strings = collectStrings(list);
+		writeCount(out, strings.size());
+		String[] table = new String[strings.size()];
+		for (Map.Entry<String, Integer> entry : strings.entrySet()) {
+			table[entry.getValue()] = entry.getKey();
+		}
+		for (String string : table) {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			writeCount(out, bytes.length);
+			out.write(bytes);
+		}
+
+		writeCount(out, list.size());
+		for (int i = 0; i < list.size(); i++) {
+			writeRescue(out, list.getRescue(i), strings);
+		}
+		out.flush();
+	}
+
+	/**
+	 * Gives every distinct string in a RescueList an index, in the order the
+	 * strings are first met.
+	 *
+	 * @param list the RescueList
+	 * @return the index of each string
+	 */
+	private static Map<String, Integer> collectStrings(RescueList list) {
+		Map<String, Integer> strings = new HashMap<>();
+		for (int i = 0; i < list.size(); i++) {
+			Rescue rescue = list.getRescue(i);
+			strings.putIfAbsent(rescue.getName(), strings.size());
+			SimpleListIterator<Animal> animals = rescue.animalIterator();
+			while (animals.hasNext()) {
+				Animal animal = animals.next();
+				strings.putIfAbsent(animal.getName(), strings.size());
+				if (animal.adopted()) {
+					strings.putIfAbsent(animal.getOwner(), strings.size());
+				}
+				SimpleListIterator<Note> notes = animal.getNotes().iterator();
+				while (notes.hasNext()) {
+					strings.putIfAbsent(notes.next().getMessage(), strings.size());
+				}
+			}
+		}
+		return strings;
+	}
+
+	/**
+	 * Writes one rescue, its animals, and its appointments.
+	 *
+	 * @param out     the stream to write to
+	 * @param rescue  the rescue to write
+	 * @param strings the index of each string in the table
+	 * @throws IOException if the stream cannot be written to or an appointment is
+	 *                     for an animal not in the rescue
+	 */
+	private static void writeRescue(DataOutputStream out, Rescue rescue, Map<String, Integer> strings)
+			throws IOException {
+		writeCount(out, strings.get(rescue.getName()));
+
+		Map<Animal, Integer> indexes = new IdentityHashMap<>();
+		writeCount(out, rescue.numAnimals());
+		SimpleListIterator<Animal> animals = rescue.animalIterator();
+		while (animals.hasNext()) {
+			Animal animal = animals.next();
+			indexes.put(animal, indexes.size());
+			writeAnimal(out, animal, strings);
+		}
+
+		AppointmentScheduler appointments = rescue.getAppointments();
+		writeCount(out, appointments.size());
+		for (Animal animal : appointments) {
+			Integer index = indexes.get(animal);
+			if (index == null) {
+				throw new IOException("Appointment for an animal not in the rescue");
+			}
+			writeCount(out, index);
+			out.writeByte(appointments.getUrgency(animal).ordinal());
+		}
+	}
+
+	/**
+	 * Writes the fields of an animal.
+	 *
+	 * @param out     the stream to write to
+	 * @param animal  the animal to write
+	 * @param strings the index of each string in the table
+	 * @throws IOException if the stream cannot be written to
+	 */
+	private static void writeAnimal(DataOutputStream out, Animal animal, Map<String, Integer> strings)
+			throws IOException {
+		boolean dog = animal instanceof Dog;
+		out.writeByte(dog ? DOG : CAT);
+		writeCount(out, strings.get(animal.getName()));
+		writeDate(out, animal.getBirthday());
+		out.writeByte(animal.getSize().ordinal());
+		out.writeByte((animal.isHouseTrained() ? HOUSE_TRAINED : 0) | (animal.isGoodWithKids() ? GOOD_WITH_KIDS : 0)
+				| (animal.adopted() ? ADOPTED : 0));
+		writeDate(out, animal.getDateEnterRescue());
+		if (animal.adopted()) {
+			writeDate(out, animal.getDateAdopted());
+			writeCount(out, strings.get(animal.getOwner()));
+		}
+		if (dog) {
+			out.writeByte(((Dog) animal).getBreed().ordinal());
+		}
+
+		writeCount(out, animal.getNotes().size());
+		SimpleListIterator<Note> notes = animal.getNotes().iterator();
+		while (notes.hasNext()) {
+			Note note = notes.next();
+			writeDate(out, note.getDate());
+			writeCount(out, strings.get(note.getMessage()));
+		}
+	}
+
+	/**
+	 * Writes a date as its epoch day, which always fits in two bytes.
+	 *
+	 * @param out  the stream to write to
+	 * @param date the date to write
+	 * @throws IOException if the stream cannot be written to
+	 */
+	private static void writeDate(DataOutputStream out, Date date) throws IOException {
+		out.writeShort(date.getEpochDay());
+	}
+
+	/**
+	 * Writes a count or index seven bits at a time, low bits first, with the top
+	 * bit of each byte set when more bytes follow.
+	 *
+	 * @param out   the stream to write to
+	 * @param value the non-negative value to write
+	 * @throws IOException if the stream cannot be written to
+	 */
+	private static void writeCount(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte(value & 0x7F | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	/**
+	 * Reads a RescueList from a stream holding a snapshot and nothing after it.
+	 * The stream is not closed by this method.
+	 *
+	 * @param stream the stream to read from, which should be buffered
+	 * @return the RescueList read from the stream
+	 * @throws IOException              if the stream cannot be read
+	 * @throws IllegalArgumentException with the message “Unable to load file.” if
+	 *                                  the stream does not hold a valid snapshot
+	 */
+	public static RescueList read(InputStream stream) throws IOException {
+		DataInputStream in = new DataInputStream(stream);
+		try {
+			if (in.readInt() != MAGIC || in.readUnsignedShort() != VERSION) {
+				throw new IllegalArgumentException(LOAD_ERROR);
+			}
+
+			int stringCount = readCount(in);
+			List<String> strings = new ArrayList<>();
+			for (int i = 0; i < stringCount; i++) {
+				int length = readCount(in);
+				byte[] bytes = in.readNBytes(length);
+				if (bytes.length != length) {
+					throw new EOFException();
+				}
+				strings.add(new String(bytes, StandardCharsets.UTF_8));
+			}
+
+			RescueList rescueList = new RescueList();
+			int rescueCount = readCount(in);
+			for (int i = 0; i < rescueCount; i++) {
+				rescueList.addRescue(readRescue(in, strings));
+			}
+			if (in.read() != -1) {
+				throw new IllegalArgumentException(LOAD_ERROR);
+			}
+			return rescueList;
+		} catch (EOFException | RuntimeException e) {
+			throw new IllegalArgumentException(LOAD_ERROR);
+		}
+	}
+
+	/**
+	 * Reads one rescue, its animals, and its appointments.
+	 *
+	 * @param in      the stream to read from
+	 * @param strings the string table
+	 * @return the rescue
+	 * @throws IOException if the stream cannot be read
+	 */
+	private static Rescue readRescue(DataInputStream in, List<String> strings) throws IOException {
+		Rescue rescue = new Rescue(strings.get(readCount(in)));
+
+		int animalCount = readCount(in);
+		List<Animal> animals = new ArrayList<>();
+		for (int i = 0; i < animalCount; i++) {
+			Animal animal = readAnimal(in, strings);
+			animals.add(animal);
+			rescue.addAnimal(animal);
+		}
+
+		int appointmentCount = readCount(in);
+		for (int i = 0; i < appointmentCount; i++) {
+			Animal animal = animals.get(readCount(in));
+			rescue.addAppointment(animal, URGENCIES[in.readUnsignedByte()]);
+		}
+		return rescue;
+	}
+
+	/**
+	 * Reads the fields of an animal.
+	 *
+	 * @param in      the stream to read from
+	 * @param strings the string table
+	 * @return the animal
+	 * @throws IOException if the stream cannot be read
+	 */
+	private static Animal readAnimal(DataInputStream in, List<String> strings) throws IOException {
+		byte kind = in.readByte();
+		if (kind != CAT && kind != DOG) {
+			throw new IllegalArgumentException(LOAD_ERROR);
+		}
+		String name = strings.get(readCount(in));
+		Date birthday = readDate(in);
+		Size size = SIZES[in.readUnsignedByte()];
+		int flags = in.readUnsignedByte();
+		Date dateEnterRescue = readDate(in);
+		boolean adopted = (flags & ADOPTED) != 0;
+		Date dateAdopted = adopted ? readDate(in) : null;
+		String owner = adopted ? strings.get(readCount(in)) : null;
+		Breed breed = kind == DOG ? BREEDS[in.readUnsignedByte()] : null;
+
+		SortedLinkedList<Note> notes = new SortedLinkedList<>();
+		int noteCount = readCount(in);
+		for (int i = 0; i < noteCount; i++) {
+			Date date = readDate(in);
+			notes.add(new Note(date, strings.get(readCount(in))));
+		}
+
+		boolean houseTrained = (flags & HOUSE_TRAINED) != 0;
+		boolean goodWithKids = (flags & GOOD_WITH_KIDS) != 0;
+		if (kind == DOG) {
+			return new Dog(name, birthday, size, houseTrained, goodWithKids, notes, dateEnterRescue, adopted,
+					dateAdopted, owner, breed);
+		}
+		return new Cat(name, birthday, size, houseTrained, goodWithKids, notes, dateEnterRescue, adopted,
+				dateAdopted, owner);
+	}
+
+	/**
+	 * Reads a date stored as its epoch day.
+	 *
+	 * @param in the stream to read from
+	 * @return the date
+	 * @throws IOException if the stream cannot be read
+	 */
+	private static Date readDate(DataInputStream in) throws IOException {
+		return Date.ofEpochDay(in.readUnsignedShort());
+	}
+
+	/**
+	 * Reads a count or index written by writeCount.
+	 *
+	 * @param in the stream to read from
+	 * @return the value
+	 * @throws IOException if the stream cannot be read
+	 */
+	private static int readCount(DataInputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				if (value < 0) {
+					throw new IllegalArgumentException(LOAD_ERROR);
+				}
+				return value;
+			}
+		}
+		throw new IllegalArgumentException(LOAD_ERROR);
+	}
+
+}
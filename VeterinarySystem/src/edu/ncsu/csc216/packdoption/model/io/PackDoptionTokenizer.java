@@ -0,0 +1,715 @@
+package edu.ncsu.csc216.packdoption.model.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Reads the lines of a PackDoption file from a byte channel and splits them
+ * into fields in place. Lines and fields are kept as positions in a single
+ * buffer, so a record is only copied out of the buffer when a field is turned
+ * into a String. Bytes are decoded as UTF-8.
+ *
+ * A line is ended by \n, \r, or \r\n, and is trimmed the same way as
+ * String.trim. The data of a record is the trimmed text after the two
+ * character prefix of its line, and it is split on commas with trailing empty
+ * fields dropped, the same way as String.split(",").
+ *
+ * The bytes come either from reads of the channel into a heap buffer or, for a
+ * file channel, from a window of the file mapped into memory. A mapped window
+ * is moved forward to the start of the unfinished line whenever the tokenizer
+ * reaches its end, so files larger than a single mapping can be read.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+final class PackDoptionTokenizer implements Closeable {
+
+	/** Message of the exception thrown for a malformed record */
+	private static final String LOAD_ERROR = "Unable to load file.";
+	/** Number of fields there is room for before the field arrays grow */
+	private static final int INITIAL_FIELDS = 16;
+
+	/** The channel the file is read from */
+	private final ReadableByteChannel channel;
+	/** The file the windows are mapped from, or null when reading the channel */
+	private final FileChannel mappedFile;
+	/** The size of the mapped file in bytes */
+	private final long mappedSize;
+	/** The number of bytes to map at a time */
+	private int windowSize;
+	/** The bytes read from the channel, valid from 0 to the limit */
+	private ByteBuffer buffer;
+	/** Position in the file of the first byte in the buffer */
+	private long bufferOffset;
+	/** Whether the channel has no more bytes */
+	private boolean endOfInput;
+	/** Position in the buffer of the start of the next line */
+	private int next;
+	/** Position in the buffer of the start of the current line */
+	private int lineStart;
+	/** Position in the buffer of the first byte of the trimmed line */
+	private int trimStart;
+	/** Position in the buffer just past the last byte of the trimmed line */
+	private int trimEnd;
+	/** Position in the buffer of the first byte of the record data */
+	private int dataStart;
+	/** Position in the buffer just past the last byte of the record data */
+	private int dataEnd;
+	/** Position in the buffer of the first byte of each field */
+	private int[] fieldStarts;
+	/** Position in the buffer just past the last byte of each field */
+	private int[] fieldEnds;
+	/** Number of fields in the current record */
+	private int fieldCount;
+	/** Bytes copied out of a buffer that has no backing array, for decoding */
+	private byte[] scratch;
+	/** A reusable view of a range of the buffer as characters */
+	private final Slice slice;
+	/** The table repeated text is shared through, or null to share nothing */
+	private StringTable strings;
+
+	/**
+	 * Constructs a PackDoptionTokenizer.
+	 *
+	 * @param channel    the channel to read from
+	 * @param bufferSize the initial size of the buffer in bytes, which grows to
+	 *                   hold the longest line
+	 * @throws IllegalArgumentException if bufferSize is not positive
+	 */
+	PackDoptionTokenizer(ReadableByteChannel channel, int bufferSize) {
+		this(channel, null, 0, bufferSize);
+		this.buffer = ByteBuffer.allocate(bufferSize);
+		this.buffer.limit(0);
+	}
+
+	/**
+	 * Constructs a PackDoptionTokenizer over bytes that are already in memory,
+	 * such as one rescue's part of a file.
+	 *
+	 * @param bytes  the bytes to read, from position 0 to the limit
+	 * @param offset the position in the file of the first byte
+	 */
+	PackDoptionTokenizer(ByteBuffer bytes, long offset) {
+		this(null, null, 0, 1);
+		this.buffer = bytes;
+		this.bufferOffset = offset;
+		this.endOfInput = true;
+	}
+
+	/**
+	 * Constructs a PackDoptionTokenizer.
+	 *
+	 * @param channel    the channel to read from, or null if there is none
+	 * @param mappedFile the file to map windows from, or null to read the channel
+	 * @param mappedSize the size of the mapped file in bytes
+	 * @param size       the buffer size or window size in bytes
+	 * @throws IllegalArgumentException if size is not positive
+	 */
+	private PackDoptionTokenizer(ReadableByteChannel channel, FileChannel mappedFile, long mappedSize, int size) {
+		if (size <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.channel = channel;
+		this.mappedFile = mappedFile;
+		this.mappedSize = mappedSize;
+		this.windowSize = size;
+		this.buffer = ByteBuffer.allocate(0);
+		this.endOfInput = mappedFile != null && mappedSize == 0;
+		this.fieldStarts = new int[INITIAL_FIELDS];
+		this.fieldEnds = new int[INITIAL_FIELDS];
+		this.scratch = new byte[0];
+		this.slice = new Slice();
+	}
+
+	/**
+	 * Returns a tokenizer that parses a file directly from windows of it mapped
+	 * into memory.
+	 *
+	 * @param file       the file to read
+	 * @param windowSize the number of bytes to map at a time, which grows to hold
+	 *                   the longest line
+	 * @return the tokenizer
+	 * @throws IOException              if the size of the file cannot be read
+	 * @throws IllegalArgumentException if windowSize is not positive
+	 */
+	static PackDoptionTokenizer map(FileChannel file, int windowSize) throws IOException {
+		return new PackDoptionTokenizer(file, file, file.size(), windowSize);
+	}
+
+	/**
+	 * Moves to the next line.
+	 *
+	 * @return false if there are no more lines
+	 * @throws IOException if the channel cannot be read
+	 */
+	boolean nextLine() throws IOException {
+		int terminator;
+		while ((terminator = findTerminator()) < 0) {
+			if (endOfInput) {
+				if (next == buffer.limit()) {
+					return false;
+				}
+				terminator = buffer.limit();
+				break;
+			}
+			fill();
+		}
+
+		lineStart = next;
+		next = terminator;
+		if (next < buffer.limit() && buffer.get(next++) == '\r' && next < buffer.limit() && buffer.get(next) == '\n') {
+			next++;
+		}
+
+		trimStart = lineStart;
+		trimEnd = terminator;
+		while (trimStart < trimEnd && isSpace(buffer.get(trimStart))) {
+			trimStart++;
+		}
+		while (trimEnd > trimStart && isSpace(buffer.get(trimEnd - 1))) {
+			trimEnd--;
+		}
+		fieldCount = 0;
+		return true;
+	}
+
+	/**
+	 * Returns the position in the file of the first byte of the current line.
+	 *
+	 * @return the offset of the current line
+	 */
+	long lineOffset() {
+		return bufferOffset + lineStart;
+	}
+
+	/**
+	 * Returns the position in the file of a position in the buffer.
+	 *
+	 * @param position the position in the buffer
+	 * @return the offset of the position in the file
+	 */
+	long offset(int position) {
+		return bufferOffset + position;
+	}
+
+	/**
+	 * Returns true if the current line is empty once trimmed.
+	 *
+	 * @return true if the current line is blank
+	 */
+	boolean isBlank() {
+		return trimStart == trimEnd;
+	}
+
+	/**
+	 * Returns the first character of the trimmed line, which says what kind of
+	 * record the line holds.
+	 *
+	 * @return the first character of the line
+	 */
+	char indicator() {
+		return (char) (buffer.get(trimStart) & 0xFF);
+	}
+
+	/**
+	 * Finds the data of the record on the current line and splits it into fields.
+	 *
+	 * @throws IllegalArgumentException if the line is too short to have data
+	 */
+	void split() {
+		if (trimEnd - trimStart < 2) {
+			throw new IllegalArgumentException(LOAD_ERROR);
+		}
+		dataStart = trimStart + 2;
+		dataEnd = trimEnd;
+		while (dataStart < dataEnd && (buffer.get(dataStart) & 0xC0) == 0x80) {
+			dataStart++;
+		}
+		while (dataStart < dataEnd && isSpace(buffer.get(dataStart))) {
+			dataStart++;
+		}
+
+		fieldCount = 0;
+		int start = dataStart;
+		for (int i = dataStart; i < dataEnd; i++) {
+			if (buffer.get(i) == ',') {
+				addField(start, i);
+				start = i + 1;
+			}
+		}
+		addField(start, dataEnd);
+
+		if (fieldCount > 1) {
+			while (fieldCount > 0 && fieldStarts[fieldCount - 1] == fieldEnds[fieldCount - 1]) {
+				fieldCount--;
+			}
+		}
+	}
+
+	/**
+	 * Returns the data of the record on the current line.
+	 *
+	 * @return the record data
+	 */
+	String data() {
+		return decode(dataStart, dataEnd);
+	}
+
+	/**
+	 * Returns the number of fields in the current record.
+	 *
+	 * @return the number of fields
+	 */
+	int fieldCount() {
+		return fieldCount;
+	}
+
+	/**
+	 * Returns a field of the current record.
+	 *
+	 * @param index the index of the field
+	 * @return the field
+	 * @throws IllegalArgumentException if the record has no such field
+	 */
+	String field(int index) {
+		checkField(index);
+		return decode(fieldStarts[index], fieldEnds[index]);
+	}
+
+	/**
+	 * Returns a field of the current record as a view of the buffer. The view is
+	 * shared and only valid until the next call that returns a view.
+	 *
+	 * @param index the index of the field
+	 * @return the field as characters, one per byte
+	 * @throws IllegalArgumentException if the record has no such field
+	 */
+	CharSequence chars(int index) {
+		checkField(index);
+		return chars(fieldStarts[index], fieldEnds[index]);
+	}
+
+	/**
+	 * Returns a range of the buffer as a view of characters, one per byte. The
+	 * view is shared and only valid until the next call that returns a view.
+	 *
+	 * @param start the position of the first byte
+	 * @param end   the position just past the last byte
+	 * @return the range as characters
+	 */
+	CharSequence chars(int start, int end) {
+		slice.start = start;
+		slice.end = end;
+		return slice;
+	}
+
+	/**
+	 * Returns a range of the buffer decoded as a String.
+	 *
+	 * @param start the position of the first byte
+	 * @param end   the position just past the last byte
+	 * @return the decoded range
+	 */
+	String string(int start, int end) {
+		return decode(start, end);
+	}
+
+	/**
+	 * Returns true if a range of the buffer has a byte that is not whitespace.
+	 *
+	 * @param start the position of the first byte
+	 * @param end   the position just past the last byte
+	 * @return true if the range is not blank
+	 */
+	boolean hasText(int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (!isSpace(buffer.get(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the position of the first byte of a range that is not whitespace.
+	 *
+	 * @param start the position of the first byte
+	 * @param end   the position just past the last byte
+	 * @return the start of the range trimmed as String.trim trims it
+	 */
+	int textStart(int start, int end) {
+		while (start < end && isSpace(buffer.get(start))) {
+			start++;
+		}
+		return start;
+	}
+
+	/**
+	 * Returns the position just past the last byte of a range that is not
+	 * whitespace.
+	 *
+	 * @param start the position of the first byte
+	 * @param end   the position just past the last byte
+	 * @return the end of the range trimmed as String.trim trims it
+	 */
+	int textEnd(int start, int end) {
+		while (end > start && isSpace(buffer.get(end - 1))) {
+			end--;
+		}
+		return end;
+	}
+
+	/**
+	 * Returns true if two ranges of the buffer hold the same bytes.
+	 *
+	 * @param start      the position of the first byte of one range
+	 * @param end        the position just past the last byte of one range
+	 * @param otherStart the position of the first byte of the other range
+	 * @param otherEnd   the position just past the last byte of the other range
+	 * @return true if the ranges are equal
+	 */
+	boolean rangesEqual(int start, int end, int otherStart, int otherEnd) {
+		return end - start == otherEnd - otherStart
+				&& buffer.slice(start, end - start).equals(buffer.slice(otherStart, otherEnd - otherStart));
+	}
+
+	/**
+	 * Returns the CRC-32 checksum of a range of the buffer.
+	 *
+	 * @param start the position of the first byte
+	 * @param end   the position just past the last byte
+	 * @return the checksum of the range
+	 */
+	int checksum(int start, int end) {
+		CRC32 crc = new CRC32();
+		crc.update(buffer.slice(start, end - start));
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * Sets the table that text returned by internField and internString is
+	 * shared through.
+	 *
+	 * @param strings the table, or null to decode every String separately
+	 */
+	void setStringTable(StringTable strings) {
+		this.strings = strings;
+	}
+
+	/**
+	 * Returns a field of the current record, shared with every equal field looked
+	 * up through the string table.
+	 *
+	 * @param index the index of the field
+	 * @return the field
+	 * @throws IllegalArgumentException if the record has no such field
+	 */
+	String internField(int index) {
+		checkField(index);
+		return internString(fieldStarts[index], fieldEnds[index]);
+	}
+
+	/**
+	 * Returns a range of the buffer decoded as a String, shared with every equal
+	 * range looked up through the string table.
+	 *
+	 * @param start the position of the first byte
+	 * @param end   the position just past the last byte
+	 * @return the decoded range
+	 */
+	String internString(int start, int end) {
+		return strings != null ? strings.intern(buffer, start, end) : decode(start, end);
+	}
+
+	/**
+	 * Trims the whitespace from both ends of a field of the current record.
+	 *
+	 * @param index the index of the field
+	 * @throws IllegalArgumentException if the record has no such field
+	 */
+	void trimField(int index) {
+		checkField(index);
+		while (fieldStarts[index] < fieldEnds[index] && isSpace(buffer.get(fieldStarts[index]))) {
+			fieldStarts[index]++;
+		}
+		while (fieldEnds[index] > fieldStarts[index] && isSpace(buffer.get(fieldEnds[index] - 1))) {
+			fieldEnds[index]--;
+		}
+	}
+
+	/**
+	 * Returns the position in the buffer of the first byte of a field.
+	 *
+	 * @param index the index of the field
+	 * @return the start of the field
+	 * @throws IllegalArgumentException if the record has no such field
+	 */
+	int fieldStart(int index) {
+		checkField(index);
+		return fieldStarts[index];
+	}
+
+	/**
+	 * Returns the position in the buffer just past the last byte of a field.
+	 *
+	 * @param index the index of the field
+	 * @return the end of the field
+	 * @throws IllegalArgumentException if the record has no such field
+	 */
+	int fieldEnd(int index) {
+		checkField(index);
+		return fieldEnds[index];
+	}
+
+	/**
+	 * Returns the position in the buffer of the first occurrence of a character in
+	 * a field.
+	 *
+	 * @param index the index of the field
+	 * @param c     the ASCII character to look for
+	 * @return the position of the character, or -1 if the field does not have it
+	 * @throws IllegalArgumentException if the record has no such field
+	 */
+	int indexOf(int index, char c) {
+		checkField(index);
+		for (int i = fieldStarts[index]; i < fieldEnds[index]; i++) {
+			if (buffer.get(i) == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns true if a field of the current record is the given ASCII text.
+	 *
+	 * @param index      the index of the field
+	 * @param text       the text to compare to
+	 * @param ignoreCase whether to ignore the case of ASCII letters
+	 * @return true if the field matches the text
+	 * @throws IllegalArgumentException if the record has no such field
+	 */
+	boolean fieldEquals(int index, String text, boolean ignoreCase) {
+		checkField(index);
+		int start = fieldStarts[index];
+		if (fieldEnds[index] - start != text.length()) {
+			return false;
+		}
+		for (int i = 0; i < text.length(); i++) {
+			char c = (char) (buffer.get(start + i) & 0xFF);
+			char t = text.charAt(i);
+			if (c != t && (!ignoreCase || toUpper(c) != toUpper(t))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the constant whose name is a field of the current record.
+	 *
+	 * @param <E>        the enumeration type
+	 * @param index      the index of the field
+	 * @param values     the constants of the enumeration
+	 * @param ignoreCase whether to ignore the case of ASCII letters
+	 * @return the matching constant, or null if there is none
+	 * @throws IllegalArgumentException if the record has no such field
+	 */
+	<E extends Enum<E>> E fieldEnum(int index, E[] values, boolean ignoreCase) {
+		for (E value : values) {
+			if (fieldEquals(index, value.name(), ignoreCase)) {
+				return value;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Closes the channel, if there is one.
+	 *
+	 * @throws IOException if the channel cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		if (channel != null) {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Returns the position of the end of the next line, or -1 if the buffer does
+	 * not yet hold all of it.
+	 *
+	 * @return the position of the line terminator, or -1
+	 */
+	private int findTerminator() {
+		int limit = buffer.limit();
+		for (int i = next; i < limit; i++) {
+			byte b = buffer.get(i);
+			if (b == '\n') {
+				return i;
+			}
+			if (b == '\r') {
+				return i + 1 < limit || endOfInput ? i : -1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Moves the unread bytes to the front of the buffer and reads more after them,
+	 * doubling the buffer if it is already full.
+	 *
+	 * @throws IOException if the channel cannot be read
+	 */
+	private void fill() throws IOException {
+		if (mappedFile != null) {
+			remap();
+			return;
+		}
+
+		buffer.position(next);
+		buffer.compact();
+		bufferOffset += next;
+		next = 0;
+		if (!buffer.hasRemaining()) {
+			ByteBuffer bigger = ByteBuffer.allocate(buffer.capacity() * 2);
+			buffer.flip();
+			bigger.put(buffer);
+			buffer = bigger;
+		}
+
+		int read;
+		do {
+			read = channel.read(buffer);
+		} while (read == 0);
+		if (read < 0) {
+			endOfInput = true;
+		}
+		buffer.flip();
+	}
+
+	/**
+	 * Maps the window of the file that starts at the unread bytes, doubling the
+	 * window size if the last window held only part of one line.
+	 *
+	 * @throws IOException if the file cannot be mapped
+	 */
+	private void remap() throws IOException {
+		if (next == 0 && buffer.limit() > 0) {
+			windowSize = (int) Math.min(2L * windowSize, Integer.MAX_VALUE);
+		}
+		long start = bufferOffset + next;
+		int length = (int) Math.min(windowSize, mappedSize - start);
+
+		buffer = mappedFile.map(MapMode.READ_ONLY, start, length);
+		bufferOffset = start;
+		next = 0;
+		endOfInput = start + length >= mappedSize;
+	}
+
+	/**
+	 * Decodes a range of the buffer as UTF-8.
+	 *
+	 * @param start the position of the first byte
+	 * @param end   the position just past the last byte
+	 * @return the decoded range
+	 */
+	private String decode(int start, int end) {
+		if (buffer.hasArray()) {
+			return new String(buffer.array(), buffer.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+		}
+		if (scratch.length < end - start) {
+			scratch = new byte[Math.max(end - start, scratch.length * 2)];
+		}
+		buffer.get(start, scratch, 0, end - start);
+		return new String(scratch, 0, end - start, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Records a field of the current record, growing the field arrays if needed.
+	 *
+	 * @param start the position of the first byte of the field
+	 * @param end   the position just past the last byte of the field
+	 */
+	private void addField(int start, int end) {
+		if (fieldCount == fieldStarts.length) {
+			fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+			fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+		}
+		fieldStarts[fieldCount] = start;
+		fieldEnds[fieldCount] = end;
+		fieldCount++;
+	}
+
+	/**
+	 * Checks that the current record has a field.
+	 *
+	 * @param index the index of the field
+	 * @throws IllegalArgumentException if the record has no such field
+	 */
+	private void checkField(int index) {
+		if (index < 0 || index >= fieldCount) {
+			throw new IllegalArgumentException(LOAD_ERROR);
+		}
+	}
+
+	/**
+	 * Returns true if a byte is whitespace as String.trim sees it.
+	 *
+	 * @param b the byte
+	 * @return true if the byte is an ASCII control character or space
+	 */
+	private static boolean isSpace(byte b) {
+		return (b & 0xFF) <= ' ';
+	}
+
+	/**
+	 * Returns the upper case of an ASCII letter.
+	 *
+	 * @param c the character
+	 * @return the upper case letter, or c if it is not a lower case ASCII letter
+	 */
+	private static char toUpper(char c) {
+		return c >= 'a' && c <= 'z' ? (char) (c - 'a' + 'A') : c;
+	}
+
+	/**
+	 * A view of a range of the buffer as characters, one per byte, so that dates
+	 * can be parsed without copying them out of the buffer.
+	 */
+	private final class Slice implements CharSequence {
+
+		/** Position in the buffer of the first byte */
+		private int start;
+		/** Position in the buffer just past the last byte */
+		private int end;
+
+		@Override
+		public int length() {
+			return end - start;
+		}
+
+		@Override
+		public char charAt(int index) {
+			return (char) (buffer.get(start + index) & 0xFF);
+		}
+
+		@Override
+		public CharSequence subSequence(int from, int to) {
+			return decode(start + from, start + to);
+		}
+
+		@Override
+		public String toString() {
+			return decode(start, end);
+		}
+	}
+}
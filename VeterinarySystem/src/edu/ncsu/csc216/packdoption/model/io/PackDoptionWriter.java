@@ -1,151 +1,625 @@
 package edu.ncsu.csc216.packdoption.model.io;
 
-import java.io.FileNotFoundException;
-import java.io.PrintStream;
-import java.io.File;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 import edu.ncsu.csc216.packdoption.model.animals.Animal;
 import edu.ncsu.csc216.packdoption.model.animals.Cat;
 import edu.ncsu.csc216.packdoption.model.animals.Dog;
+import edu.ncsu.csc216.packdoption.model.io.RescueSegments.Segment;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler.Urgency;
 import edu.ncsu.csc216.packdoption.model.rescue.Rescue;
 import edu.ncsu.csc216.packdoption.model.rescue.RescueList;
-import edu.ncsu.csc216.packdoption.util.ArrayListQueue;
+import edu.ncsu.csc216.packdoption.util.Date;
+import edu.ncsu.csc216.packdoption.util.Note;
+import edu.ncsu.csc216.packdoption.util.SimpleListIterator;
 
 /**
- * A class for writing PackDoption files.
- * 
+ * A class for writing PackDoption files. Records are written field by field
+ * into a large buffer, with dates and numbers written a character at a time,
+ * so writing a file builds no intermediate Strings. Notes, animals, and
+ * appointments are walked with iterators and are not changed.
+ *
+ * A file is never written in place. The records go to a temporary file next to
+ * it, which is forced to disk and then moved over the original in one step, so
+ * a crash during a save leaves either the old file or the new one. The writer
+ * can also keep a number of earlier versions of the file as backups. Given the
+ * RescueSegments of the file, rescues that have not changed are copied from it
+ * byte for byte, so a save after a small change writes little more than the
+ * changed rescues. The same steps save a list as a PackDoptionSnapshot.
+ *
  * @author Michael Pacheco
  * @author Dania Swelam
  */
 public class PackDoptionWriter {
 
+	/** The size of the write buffer in characters */
+	private static final int BUFFER_SIZE = 256 * 1024;
+	/** Message of the exception thrown for a file that cannot be written */
+	private static final String SAVE_ERROR = "Unable to save file.";
+
+	/** The number of earlier versions of a file kept as backups */
+	private int backupCount;
+
 	/**
-	 * Contructs a PackDoptionWriter.
+	 * Contructs a PackDoptionWriter that keeps no backups.
 	 */
 	public PackDoptionWriter() {
-		// Implement
+		backupCount = 0;
+	}
+
+	/**
+	 * Returns the number of earlier versions of a file kept as backups.
+	 *
+	 * @return the backup count
+	 */
+	public int getBackupCount() {
+		return backupCount;
+	}
+
+	/**
+	 * Sets the number of earlier versions of a file kept as backups. Saving over
+	 * file keeps its previous version as file.1, the one before as file.2, and so
+	 * on up to the backup count.
+	 *
+	 * @param backupCount the backup count, where 0 keeps no backups
+	 * @throws IllegalArgumentException if backupCount is negative
+	 */
+	public void setBackupCount(int backupCount) {
+		if (backupCount < 0) {
+			throw new IllegalArgumentException("Invalid backup count");
+		}
+		this.backupCount = backupCount;
 	}
 
 	/**
 	 * Writes the pack adoption data to the specified file.
-	 * 
+	 *
 	 * @param filename the file to write to
 	 * @param list     the RescueList to write
 	 * @throws IllegalArgumentException if there is an error while processing the
 	 *                                  file with the message “Unable to save file.”
 	 */
 	public static void writeRescueFile(String filename, RescueList list) throws IllegalArgumentException {
-		try (PrintStream fileWriter = new PrintStream(new File(filename))) {
-			for (int i = 0; i < list.size(); i++) {
-				if (i > 0) {
-					fileWriter.println();
+		new PackDoptionWriter().writeRescueList(filename, list);
+	}
+
+	/**
+	 * Writes the pack adoption data to the specified file using this writer's
+	 * settings. The file is replaced only once all of the data is on disk.
+	 *
+	 * @param filename the file to write to
+	 * @param list     the RescueList to write
+	 * @throws IllegalArgumentException if there is an error while processing the
+	 *                                  file with the message “Unable to save file.”
+	 */
+	public void writeRescueList(String filename, RescueList list) {
+		writeRescueList(filename, list, null);
+	}
+
+	/**
+	 * Writes the pack adoption data to the specified file using this writer's
+	 * settings. Rescues that have not changed since the segments were indexed are
+	 * copied from the indexed file rather than written again, and the segments
+	 * then index the new file. The file is replaced only once all of the data is
+	 * on disk.
+	 *
+	 * @param filename the file to write to
+	 * @param list     the RescueList to write
+	 * @param segments where the rescues lie in the file they were last read from
+	 *                 or written to, or null to write every rescue
+	 * @throws IllegalArgumentException if there is an error while processing the
+	 *                                  file with the message “Unable to save file.”
+	 */
+	public void writeRescueList(String filename, RescueList list, RescueSegments segments) {
+		Segment[] written = new Segment[list.size()];
+		Path target = save(filename, channel -> {
+			if (segments == null) {
+				Writer out = new BufferedWriter(
+						new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8),
+						BUFFER_SIZE);
+				writeRescueList(out, list);
+				out.flush();
+			} else {
+				writeSegments(channel, list, segments, written);
+			}
+		});
+
+		if (segments != null) {
+			try {
+				segments.reset(target);
+				for (int i = 0; i < written.length; i++) {
+					segments.add(list.getRescue(i), written[i]);
 				}
+			} catch (IOException e) {
+				// The file was saved, but the next save writes every rescue
+				segments.clear();
+			}
+		}
+	}
+
+	/**
+	 * Writes the pack adoption data to the specified file as a binary
+	 * PackDoptionSnapshot using this writer's settings. The file is replaced only
+	 * once all of the data is on disk.
+	 *
+	 * @param filename the file to write to
+	 * @param list     the RescueList to write
+	 * @throws IllegalArgumentException if there is an error while processing the
+	 *                                  file with the message “Unable to save file.”
+	 */
+	public void writeSnapshot(String filename, RescueList list) {
+		save(filename, channel -> {
+			BufferedOutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+			PackDoptionSnapshot.write(out, list);
+			out.flush();
+		});
+	}
+
+	/**
+	 * Writes the contents of a file to a temporary file next to it, forces them
+	 * to disk, keeps backups of the file, and moves the temporary file over it.
+	 *
+	 * @param filename the file to write to
+	 * @param contents writes the contents of the file
+	 * @return the absolute path of the file written
+	 * @throws IllegalArgumentException if there is an error while processing the
+	 *                                  file with the message “Unable to save file.”
+	 */
+	private Path save(String filename, Contents contents) {
+		Path target;
+		Path temp;
+		try {
+			target = Path.of(filename).toAbsolutePath();
+			temp = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+		} catch (IOException | RuntimeException e) {
+			throw new IllegalArgumentException(SAVE_ERROR);
+		}
+
+		try {
+			if (Files.isRegularFile(target)) {
+				copyPermissions(target, temp);
+			}
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING)) {
+				contents.writeTo(channel);
+				channel.force(true);
+			}
+			if (backupCount > 0 && Files.isRegularFile(target)) {
+				rotateBackups(target);
+			}
+			replace(temp, target);
+		} catch (IOException | RuntimeException e) {
+			// Contents may also fail unchecked, such as lazy notes that cannot be loaded
+			try {
+				Files.deleteIfExists(temp);
+			} catch (IOException ignored) {
+				// The save has already failed
+			}
+			throw new IllegalArgumentException(SAVE_ERROR);
+		}
+		return target;
+	}
+
+	/**
+	 * Writes the contents of a file being saved.
+	 */
+	private interface Contents {
+
+		/**
+		 * Writes the contents to the channel of the temporary file.
+		 *
+		 * @param channel the channel to write to
+		 * @throws IOException if the channel cannot be written to
+		 */
+		void writeTo(FileChannel channel) throws IOException;
+	}
+
+	/**
+	 * Writes each rescue to the channel, copying the segments of unchanged
+	 * rescues from the indexed file when it has not changed since it was indexed.
+	 *
+	 * @param channel  the channel of the new file
+	 * @param list     the RescueList to write
+	 * @param segments where the rescues lie in the indexed file
+	 * @param written  filled with where each rescue in the list lies in the new
+	 *                 file
+	 * @throws IOException if a file cannot be read or written
+	 */
+	private static void writeSegments(FileChannel channel, RescueList list, RescueSegments segments,
+			Segment[] written) throws IOException {
+		ChannelOutput bytes = new ChannelOutput(channel);
+		Writer out = new BufferedWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+		try (FileChannel source = segments.isCurrent() ? FileChannel.open(segments.getFile()) : null) {
+			for (int i = 0; i < written.length; i++) {
 				Rescue rescue = list.getRescue(i);
-				fileWriter.println("# " + rescue.getName());
-
-				// Write animals
-				for (int j = 0; j < rescue.numAnimals(); j++) {
-					Animal animal = rescue.getAnimal(j);
-					String animalString = "* " + animalString(animal);
-
-					if (j < rescue.numAnimals() - 1) {
-						fileWriter.println(animalString);
-					} else {
-						fileWriter.print(animalString);
-					}
+				long version = rescue.getVersion();
+				Segment segment = source != null ? segments.unchanged(rescue) : null;
+				long start = bytes.position();
+				if (segment != null && endsWithBlankLine(source, segment)) {
+					bytes.drain();
+					copy(source, segment, channel);
+				} else {
+					writeRescue(out, rescue);
+					newLine(out);
+					out.flush();
 				}
+				written[i] = new Segment(start, bytes.position(), version);
+			}
+		}
+		bytes.drain();
+	}
 
-				// Write appointments
-				ArrayListQueue<Animal> appointments = rescue.getAppointments();
-				int size = appointments.size();
-				fileWriter.println();
-				for (int j = 0; j < size; j++) {
-					Animal queueElement = appointments.element();
-					String appointmentString = "- " + queueElement.getName() + ","
-							+ queueElement.getBirthday().toString();
-
-					if (j < size - 1) {
-						fileWriter.println(appointmentString);
-					} else {
-						fileWriter.print(appointmentString);
-					}
-					appointments.add(appointments.remove());
-				}
+	/**
+	 * Returns whether a segment ends with a blank line, which the next rescue
+	 * line needs in front of it. Only the last segment of a file may not.
+	 *
+	 * @param source  the indexed file
+	 * @param segment the segment
+	 * @return true if the segment can be copied as it is
+	 * @throws IOException if the file cannot be read
+	 */
+	private static boolean endsWithBlankLine(FileChannel source, Segment segment) throws IOException {
+		int length = (int) Math.min(4, segment.end - segment.start);
+		ByteBuffer tail = ByteBuffer.allocate(length);
+		while (tail.hasRemaining()) {
+			if (source.read(tail, segment.end - tail.remaining()) < 0) {
+				return false;
+			}
+		}
+
+		int last = length - 1;
+		if (last < 0 || tail.get(last) != '\n' && tail.get(last) != '\r') {
+			return false;
+		}
+		if (tail.get(last) == '\n' && last > 0 && tail.get(last - 1) == '\r') {
+			last--;
+		}
+		return last > 0 && (tail.get(last - 1) == '\n' || tail.get(last - 1) == '\r');
+	}
+
+	/**
+	 * Copies a segment of the indexed file to the end of the new file.
+	 *
+	 * @param source  the indexed file
+	 * @param segment the segment to copy
+	 * @param target  the channel of the new file
+	 * @throws IOException if a file cannot be read or written
+	 */
+	private static void copy(FileChannel source, Segment segment, FileChannel target) throws IOException {
+		long position = segment.start;
+		while (position < segment.end) {
+			long copied = source.transferTo(position, segment.end - position, target);
+			if (copied <= 0) {
+				throw new EOFException();
+			}
+			position += copied;
+		}
+	}
+
+	/**
+	 * Gives the temporary file the permissions of the file it replaces, since a
+	 * temporary file is only readable by its owner.
+	 *
+	 * @param target the file about to be replaced
+	 * @param temp   the temporary file
+	 * @throws IOException if the permissions cannot be read or set
+	 */
+	private static void copyPermissions(Path target, Path temp) throws IOException {
+		try {
+			Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(target));
+		} catch (UnsupportedOperationException e) {
+			// The file system has no POSIX permissions
+		}
+	}
 
-				fileWriter.println();
+	/**
+	 * Shifts each backup of a file up by one, dropping the oldest, and keeps the
+	 * file as its first backup. The file itself is linked rather than moved so it
+	 * is never missing.
+	 *
+	 * @param target the file about to be replaced
+	 * @throws IOException if a backup cannot be made
+	 */
+	private void rotateBackups(Path target) throws IOException {
+		for (int i = backupCount - 1; i >= 1; i--) {
+			Path backup = backup(target, i);
+			if (Files.exists(backup)) {
+				Files.move(backup, backup(target, i + 1), StandardCopyOption.REPLACE_EXISTING);
 			}
-			if (list.size() > 0) {
-				fileWriter.println();
+		}
+
+		Path first = backup(target, 1);
+		Files.deleteIfExists(first);
+		try {
+			Files.createLink(first, target);
+		} catch (UnsupportedOperationException | FileSystemException e) {
+			Files.copy(target, first, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Returns the path of a backup of a file.
+	 *
+	 * @param target the file
+	 * @param number the number of the backup, where 1 is the newest
+	 * @return the path of the backup
+	 */
+	private static Path backup(Path target, int number) {
+		return target.resolveSibling(target.getFileName() + "." + number);
+	}
+
+	/**
+	 * Moves a fully written temporary file over the target file, atomically where
+	 * the file system allows it, and forces the directory entry to disk.
+	 *
+	 * @param temp   the temporary file
+	 * @param target the file to replace
+	 * @throws IOException if the file cannot be moved
+	 */
+	private static void replace(Path temp, Path target) throws IOException {
+		try {
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		try (FileChannel directory = FileChannel.open(target.getParent(), StandardOpenOption.READ)) {
+			directory.force(true);
+		} catch (IOException e) {
+			// Not every platform can open or force a directory
+		}
+	}
+
+	/**
+	 * Writes the pack adoption data to a Writer in the PackDoption file format.
+	 * The writer is not buffered, flushed, or closed by this method.
+	 *
+	 * @param out  the writer to write to
+	 * @param list the RescueList to write
+	 * @throws IOException if the writer cannot be written to
+	 */
+	public static void writeRescueList(Writer out, RescueList list) throws IOException {
+		for (int i = 0; i < list.size(); i++) {
+			if (i > 0) {
+				newLine(out);
 			}
-		} catch (FileNotFoundException e) {
-			throw new IllegalArgumentException("Unable to save file.");
+			writeRescue(out, list.getRescue(i));
+		}
+		if (list.size() > 0) {
+			newLine(out);
 		}
 	}
 
 	/**
-	 * Converts an animal object to its string representation for the file.
-	 * 
-	 * @param animal the animal to convert
-	 * @return the string representation of the animal
+	 * Writes one rescue, its animals, and its appointments, ending with a line
+	 * separator.
+	 *
+	 * @param out    the writer to write to
+	 * @param rescue the rescue to write
+	 * @throws IOException if the writer cannot be written to
 	 */
-	private static String animalString(Animal animal) {
-		if (animal instanceof Cat) {
-			return catString((Cat) animal);
-		} else if (animal instanceof Dog) {
-			return dogString((Dog) animal);
+	private static void writeRescue(Writer out, Rescue rescue) throws IOException {
+		out.write("# ");
+		out.write(rescue.getName());
+		newLine(out);
+
+		// Write animals
+		SimpleListIterator<Animal> animals = rescue.animalIterator();
+		while (animals.hasNext()) {
+			out.write("* ");
+			writeAnimal(out, animals.next());
+			if (animals.hasNext()) {
+				newLine(out);
+			}
+		}
+		newLine(out);
+
+		// Write appointments
+		AppointmentScheduler appointments = rescue.getAppointments();
+		boolean first = true;
+		for (Animal animal : appointments) {
+			if (!first) {
+				newLine(out);
+			}
+			first = false;
+			out.write("- ");
+			out.write(animal.getName());
+			out.write(',');
+			writeDate(out, animal.getBirthday());
+			Urgency urgency = appointments.getUrgency(animal);
+			if (urgency != Urgency.ROUTINE) {
+				out.write(',');
+				out.write(urgency.name());
+			}
 		}
-		return "";
+		newLine(out);
 	}
 
 	/**
-	 * Converts a cat object to its string representation for the file.
-	 * 
-	 * @param cat the cat to convert
-	 * @return the string representation of the cat
+	 * Writes the fields of an animal record.
+	 *
+	 * @param out    the writer to write to
+	 * @param animal the animal to write
+	 * @throws IOException if the writer cannot be written to
 	 */
-	private static String catString(Cat cat) {
-		StringBuilder animalString = new StringBuilder();
-		if (!cat.adopted()) {
-			animalString.append("Cat,").append(cat.getName()).append(",").append(cat.getBirthday().toString())
-					.append(",").append(cat.getSize().toString()).append(",").append(cat.isHouseTrained()).append(",")
-					.append(cat.isGoodWithKids()).append(",").append(cat.getDateEnterRescue().toString())
-					.append(",NOTES");
+	private static void writeAnimal(Writer out, Animal animal) throws IOException {
+		if (animal instanceof Cat) {
+			out.write("Cat,");
+		} else if (animal instanceof Dog) {
+			out.write("Dog,");
 		} else {
-			animalString.append("Cat,").append(cat.getName()).append(",").append(cat.getBirthday().toString())
-					.append(",").append(cat.getSize().toString()).append(",").append(cat.isHouseTrained()).append(",")
-					.append(cat.isGoodWithKids()).append(",").append(cat.getDateEnterRescue().toString()).append(",")
-					.append(cat.adopted()).append(",").append(cat.getDateAdopted().toString()).append(",")
-					.append(cat.getOwner()).append(",NOTES");
+			return;
+		}
+		out.write(animal.getName());
+		out.write(',');
+		writeDate(out, animal.getBirthday());
+		out.write(',');
+		out.write(animal.getSize().name());
+		out.write(',');
+		writeBoolean(out, animal.isHouseTrained());
+		out.write(',');
+		writeBoolean(out, animal.isGoodWithKids());
+		out.write(',');
+		writeDate(out, animal.getDateEnterRescue());
+		if (animal.adopted()) {
+			out.write(",true,");
+			writeDate(out, animal.getDateAdopted());
+			out.write(',');
+			out.write(animal.getOwner());
 		}
-		for (int i = 0; i < cat.getNotes().size(); i++) {
-			animalString.append(",").append(cat.getNotes().get(i).toString());
+		if (animal instanceof Dog) {
+			out.write(',');
+			out.write(((Dog) animal).getBreed().name());
+		}
+		out.write(",NOTES");
+
+		SimpleListIterator<Note> notes = animal.getNotes().iterator();
+		while (notes.hasNext()) {
+			Note note = notes.next();
+			out.write(',');
+			writeDate(out, note.getDate());
+			out.write(' ');
+			out.write(note.getMessage());
 		}
-		return animalString.toString();
 	}
 
 	/**
-	 * Converts a dog object to its string representation for the file.
-	 * 
-	 * @param dog the dog to convert
-	 * @return the string representation of the dog
+	 * Writes a date in the format M/D/YYYY.
+	 *
+	 * @param out  the writer to write to
+	 * @param date the date to write
+	 * @throws IOException if the writer cannot be written to
 	 */
-	private static String dogString(Dog dog) {
-		StringBuilder animalString = new StringBuilder();
-		if (!dog.adopted()) {
-			animalString.append("Dog,").append(dog.getName()).append(",").append(dog.getBirthday().toString())
-					.append(",").append(dog.getSize().toString()).append(",").append(dog.isHouseTrained()).append(",")
-					.append(dog.isGoodWithKids()).append(",").append(dog.getDateEnterRescue().toString()).append(",")
-					.append(dog.getBreed().toString()).append(",NOTES");
-		} else {
-			animalString.append("Dog,").append(dog.getName()).append(",").append(dog.getBirthday().toString())
-					.append(",").append(dog.getSize().toString()).append(",").append(dog.isHouseTrained()).append(",")
-					.append(dog.isGoodWithKids()).append(",").append(dog.getDateEnterRescue().toString()).append(",")
-					.append(dog.adopted()).append(",").append(dog.getDateAdopted().toString()).append(",")
-					.append(dog.getOwner()).append(",").append(dog.getBreed().toString()).append(",NOTES");
+	private static void writeDate(Writer out, Date date) throws IOException {
+		writeNumber(out, date.getMonth());
+		out.write('/');
+		writeNumber(out, date.getDay());
+		out.write('/');
+		writeNumber(out, date.getYear());
+	}
+
+	/**
+	 * Writes the digits of a non-negative number.
+	 *
+	 * @param out    the writer to write to
+	 * @param number the number to write
+	 * @throws IOException if the writer cannot be written to
+	 */
+	private static void writeNumber(Writer out, int number) throws IOException {
+		if (number >= 10) {
+			writeNumber(out, number / 10);
+		}
+		out.write('0' + number % 10);
+	}
+
+	/**
+	 * Writes a boolean as true or false.
+	 *
+	 * @param out   the writer to write to
+	 * @param value the value to write
+	 * @throws IOException if the writer cannot be written to
+	 */
+	private static void writeBoolean(Writer out, boolean value) throws IOException {
+		out.write(value ? "true" : "false");
+	}
+
+	/**
+	 * A buffered stream over the channel of the new file that knows how many bytes
+	 * have been written through it. Flushing the stream does nothing, so that
+	 * flushing a writer over it to learn its position does not write to the
+	 * channel; the buffer is written to the channel by drain or when it fills.
+	 */
+	private static final class ChannelOutput extends OutputStream {
+
+		/** The channel the bytes are written to */
+		private final FileChannel channel;
+		/** The bytes not yet written to the channel */
+		private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+		/**
+		 * Constructs a ChannelOutput over a channel.
+		 *
+		 * @param channel the channel to write to
+		 */
+		ChannelOutput(FileChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			if (!buffer.hasRemaining()) {
+				drain();
+			}
+			buffer.put((byte) b);
 		}
-		for (int i = 0; i < dog.getNotes().size(); i++) {
-			animalString.append(",").append(dog.getNotes().get(i).toString());
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			while (len > 0) {
+				if (!buffer.hasRemaining()) {
+					drain();
+				}
+				int count = Math.min(len, buffer.remaining());
+				buffer.put(b, off, count);
+				off += count;
+				len -= count;
+			}
+		}
+
+		@Override
+		public void flush() {
+			// Bytes reach the channel when drained
 		}
-		return animalString.toString();
+
+		/**
+		 * Returns the position in the file of the next byte written.
+		 *
+		 * @return the position
+		 * @throws IOException if the position of the channel cannot be read
+		 */
+		long position() throws IOException {
+			return channel.position() + buffer.position();
+		}
+
+		/**
+		 * Writes the buffered bytes to the channel.
+		 *
+		 * @throws IOException if the channel cannot be written to
+		 */
+		void drain() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+	}
+
+	/**
+	 * Writes the platform line separator, as PrintStream.println does.
+	 *
+	 * @param out the writer to write to
+	 * @throws IOException if the writer cannot be written to
+	 */
+	private static void newLine(Writer out) throws IOException {
+		out.write(System.lineSeparator());
 	}
-}
\ No newline at end of file
+}
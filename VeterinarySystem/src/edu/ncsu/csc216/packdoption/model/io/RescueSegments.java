@@ -0,0 +1,172 @@
+package edu.ncsu.csc216.packdoption.model.io;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import edu.ncsu.csc216.packdoption.model.rescue.Rescue;
+
+/**
+ * An index of where each rescue lies in the PackDoption file it was last read
+ * from or written to, along with the version the rescue had then. A
+ * PackDoptionReader fills the index as it reads a file and a PackDoptionWriter
+ * uses it to copy the bytes of unchanged rescues from that file instead of
+ * writing them again, then points it at the file it wrote.
+ *
+ * The index remembers the size and modification time of the file, and is not
+ * used once the file has been changed by anything else.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+public final class RescueSegments {
+
+	/** The file the segments are in, or null if nothing is indexed */
+	private Path file;
+	/** The size of the file when it was indexed */
+	private long fileSize;
+	/** The modification time of the file when it was indexed */
+	private FileTime lastModified;
+	/** The segment of each indexed rescue, by identity */
+	private final Map<Rescue, Segment> segments = new IdentityHashMap<>();
+
+	/**
+	 * The range of a file holding one rescue, from its rescue line up to the
+	 * next rescue line or the end of the file.
+	 */
+	static final class Segment {
+
+		/** The position of the rescue line */
+		final long start;
+		/** The position just past the end of the segment */
+		final long end;
+		/** The version of the rescue when the segment was read or written */
+		final long version;
+
+		/**
+		 * Constructs a segment.
+		 *
+		 * @param start   the position of the rescue line
+		 * @param end     the position just past the end of the segment
+		 * @param version the version of the rescue
+		 */
+		Segment(long start, long end, long version) {
+			this.start = start;
+			this.end = end;
+			this.version = version;
+		}
+	}
+
+	/**
+	 * Constructs an empty RescueSegments.
+	 */
+	public RescueSegments() {
+		clear();
+	}
+
+	/**
+	 * Returns the file the segments are in.
+	 *
+	 * @return the file, or null if nothing is indexed
+	 */
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * Returns the number of rescues indexed.
+	 *
+	 * @return the number of segments
+	 */
+	public int size() {
+		return segments.size();
+	}
+
+	/**
+	 * Returns whether a rescue has changed since it was read or written, or was
+	 * never indexed at all.
+	 *
+	 * @param rescue the rescue to check
+	 * @return true if the rescue must be written again
+	 */
+	public boolean isChanged(Rescue rescue) {
+		Segment segment = segments.get(rescue);
+		return segment == null || segment.version != rescue.getVersion();
+	}
+
+	/**
+	 * Removes every segment and forgets the file.
+	 */
+	public void clear() {
+		file = null;
+		fileSize = -1;
+		lastModified = null;
+		segments.clear();
+	}
+
+	/**
+	 * Starts indexing a file, removing every segment of the previous one.
+	 *
+	 * @param path the file being indexed
+	 * @throws IOException if the size or modification time cannot be read
+	 */
+	void reset(Path path) throws IOException {
+		clear();
+		lastModified = Files.getLastModifiedTime(path);
+		fileSize = Files.size(path);
+		file = path;
+	}
+
+	/**
+	 * Indexes the segment of a rescue at its current version.
+	 *
+	 * @param rescue the rescue
+	 * @param start  the position of the rescue line
+	 * @param end    the position just past the end of the segment
+	 */
+	void add(Rescue rescue, long start, long end) {
+		segments.put(rescue, new Segment(start, end, rescue.getVersion()));
+	}
+
+	/**
+	 * Indexes the segment of a rescue at the version it had when it was written.
+	 *
+	 * @param rescue  the rescue
+	 * @param segment the segment
+	 */
+	void add(Rescue rescue, Segment segment) {
+		segments.put(rescue, segment);
+	}
+
+	/**
+	 * Returns the segment of a rescue if the rescue has not changed since it was
+	 * indexed.
+	 *
+	 * @param rescue the rescue
+	 * @return the segment, or null if the rescue must be written again
+	 */
+	Segment unchanged(Rescue rescue) {
+		Segment segment = segments.get(rescue);
+		return segment != null && segment.version == rescue.getVersion() ? segment : null;
+	}
+
+	/**
+	 * Returns whether the indexed file is still as it was when it was indexed.
+	 *
+	 * @return true if the segments can be copied from the file
+	 */
+	boolean isCurrent() {
+		if (file == null) {
+			return false;
+		}
+		try {
+			return Files.size(file) == fileSize && Files.getLastModifiedTime(file).equals(lastModified);
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,180 @@
+package edu.ncsu.csc216.packdoption.model.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A table of the Strings decoded while reading a file, so text that is
+ * repeated across records, such as owners and note messages, becomes one
+ * shared String instead of a copy for every record. Text is looked up by its
+ * UTF-8 bytes, so a repeat is found without decoding it, and only text not
+ * already in the table is decoded.
+ *
+ * The table holds only the Strings and their hashes, and is dropped once the
+ * file has been read. Text longer than MAX_LENGTH bytes is rarely repeated and
+ * is decoded without being added. The table may be shared by the threads
+ * reading one file.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+final class StringTable {
+
+	/** The length in bytes of the longest text added to the table */
+	static final int MAX_LENGTH = 256;
+	/** The number of slots in a new table */
+	private static final int INITIAL_CAPACITY = 256;
+
+	/** The Strings in the table by slot, or null for an empty slot */
+	private String[] strings;
+	/** The hash of the bytes of the String in each slot */
+	private int[] hashes;
+	/** The number of Strings in the table */
+	private int size;
+	/** The number of lookups that found a String already in the table */
+	private long hits;
+	/** Bytes copied out of a buffer that has no backing array, for decoding */
+	private byte[] scratch;
+
+	/**
+	 * Constructs an empty StringTable.
+	 */
+	StringTable() {
+		strings = new String[INITIAL_CAPACITY];
+		hashes = new int[INITIAL_CAPACITY];
+		scratch = new byte[MAX_LENGTH];
+	}
+
+	/**
+	 * Returns the String a range of bytes decodes to, adding it to the table if
+	 * it is not there already.
+	 *
+	 * @param bytes the bytes
+	 * @param start the position of the first byte
+	 * @param end   the position just past the last byte
+	 * @return the shared String
+	 */
+	synchronized String intern(ByteBuffer bytes, int start, int end) {
+		if (end - start > MAX_LENGTH) {
+			return decode(bytes, start, end);
+		}
+
+		int hash = 1;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + bytes.get(i);
+		}
+		int mask = strings.length - 1;
+		int slot = mix(hash) & mask;
+		while (strings[slot] != null) {
+			if (hashes[slot] == hash && matches(strings[slot], bytes, start, end)) {
+				hits++;
+				return strings[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		String string = decode(bytes, start, end);
+		strings[slot] = string;
+		hashes[slot] = hash;
+		if (++size > strings.length / 2) {
+			grow();
+		}
+		return string;
+	}
+
+	/**
+	 * Returns the number of distinct Strings in the table.
+	 *
+	 * @return the size of the table
+	 */
+	synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of lookups that found a String already in the table,
+	 * each of which is a String that did not have to be made.
+	 *
+	 * @return the number of hits
+	 */
+	synchronized long hits() {
+		return hits;
+	}
+
+	/**
+	 * Spreads the bits of a hash so that hashes differing only in high bits fall
+	 * in different slots.
+	 *
+	 * @param hash the hash
+	 * @return the mixed hash
+	 */
+	private static int mix(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Returns whether a String is the text of a range of bytes. ASCII bytes are
+	 * compared with the characters directly, and other text is decoded first.
+	 *
+	 * @param string the String
+	 * @param bytes  the bytes
+	 * @param start  the position of the first byte
+	 * @param end    the position just past the last byte
+	 * @return true if the bytes decode to the String
+	 */
+	private boolean matches(String string, ByteBuffer bytes, int start, int end) {
+		if (string.length() > end - start) {
+			return false;
+		}
+		for (int i = start; i < end; i++) {
+			byte b = bytes.get(i);
+			if (b < 0) {
+				return string.equals(decode(bytes, start, end));
+			}
+			if (i - start >= string.length() || string.charAt(i - start) != b) {
+				return false;
+			}
+		}
+		return string.length() == end - start;
+	}
+
+	/**
+	 * Decodes a range of bytes as UTF-8.
+	 *
+	 * @param bytes the bytes
+	 * @param start the position of the first byte
+	 * @param end   the position just past the last byte
+	 * @return the decoded String
+	 */
+	private String decode(ByteBuffer bytes, int start, int end) {
+		if (bytes.hasArray()) {
+			return new String(bytes.array(), bytes.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+		}
+		if (scratch.length < end - start) {
+			scratch = new byte[end - start];
+		}
+		bytes.get(start, scratch, 0, end - start);
+		return new String(scratch, 0, end - start, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Doubles the number of slots, moving every String to its new slot.
+	 */
+	private void grow() {
+		String[] oldStrings = strings;
+		int[] oldHashes = hashes;
+		strings = new String[oldStrings.length * 2];
+		hashes = new int[oldHashes.length * 2];
+		int mask = strings.length - 1;
+		for (int i = 0; i < oldStrings.length; i++) {
+			if (oldStrings[i] != null) {
+				int slot = mix(oldHashes[i]) & mask;
+				while (strings[slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+				strings[slot] = oldStrings[i];
+				hashes[slot] = oldHashes[i];
+			}
+		}
+	}
+}
@@ -1,7 +1,12 @@
 package edu.ncsu.csc216.packdoption.model.manager;
 
+import java.nio.file.Path;
+
+import edu.ncsu.csc216.packdoption.model.io.PackDoptionJournal;
 import edu.ncsu.csc216.packdoption.model.io.PackDoptionReader;
+import edu.ncsu.csc216.packdoption.model.io.PackDoptionSnapshot;
 import edu.ncsu.csc216.packdoption.model.io.PackDoptionWriter;
+import edu.ncsu.csc216.packdoption.model.io.RescueSegments;
 import edu.ncsu.csc216.packdoption.model.rescue.RescueList;
 
 /**
@@ -21,6 +26,19 @@ public class PackDoptionManager {
 	private boolean changed;
 	/** The string form of a filename */
 	private String filename;
+	/**
+	 * The reader used to load files, which parses rescues on every core and
+	 * builds notes when they are first shown
+	 */
+	private PackDoptionReader reader;
+	/** The writer used to save files */
+	private PackDoptionWriter writer;
+	/** Where each rescue lies in the file last loaded or saved */
+	private RescueSegments segments;
+	/** Whether changes are recorded in a journal next to the file */
+	private boolean journaling;
+	/** The journal of the current file, or null if changes are not recorded */
+	private PackDoptionJournal journal;
 
 	/**
 	 * Private constructor for Singleton Design Pattern.
@@ -28,6 +46,11 @@ public class PackDoptionManager {
 	private PackDoptionManager() {
 		rescues = new RescueList();
 		changed = false;
+		reader = new PackDoptionReader();
+		reader.setParallelism(Runtime.getRuntime().availableProcessors());
+		reader.setLazyNotes(true);
+		writer = new PackDoptionWriter();
+		segments = new RescueSegments();
 	}
 
 	/**
@@ -47,7 +70,9 @@ public class PackDoptionManager {
 	 * Sets the rescue list to a new list.
 	 */
 	public void newList() {
+		closeJournal();
 		rescues = new RescueList();
+		segments.clear();
 	}
 
 	/**
@@ -101,23 +126,114 @@ public class PackDoptionManager {
 	}
 
 	/**
-	 * Loads the rescue list from the specified file.
+	 * Returns the reader used to load files, so that its settings can be changed.
+	 * 
+	 * @return the reader
+	 */
+	public PackDoptionReader getReader() {
+		return reader;
+	}
+
+	/**
+	 * Returns the writer used to save files, so that its settings, such as the
+	 * number of backups kept, can be changed.
+	 * 
+	 * @return the writer
+	 */
+	public PackDoptionWriter getWriter() {
+		return writer;
+	}
+
+	/**
+	 * Returns whether changes are recorded in a journal next to the file as they
+	 * are made.
+	 * 
+	 * @return true if changes are journaled
+	 */
+	public boolean isJournaling() {
+		return journaling;
+	}
+
+	/**
+	 * Sets whether changes are recorded in a journal next to the file as they are
+	 * made. Journaling starts with the next load or save, and a journal left by a
+	 * session that ended before saving is replayed when its file is loaded.
+	 * Turning journaling off closes the journal.
+	 * 
+	 * @param journaling true to journal changes
+	 */
+	public void setJournaling(boolean journaling) {
+		this.journaling = journaling;
+		if (!journaling) {
+			closeJournal();
+		}
+	}
+
+	/**
+	 * Returns the journal changes are being recorded in.
+	 * 
+	 * @return the journal, or null if changes are not being journaled
+	 */
+	public PackDoptionJournal getJournal() {
+		return journal;
+	}
+
+	/**
+	 * Loads the rescue list from the specified file, remembering where each
+	 * rescue lies in it. The file may be in the text format or a binary
+	 * snapshot. When journaling, changes left in the file's journal are made to
+	 * the list, which is then marked as changed. The new list, its segments, and
+	 * its journal replace the current ones only once all of them have been read,
+	 * so a failed load leaves the current list loaded and still journaled.
 	 * 
 	 * @param filename the file to load
 	 * @throws IllegalArgumentException if any errors occur reading the file
 	 */
 	public void loadFile(String filename) {
+		String previous = this.filename;
 		setFilename(filename);
+		RescueSegments loadedSegments = new RescueSegments();
+		RescueList loaded;
+		PackDoptionJournal loadedJournal = null;
+		boolean replayed = false;
+		if (journal != null) {
+			// Records of the current list must be on disk before its journal can be
+			// replayed, in case the same file is being loaded again
+			try {
+				journal.flush();
+			} catch (IllegalArgumentException e) {
+				// A journal that has failed has nothing more to write
+			}
+		}
 		try {
-			rescues = PackDoptionReader.readRescueListFile(filename);
-			changed = false;
+			loaded = reader.readRescueList(filename, loadedSegments);
+			if (journaling) {
+				loadedJournal = new PackDoptionJournal(filename);
+				replayed = loadedJournal.open(loaded) > 0;
+			}
 		} catch (Exception e) {
+			// A journal that fails to open closes itself
+			this.filename = previous;
 			throw new IllegalArgumentException("Unable to load file.");
 		}
+
+		closeJournal();
+		rescues = loaded;
+		segments = loadedSegments;
+		changed = replayed;
+		if (loadedJournal != null) {
+			journal = loadedJournal;
+			rescues.setMutationListener(journal);
+		}
 	}
 
 	/**
-	 * Saves the rescue list to the specified file.
+	 * Saves the rescue list to the specified file. The file is replaced in one
+	 * step once the new data is on disk, so a failed save leaves it unchanged.
+	 * Rescues that have not changed since the last load or save are copied from
+	 * that file instead of being written again. A filename ending in .pds is
+	 * saved as a binary snapshot. When journaling, the journal is emptied once
+	 * the file holds every change.
 	 * 
 	 * @param filename the file to save to
 	 * @throws IllegalArgumentException if any errors occur writing the file
@@ -125,11 +241,35 @@ public class PackDoptionManager {
 	public void saveFile(String filename) {
 		setFilename(filename);
 		try {
-			PackDoptionWriter.writeRescueFile(filename, rescues);
+			if (PackDoptionSnapshot.hasExtension(filename)) {
+				writer.writeSnapshot(filename, rescues);
+				segments.clear();
+			} else {
+				writer.writeRescueList(filename, rescues, segments);
+			}
 			changed = false;
+			if (journaling) {
+				if (journal == null || !journal.getDataFile().equals(Path.of(filename).toAbsolutePath())) {
+					closeJournal();
+					journal = new PackDoptionJournal(filename);
+				}
+				journal.reset();
+				rescues.setMutationListener(journal);
+			}
 		} catch (Exception e) {
 			throw new IllegalArgumentException();
 		}
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Stops recording changes and closes the journal, if there is one.
+	 */
+	private void closeJournal() {
+		if (journal != null) {
+			rescues.setMutationListener(null);
+			journal.close();
+			journal = null;
+		}
+	}
+
+}
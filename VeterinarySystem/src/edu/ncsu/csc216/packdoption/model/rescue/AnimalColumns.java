@@ -0,0 +1,356 @@
+package edu.ncsu.csc216.packdoption.model.rescue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import edu.ncsu.csc216.packdoption.model.animals.Animal;
+import edu.ncsu.csc216.packdoption.model.animals.Animal.Size;
+import edu.ncsu.csc216.packdoption.model.animals.Cat;
+import edu.ncsu.csc216.packdoption.model.animals.Dog;
+import edu.ncsu.csc216.packdoption.model.animals.Dog.Breed;
+import edu.ncsu.csc216.packdoption.util.Date;
+import edu.ncsu.csc216.packdoption.util.SimpleListIterator;
+
+/**
+ * The animals of a rescue stored column by column, so a query on the rescue
+ * works on a few packed arrays of numbers instead of following references from
+ * every animal to its dates. Row i of every column describes the animal at
+ * index i of the rescue, in sorted order, and the animal column holds the Animal
+ * itself, which is only touched for the rows a query returns.
+ *
+ * Dates are stored as epoch days. Kind, size, breed, the house trained and good
+ * with kids flags, and adoption status are stored as bit set indexes, one bit
+ * set for each value, so a query on several of them is the bitwise AND of their
+ * bit sets and the set bits are already the matching rows in sorted order. The
+ * birthdays are in ascending order already, and the entry dates have a sorted
+ * index of their own, so a range of either is found by two binary searches.
+ *
+ * The columns are built from the rescue's animals and kept current by the
+ * rescue: a change to one animal is written to its row, and an added animal
+ * makes the rescue build the columns again. The rescue holds its lock while it
+ * reads the indexes.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+final class AnimalColumns {
+
+	/** The kind of a cat */
+	static final byte CAT = 0;
+	/** The kind of a dog */
+	static final byte DOG = 1;
+	/** The kind of any other animal */
+	static final byte OTHER = 2;
+
+	/** The number of rows */
+	private final int size;
+	/** The animal in each row */
+	private final Animal[] animals;
+	/** The birthday of each animal as an epoch day, in ascending order */
+	private final int[] birthdays;
+	/** The date each animal entered the rescue as an epoch day, in ascending order */
+	private final int[] entered;
+	/** The row of the animal with each entry date in entered */
+	private final int[] enteredRows;
+	/** The rows of each kind of animal, by kind */
+	private final BitSet[] kinds;
+	/** The rows of each size of animal, by size ordinal */
+	private final BitSet[] sizes;
+	/** The rows of the dogs of each breed, by breed ordinal */
+	private final BitSet[] breeds;
+	/** The rows of the house trained animals */
+	private final BitSet houseTrained;
+	/** The rows of the animals good with kids */
+	private final BitSet goodWithKids;
+	/** The rows of the adopted animals */
+	private final BitSet adopted;
+
+	/**
+	 * Builds the columns of a rescue's animals.
+	 *
+	 * @param it       an iterator over the animals in sorted order
+	 * @param capacity the number of animals
+	 */
+	AnimalColumns(SimpleListIterator<Animal> it, int capacity) {
+		Animal[] rows = new Animal[capacity];
+		int count = 0;
+		while (it.hasNext()) {
+			if (count == rows.length) {
+				rows = Arrays.copyOf(rows, Math.max(1, count * 2));
+			}
+			rows[count++] = it.next();
+		}
+
+		size = count;
+		animals = rows;
+		birthdays = new int[count];
+		entered = new int[count];
+		kinds = index(OTHER + 1, count);
+		sizes = index(Size.values().length, count);
+		breeds = index(Breed.values().length, count);
+		houseTrained = new BitSet(count);
+		goodWithKids = new BitSet(count);
+		adopted = new BitSet(count);
+		enteredRows = new int[count];
+		long[] entries = new long[count];
+		for (int i = 0; i < count; i++) {
+			Animal animal = rows[i];
+			birthdays[i] = animal.getBirthday().getEpochDay();
+			entries[i] = (long) animal.getDateEnterRescue().getEpochDay() << 32 | i;
+			if (animal instanceof Dog) {
+				kinds[DOG].set(i);
+				breeds[((Dog) animal).getBreed().ordinal()].set(i);
+			} else {
+				kinds[animal instanceof Cat ? CAT : OTHER].set(i);
+			}
+			houseTrained.set(i, animal.isHouseTrained());
+			goodWithKids.set(i, animal.isGoodWithKids());
+			update(i);
+		}
+
+		// Each entry date carries its row in the low bits, so one sort orders both
+		Arrays.sort(entries);
+		for (int i = 0; i < count; i++) {
+			entered[i] = (int) (entries[i] >>> 32);
+			enteredRows[i] = (int) entries[i];
+		}
+	}
+
+	/**
+	 * Makes the bit sets of an index.
+	 *
+	 * @param values the number of values the index has a bit set for
+	 * @param rows   the number of rows
+	 * @return the empty bit sets
+	 */
+	private static BitSet[] index(int values, int rows) {
+		BitSet[] index = new BitSet[values];
+		for (int i = 0; i < values; i++) {
+			index[i] = new BitSet(rows);
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the number of rows.
+	 *
+	 * @return the number of animals
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Writes the size and adoption status of an animal that has changed to its
+	 * row. An animal that is not in the columns is ignored.
+	 *
+	 * @param animal the animal
+	 */
+	void update(Animal animal) {
+		int row = rowOf(animal);
+		if (row >= 0) {
+			update(row);
+		}
+	}
+
+	/**
+	 * Reads the size and adoption status of the animal in a row.
+	 *
+	 * @param row the row
+	 */
+	private void update(int row) {
+		int size = animals[row].getSize().ordinal();
+		for (int i = 0; i < sizes.length; i++) {
+			sizes[i].set(row, i == size);
+		}
+		adopted.set(row, animals[row].adopted());
+	}
+
+	/**
+	 * Finds the row of an animal by binary search on the birthday column, then by
+	 * identity among the animals born that day.
+	 *
+	 * @param animal the animal
+	 * @return the row, or -1 if the animal is not in the columns
+	 */
+	private int rowOf(Animal animal) {
+		int birthday = animal.getBirthday().getEpochDay();
+		int row = Arrays.binarySearch(birthdays, 0, size, birthday);
+		if (row < 0) {
+			return -1;
+		}
+		while (row > 0 && birthdays[row - 1] == birthday) {
+			row--;
+		}
+		for (; row < size && birthdays[row] == birthday; row++) {
+			if (animals[row] == animal) {
+				return row;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the Animal in a row.
+	 *
+	 * @param row the row
+	 * @return the animal
+	 */
+	Animal animal(int row) {
+		return animals[row];
+	}
+
+	/**
+	 * Returns every row.
+	 *
+	 * @return a new bit set of the rows
+	 */
+	BitSet allRows() {
+		BitSet rows = new BitSet(size);
+		rows.set(0, size);
+		return rows;
+	}
+
+	/**
+	 * Returns the rows of the adopted animals. The bit set is the index itself
+	 * and is not to be changed.
+	 *
+	 * @return the rows
+	 */
+	BitSet adoptedRows() {
+		return adopted;
+	}
+
+	/**
+	 * Returns the rows of a kind of animal. The bit set is the index itself and
+	 * is not to be changed.
+	 *
+	 * @param kind CAT, DOG, or OTHER
+	 * @return the rows
+	 */
+	BitSet kindRows(byte kind) {
+		return kinds[kind];
+	}
+
+	/**
+	 * Returns the rows of a size of animal. The bit set is the index itself and
+	 * is not to be changed.
+	 *
+	 * @param size the size
+	 * @return the rows
+	 */
+	BitSet sizeRows(Size size) {
+		return sizes[size.ordinal()];
+	}
+
+	/**
+	 * Returns the rows of the dogs of a breed. The bit set is the index itself
+	 * and is not to be changed.
+	 *
+	 * @param breed the breed
+	 * @return the rows
+	 */
+	BitSet breedRows(Breed breed) {
+		return breeds[breed.ordinal()];
+	}
+
+	/**
+	 * Returns the rows of the house trained animals. The bit set is the index
+	 * itself and is not to be changed.
+	 *
+	 * @return the rows
+	 */
+	BitSet houseTrainedRows() {
+		return houseTrained;
+	}
+
+	/**
+	 * Returns the rows of the animals good with kids. The bit set is the index
+	 * itself and is not to be changed.
+	 *
+	 * @return the rows
+	 */
+	BitSet goodWithKidsRows() {
+		return goodWithKids;
+	}
+
+	/**
+	 * Returns the rows of the animals that entered the rescue in a range of days.
+	 * The range is found in the sorted entry dates by two binary searches.
+	 *
+	 * @param from the epoch day of the earliest entry
+	 * @param to   the epoch day of the latest entry
+	 * @return a new bit set of the rows
+	 */
+	BitSet enteredBetween(long from, long to) {
+		BitSet rows = new BitSet(size);
+		int end = firstAfter(entered, size, to);
+		for (int i = firstAfter(entered, size, Math.max(from, Integer.MIN_VALUE) - 1); i < end; i++) {
+			rows.set(enteredRows[i]);
+		}
+		return rows;
+	}
+
+	/**
+	 * Returns the rows of the animals born after one day and on or before
+	 * another. Rows are in birthday order, so the range is one run of rows found
+	 * by two binary searches.
+	 *
+	 * @param after   the epoch day before the earliest birthday
+	 * @param through the epoch day of the latest birthday
+	 * @return a new bit set of the rows
+	 */
+	BitSet bornBetween(long after, long through) {
+		BitSet rows = new BitSet(size);
+		int start = firstAfter(birthdays, size, after);
+		rows.set(start, Math.max(start, firstAfter(birthdays, size, through)));
+		return rows;
+	}
+
+	/**
+	 * Finds the first of a number of ascending values that is greater than a key.
+	 *
+	 * @param values the values
+	 * @param length the number of values
+	 * @param key    the key
+	 * @return the index of the first greater value, or length if there is none
+	 */
+	private static int firstAfter(int[] values, int length, long key) {
+		int low = 0;
+		int high = length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] <= key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the last day a birthday can be for an animal to be at least a number
+	 * of full years old on a day, counted the way Date.yearsTo counts them.
+	 *
+	 * @param today the day
+	 * @param years the number of years
+	 * @return the epoch day of the latest such birthday, or -1 if every possible
+	 *         birthday is too late
+	 */
+	static int yearsBefore(Date today, long years) {
+		if (years > today.getYear()) {
+			return -1;
+		}
+		int year = today.getYear() - (int) years;
+		if (!Date.isValidDate(1, 1, year)) {
+			return -1;
+		}
+		int day = today.getDay();
+		if (!Date.isValidDate(today.getMonth(), day, year)) {
+			// February 29 of a year that is not a leap year
+			day--;
+		}
+		return Date.of(today.getMonth(), day, year).getEpochDay();
+	}
+}
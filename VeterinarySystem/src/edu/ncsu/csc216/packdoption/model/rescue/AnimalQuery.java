@@ -0,0 +1,440 @@
+package edu.ncsu.csc216.packdoption.model.rescue;
+
+import java.util.BitSet;
+
+import edu.ncsu.csc216.packdoption.model.animals.Animal;
+import edu.ncsu.csc216.packdoption.model.animals.Animal.Size;
+import edu.ncsu.csc216.packdoption.model.animals.Cat;
+import edu.ncsu.csc216.packdoption.model.animals.Dog;
+import edu.ncsu.csc216.packdoption.model.animals.Dog.Breed;
+import edu.ncsu.csc216.packdoption.util.Date;
+import edu.ncsu.csc216.packdoption.util.NoSuchListElementException;
+import edu.ncsu.csc216.packdoption.util.SimpleListIterator;
+import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
+
+/**
+ * A query over the animals of a rescue, made by Rescue.query() and narrowed by
+ * chaining filters onto it, such as
+ * {@code rescue.query().available().species(Dog.class).size(Size.LARGE).ageBetween(today, 1, 5).limit(50)}.
+ * The animals that pass every filter are returned in sorted order by iterator,
+ * list, or count. A filter replaces an earlier filter of the same kind.
+ *
+ * The query is planned when it is run. In a columnar rescue each filter is
+ * answered by an index of the rescue's columns, a bit set for adoption status,
+ * kind, size, breed, and flags and a binary search for day and age ranges, and
+ * the indexes are ANDed before any animal is touched. Otherwise the animals are
+ * scanned once with every filter checked on each. Either way the animals are
+ * streamed, up to the limit, without building intermediate lists.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+public final class AnimalQuery {
+
+	/** The rescue queried */
+	private final Rescue rescue;
+	/** True for available animals, false for adopted ones, or null for both */
+	private Boolean available;
+	/** The class every animal is an instance of, or null for any */
+	private Class<? extends Animal> species;
+	/** The size of every animal, or null for any */
+	private Size size;
+	/** The breed of every animal, or null for any */
+	private Breed breed;
+	/** Whether every animal is house trained */
+	private boolean houseTrained;
+	/** Whether every animal is good with kids */
+	private boolean goodWithKids;
+	/** The epoch day of the earliest entry date */
+	private long enteredFrom = Long.MIN_VALUE;
+	/** The epoch day of the latest entry date */
+	private long enteredTo = Long.MAX_VALUE;
+	/** The epoch day before the earliest birthday */
+	private long bornAfter = Long.MIN_VALUE;
+	/** The epoch day of the latest birthday */
+	private long bornThrough = Long.MAX_VALUE;
+	/** The most animals returned */
+	private int limit = Integer.MAX_VALUE;
+
+	/**
+	 * Constructs a query over every animal of a rescue.
+	 *
+	 * @param rescue the rescue
+	 */
+	AnimalQuery(Rescue rescue) {
+		this.rescue = rescue;
+	}
+
+	/**
+	 * Keeps only the animals available for adoption.
+	 *
+	 * @return this query
+	 */
+	public AnimalQuery available() {
+		available = true;
+		return this;
+	}
+
+	/**
+	 * Keeps only the animals that have been adopted.
+	 *
+	 * @return this query
+	 */
+	public AnimalQuery adopted() {
+		available = false;
+		return this;
+	}
+
+	/**
+	 * Keeps only the animals of a species, such as Cat.class or Dog.class.
+	 *
+	 * @param species the class of the animals
+	 * @return this query
+	 * @throws IllegalArgumentException if species is null
+	 */
+	public AnimalQuery species(Class<? extends Animal> species) {
+		if (species == null) {
+			throw new IllegalArgumentException();
+		}
+		this.species = species;
+		return this;
+	}
+
+	/**
+	 * Keeps only the animals of a size.
+	 *
+	 * @param size the size
+	 * @return this query
+	 * @throws IllegalArgumentException if size is null
+	 */
+	public AnimalQuery size(Size size) {
+		if (size == null) {
+			throw new IllegalArgumentException();
+		}
+		this.size = size;
+		return this;
+	}
+
+	/**
+	 * Keeps only the dogs of a breed.
+	 *
+	 * @param breed the breed
+	 * @return this query
+	 * @throws IllegalArgumentException if breed is null
+	 */
+	public AnimalQuery breed(Breed breed) {
+		if (breed == null) {
+			throw new IllegalArgumentException();
+		}
+		this.breed = breed;
+		return this;
+	}
+
+	/**
+	 * Keeps only the animals that are house trained.
+	 *
+	 * @return this query
+	 */
+	public AnimalQuery houseTrained() {
+		houseTrained = true;
+		return this;
+	}
+
+	/**
+	 * Keeps only the animals that are good with kids.
+	 *
+	 * @return this query
+	 */
+	public AnimalQuery goodWithKids() {
+		goodWithKids = true;
+		return this;
+	}
+
+	/**
+	 * Keeps only the animals that have been in the rescue for a range of days,
+	 * counted from the date they entered the rescue to today.
+	 *
+	 * @param today the current date
+	 * @param min   the minimum days
+	 * @param max   the maximum days
+	 * @return this query
+	 * @throws IllegalArgumentException if today is invalid, before an animal
+	 *                                  entered the rescue, or min > max
+	 */
+	public AnimalQuery daysAvailableBetween(Date today, int min, int max) {
+		if (today == null || max < min || min < 0 || today.getEpochDay() < rescue.latestEntry()) {
+			throw new IllegalArgumentException();
+		}
+		enteredFrom = (long) today.getEpochDay() - max;
+		enteredTo = (long) today.getEpochDay() - min;
+		return this;
+	}
+
+	/**
+	 * Keeps only the animals whose age in years today is in a range.
+	 *
+	 * @param today the current date
+	 * @param min   the minimum age in years
+	 * @param max   the maximum age in years
+	 * @return this query
+	 * @throws IllegalArgumentException if today is invalid, before an animal's
+	 *                                  birthday, or min > max
+	 */
+	public AnimalQuery ageBetween(Date today, int min, int max) {
+		if (today == null || max < min || min < 0 || today.getEpochDay() < rescue.latestBirthday()) {
+			throw new IllegalArgumentException();
+		}
+		bornAfter = AnimalColumns.yearsBefore(today, max + 1L);
+		bornThrough = AnimalColumns.yearsBefore(today, min);
+		return this;
+	}
+
+	/**
+	 * Returns at most a number of animals.
+	 *
+	 * @param limit the most animals to return
+	 * @return this query
+	 * @throws IllegalArgumentException if limit is negative
+	 */
+	public AnimalQuery limit(int limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.limit = limit;
+		return this;
+	}
+
+	/**
+	 * Runs the query, returning a cursor over the matching animals in sorted
+	 * order. In a columnar rescue the matching rows are found when this is
+	 * called; otherwise each animal is checked as the cursor reaches it.
+	 *
+	 * @return the cursor
+	 */
+	public SimpleListIterator<Animal> iterator() {
+		synchronized (rescue) {
+			if (rescue.isColumnar()) {
+				AnimalColumns columns = rescue.columns();
+				return new RowIterator(columns, rows(columns));
+			}
+		}
+		return new ScanIterator(rescue.animalIterator());
+	}
+
+	/**
+	 * Runs the query, returning the matching animals.
+	 *
+	 * @return the animals in sorted order
+	 */
+	public SortedLinkedList<Animal> list() {
+		SortedLinkedList<Animal> animals = new SortedLinkedList<>();
+		SimpleListIterator<Animal> it = iterator();
+		while (it.hasNext()) {
+			animals.add(it.next());
+		}
+		return animals;
+	}
+
+	/**
+	 * Runs the query, returning the number of matching animals.
+	 *
+	 * @return the number of animals
+	 */
+	public int count() {
+		int count = 0;
+		SimpleListIterator<Animal> it = iterator();
+		while (it.hasNext()) {
+			it.next();
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Finds the rows that match the query by ANDing the indexes of its filters,
+	 * starting from a date range when there is one. A species other than Cat or
+	 * Dog has no index and is checked on each animal instead.
+	 *
+	 * @param columns the columns of the rescue
+	 * @return the rows
+	 */
+	private BitSet rows(AnimalColumns columns) {
+		BitSet rows;
+		if (bornAfter != Long.MIN_VALUE || bornThrough != Long.MAX_VALUE) {
+			rows = columns.bornBetween(bornAfter, bornThrough);
+			if (enteredFrom != Long.MIN_VALUE || enteredTo != Long.MAX_VALUE) {
+				rows.and(columns.enteredBetween(enteredFrom, enteredTo));
+			}
+		} else if (enteredFrom != Long.MIN_VALUE || enteredTo != Long.MAX_VALUE) {
+			rows = columns.enteredBetween(enteredFrom, enteredTo);
+		} else {
+			rows = columns.allRows();
+		}
+
+		if (Boolean.TRUE.equals(available)) {
+			rows.andNot(columns.adoptedRows());
+		} else if (Boolean.FALSE.equals(available)) {
+			rows.and(columns.adoptedRows());
+		}
+		if (species == Cat.class) {
+			rows.and(columns.kindRows(AnimalColumns.CAT));
+		} else if (species == Dog.class) {
+			rows.and(columns.kindRows(AnimalColumns.DOG));
+		}
+		if (size != null) {
+			rows.and(columns.sizeRows(size));
+		}
+		if (breed != null) {
+			rows.and(columns.breedRows(breed));
+		}
+		if (houseTrained) {
+			rows.and(columns.houseTrainedRows());
+		}
+		if (goodWithKids) {
+			rows.and(columns.goodWithKidsRows());
+		}
+		return rows;
+	}
+
+	/**
+	 * Returns whether an animal passes every filter, checking the cheapest
+	 * filters first.
+	 *
+	 * @param animal the animal
+	 * @return true if the animal matches the query
+	 */
+	private boolean matches(Animal animal) {
+		if (available != null && animal.adopted() == available) {
+			return false;
+		}
+		if (size != null && animal.getSize() != size) {
+			return false;
+		}
+		if (houseTrained && !animal.isHouseTrained() || goodWithKids && !animal.isGoodWithKids()) {
+			return false;
+		}
+		if (species != null && !species.isInstance(animal)) {
+			return false;
+		}
+		if (breed != null && !(animal instanceof Dog && ((Dog) animal).getBreed() == breed)) {
+			return false;
+		}
+		int entered = animal.getDateEnterRescue().getEpochDay();
+		if (entered < enteredFrom || entered > enteredTo) {
+			return false;
+		}
+		int birthday = animal.getBirthday().getEpochDay();
+		return birthday > bornAfter && birthday <= bornThrough;
+	}
+
+	/**
+	 * A cursor over the matching rows of a columnar rescue.
+	 */
+	private final class RowIterator implements SimpleListIterator<Animal> {
+
+		/** The columns of the rescue */
+		private final AnimalColumns columns;
+		/** The matching rows */
+		private final BitSet rows;
+		/** The next matching row, or -1 if there are no more */
+		private int row;
+		/** The number of animals returned */
+		private int returned;
+
+		/**
+		 * Constructs a RowIterator.
+		 *
+		 * @param columns the columns of the rescue
+		 * @param rows    the rows found by the indexes
+		 */
+		RowIterator(AnimalColumns columns, BitSet rows) {
+			this.columns = columns;
+			this.rows = rows;
+			row = advance(rows.nextSetBit(0));
+		}
+
+		/**
+		 * Finds the first row from a row on whose animal is of the species.
+		 *
+		 * @param from the row to start from
+		 * @return the row, or -1 if there is none
+		 */
+		private int advance(int from) {
+			int next = from;
+			while (next >= 0 && species != null && !species.isInstance(columns.animal(next))) {
+				next = rows.nextSetBit(next + 1);
+			}
+			return next;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return row >= 0 && returned < limit;
+		}
+
+		@Override
+		public Animal next() {
+			if (!hasNext()) {
+				throw new NoSuchListElementException("No element available with call to next.");
+			}
+			Animal animal = columns.animal(row);
+			returned++;
+			row = advance(rows.nextSetBit(row + 1));
+			return animal;
+		}
+	}
+
+	/**
+	 * A cursor that checks each animal of the rescue against the query.
+	 */
+	private final class ScanIterator implements SimpleListIterator<Animal> {
+
+		/** The cursor over every animal of the rescue */
+		private final SimpleListIterator<Animal> it;
+		/** The next matching animal, or null if there are no more */
+		private Animal next;
+		/** The number of animals returned */
+		private int returned;
+
+		/**
+		 * Constructs a ScanIterator.
+		 *
+		 * @param it the cursor over every animal of the rescue
+		 */
+		ScanIterator(SimpleListIterator<Animal> it) {
+			this.it = it;
+			next = advance();
+		}
+
+		/**
+		 * Finds the next animal that matches the query.
+		 *
+		 * @return the animal, or null if there is none
+		 */
+		private Animal advance() {
+			while (returned < limit && it.hasNext()) {
+				Animal animal = it.next();
+				if (matches(animal)) {
+					return animal;
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null && returned < limit;
+		}
+
+		@Override
+		public Animal next() {
+			if (!hasNext()) {
+				throw new NoSuchListElementException("No element available with call to next.");
+			}
+			Animal animal = next;
+			returned++;
+			next = advance();
+			return animal;
+		}
+	}
+}
@@ -0,0 +1,544 @@
+package edu.ncsu.csc216.packdoption.model.rescue;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc216.packdoption.model.animals.Animal;
+import edu.ncsu.csc216.packdoption.model.animals.Animal.AgeCategory;
+import edu.ncsu.csc216.packdoption.util.Date;
+import edu.ncsu.csc216.packdoption.util.NoSuchListElementException;
+import edu.ncsu.csc216.packdoption.util.Queue;
+
+/**
+ * A queue of animals waiting to see the veterinarian, ordered by triage
+ * priority rather than arrival. The animal at the head is the one with the
+ * highest urgency; ties go to senior animals, then to the animal that has been
+ * in the rescue the longest, and finally to the animal that was scheduled
+ * first. Seniority is judged as of the date given to setToday, and is not
+ * considered until a date has been given.
+ *
+ * The queue is a binary heap, so add and remove are O(log n). Each animal can
+ * be scheduled once, and its urgency can be changed in place in O(log n).
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+public class AppointmentScheduler implements Queue<Animal> {
+
+	/** Initial capacity of the heap */
+	private static final int INITIAL_CAPACITY = 10;
+	/** The heap of scheduled appointments */
+	private Appointment[] heap;
+	/** The number of scheduled appointments */
+	private int size;
+	/** The appointment of each scheduled animal */
+	private Map<Animal, Appointment> appointments;
+	/** The date seniority is judged as of, or null if not yet known */
+	private Date today;
+	/** The arrival number given to the next appointment */
+	private long nextArrival;
+	/** Number of times the queue has been changed, checked by iterators */
+	private int modCount;
+	/** The appointments in removal order, or null if the queue changed since */
+	private Appointment[] sorted;
+	/** The rescue told about changes to the schedule, or null */
+	private final Rescue rescue;
+
+	/**
+	 * Enumeration representing how urgently an animal needs to see the
+	 * veterinarian, from most to least urgent.
+	 */
+	public enum Urgency {
+		/** Represents an animal that must be seen immediately */
+		EMERGENCY,
+		/** Represents an animal that should be seen soon */
+		URGENT,
+		/** Represents a routine checkup */
+		ROUTINE
+	}
+
+	/**
+	 * A scheduled animal together with the fields it is prioritized by.
+	 */
+	private static class Appointment implements Comparable<Appointment> {
+
+		/** The animal to be seen */
+		private final Animal animal;
+		/** The order in which the animal was scheduled */
+		private final long arrival;
+		/** How urgently the animal needs to be seen */
+		private Urgency urgency;
+		/** Whether the animal is a senior as of the scheduler's date */
+		private boolean senior;
+		/** The position of the appointment in the heap */
+		private int index;
+
+		/**
+		 * Constructs an Appointment.
+		 *
+		 * @param animal  the animal to be seen
+		 * @param urgency how urgently the animal needs to be seen
+		 * @param arrival the order in which the animal was scheduled
+		 */
+		Appointment(Animal animal, Urgency urgency, long arrival) {
+			this.animal = animal;
+			this.urgency = urgency;
+			this.arrival = arrival;
+		}
+
+		/**
+		 * Orders appointments so that the one to be seen first is the least.
+		 *
+		 * @param o the appointment to compare to
+		 * @return a negative integer if this appointment is seen before o
+		 */
+		@Override
+		public int compareTo(Appointment o) {
+			if (urgency != o.urgency) {
+				return urgency.compareTo(o.urgency);
+			}
+			if (senior != o.senior) {
+				return senior ? -1 : 1;
+			}
+			int entered = animal.getDateEnterRescue().compareTo(o.animal.getDateEnterRescue());
+			if (entered != 0) {
+				return entered;
+			}
+			return Long.compare(arrival, o.arrival);
+		}
+	}
+
+	/**
+	 * Constructs an empty AppointmentScheduler.
+	 */
+	public AppointmentScheduler() {
+		this(null);
+	}
+
+	/**
+	 * Constructs an empty AppointmentScheduler that tells a rescue about each
+	 * appointment added, removed, or changed.
+	 *
+	 * @param rescue the rescue that owns the schedule
+	 */
+	AppointmentScheduler(Rescue rescue) {
+		this.rescue = rescue;
+		heap = new Appointment[INITIAL_CAPACITY];
+		size = 0;
+		appointments = new HashMap<>();
+		today = null;
+		nextArrival = 0;
+	}
+
+	/**
+	 * Schedules a routine appointment for the animal.
+	 *
+	 * @param animal the animal to schedule
+	 * @return true if the animal was scheduled, false if it already was
+	 * @throws NullPointerException if animal is null
+	 */
+	@Override
+	public boolean add(Animal animal) {
+		return add(animal, Urgency.ROUTINE);
+	}
+
+	/**
+	 * Schedules an appointment for the animal with the given urgency.
+	 *
+	 * @param animal  the animal to schedule
+	 * @param urgency how urgently the animal needs to be seen
+	 * @return true if the animal was scheduled, false if it already was
+	 * @throws NullPointerException if animal or urgency is null
+	 */
+	public boolean add(Animal animal, Urgency urgency) {
+		if (animal == null || urgency == null) {
+			throw new NullPointerException();
+		}
+		if (appointments.containsKey(animal)) {
+			return false;
+		}
+
+		Appointment appointment = new Appointment(animal, urgency, nextArrival++);
+		appointment.senior = isSenior(animal);
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, heap.length * 2);
+		}
+		appointment.index = size;
+		heap[size++] = appointment;
+		appointments.put(animal, appointment);
+		siftUp(appointment.index);
+		changed();
+		if (rescue != null) {
+			rescue.appointmentAdded(animal, urgency);
+		}
+		return true;
+	}
+
+	/**
+	 * Removes and returns the animal to be seen next.
+	 *
+	 * @return the animal to be seen next
+	 * @throws NoSuchListElementException if no animals are scheduled
+	 */
+	@Override
+	public Animal remove() {
+		if (isEmpty()) {
+			throw new NoSuchListElementException("No such element in list.");
+		}
+
+		Animal head = heap[0].animal;
+		removeAt(0);
+		return head;
+	}
+
+	/**
+	 * Removes the appointment of the given animal wherever it is in the schedule,
+	 * in O(log n).
+	 *
+	 * @param animal the animal whose appointment to remove
+	 * @return true if the animal was scheduled, false otherwise
+	 */
+	public boolean remove(Animal animal) {
+		Appointment appointment = animal == null ? null : appointments.get(animal);
+		if (appointment == null) {
+			return false;
+		}
+		removeAt(appointment.index);
+		return true;
+	}
+
+	/**
+	 * Removes the appointment at a position in the heap, filling the gap with the
+	 * last appointment.
+	 *
+	 * @param index the position of the appointment
+	 */
+	private void removeAt(int index) {
+		Appointment removed = heap[index];
+		Appointment last = heap[--size];
+		heap[size] = null;
+		if (index < size) {
+			move(last, index);
+			siftUp(index);
+			siftDown(last.index);
+		}
+		appointments.remove(removed.animal);
+		changed();
+		if (rescue != null) {
+			rescue.appointmentRemoved(removed.animal);
+		}
+	}
+
+	/**
+	 * Returns the animal to be seen next without removing it.
+	 *
+	 * @return the animal to be seen next
+	 * @throws NoSuchListElementException if no animals are scheduled
+	 */
+	@Override
+	public Animal element() {
+		if (isEmpty()) {
+			throw new NoSuchListElementException("No such element in list.");
+		}
+		return heap[0].animal;
+	}
+
+	/**
+	 * Returns the animal at the given position in the order animals will be
+	 * seen, where the next animal is at index 0.
+	 *
+	 * @param index the position of the animal in the order they will be seen
+	 * @return the animal at the given position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	@Override
+	public Animal peek(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		return inOrder()[index].animal;
+	}
+
+	/**
+	 * Returns a read-only iterator over the scheduled animals in the order they
+	 * will be seen. The iterator throws a ConcurrentModificationException if the
+	 * schedule is changed while it is in use.
+	 *
+	 * @return an iterator over the scheduled animals
+	 */
+	@Override
+	public Iterator<Animal> iterator() {
+		return new ScheduleIterator();
+	}
+
+	/**
+	 * A private inner class that walks the appointments in the order animals will
+	 * be seen without changing the schedule.
+	 */
+	private class ScheduleIterator implements Iterator<Animal> {
+
+		/** The appointments in removal order */
+		private final Appointment[] order = inOrder();
+		/** Position of the next appointment */
+		private int index;
+		/** The modification count the iterator expects the schedule to have */
+		private final int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return index < order.length;
+		}
+
+		@Override
+		public Animal next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return order[index++].animal;
+		}
+	}
+
+	/**
+	 * Returns true if the animal is scheduled.
+	 *
+	 * @param animal the animal to look for
+	 * @return true if the animal is scheduled
+	 */
+	@Override
+	public boolean contains(Animal animal) {
+		return animal != null && appointments.containsKey(animal);
+	}
+
+	/**
+	 * Returns the number of scheduled animals.
+	 *
+	 * @return the number of scheduled animals
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if no animals are scheduled.
+	 *
+	 * @return true if no animals are scheduled
+	 */
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the urgency of a scheduled animal.
+	 *
+	 * @param animal the scheduled animal
+	 * @return the urgency of the animal's appointment
+	 * @throws IllegalArgumentException if the animal is not scheduled
+	 */
+	public Urgency getUrgency(Animal animal) {
+		return find(animal).urgency;
+	}
+
+	/**
+	 * Changes the urgency of a scheduled animal, moving it to its new place in the
+	 * schedule without changing the place of any other animal relative to the
+	 * rest.
+	 *
+	 * @param animal  the scheduled animal
+	 * @param urgency the new urgency of the animal's appointment
+	 * @throws IllegalArgumentException if the animal is not scheduled or urgency
+	 *                                  is null
+	 */
+	public void setUrgency(Animal animal, Urgency urgency) {
+		if (urgency == null) {
+			throw new IllegalArgumentException();
+		}
+		Appointment appointment = find(animal);
+		if (appointment.urgency != urgency) {
+			appointment.urgency = urgency;
+			siftUp(appointment.index);
+			siftDown(appointment.index);
+			changed();
+			if (rescue != null) {
+				rescue.urgencyChanged(animal, urgency);
+			}
+		}
+	}
+
+	/**
+	 * Returns the date seniority is judged as of.
+	 *
+	 * @return the date seniority is judged as of, or null if none has been set
+	 */
+	public Date getToday() {
+		return today;
+	}
+
+	/**
+	 * Sets the date seniority is judged as of and reorders the schedule to match,
+	 * in O(n). No appointment is added or removed, so the modification count,
+	 * and with it the version of the rescue, does not move.
+	 *
+	 * @param today the current date
+	 * @throws IllegalArgumentException if today is null
+	 */
+	public void setToday(Date today) {
+		if (today == null) {
+			throw new IllegalArgumentException();
+		}
+		if (today.equals(this.today)) {
+			return;
+		}
+
+		this.today = today;
+		for (int i = 0; i < size; i++) {
+			heap[i].senior = isSenior(heap[i].animal);
+		}
+		for (int i = size / 2 - 1; i >= 0; i--) {
+			siftDown(i);
+		}
+		sorted = null;
+	}
+
+	/**
+	 * Judges again whether a scheduled animal that has changed is a senior, since
+	 * a dog's age category depends on its size, and moves its appointment to its
+	 * new place in the schedule. The rescue that owns the schedule calls this
+	 * whenever one of its animals changes. An animal that is not scheduled is
+	 * ignored.
+	 *
+	 * @param animal the animal that changed
+	 */
+	void animalChanged(Animal animal) {
+		Appointment appointment = appointments.get(animal);
+		if (appointment == null) {
+			return;
+		}
+		boolean senior = isSenior(animal);
+		if (appointment.senior != senior) {
+			appointment.senior = senior;
+			siftUp(appointment.index);
+			siftDown(appointment.index);
+			changed();
+		}
+	}
+
+	/**
+	 * Returns whether an animal counts as a senior as of the scheduler's date.
+	 * Animals born after that date are not seniors.
+	 *
+	 * @param animal the animal to check
+	 * @return true if the animal is a senior
+	 */
+	private boolean isSenior(Animal animal) {
+		return today != null && today.compareTo(animal.getBirthday()) >= 0
+				&& animal.getAgeCategory(today) == AgeCategory.SENIOR;
+	}
+
+	/**
+	 * Returns the appointment of a scheduled animal.
+	 *
+	 * @param animal the scheduled animal
+	 * @return the appointment of the animal
+	 * @throws IllegalArgumentException if the animal is not scheduled
+	 */
+	private Appointment find(Animal animal) {
+		Appointment appointment = animal == null ? null : appointments.get(animal);
+		if (appointment == null) {
+			throw new IllegalArgumentException();
+		}
+		return appointment;
+	}
+
+	/**
+	 * Returns the appointments in the order they will be removed, sorting a copy
+	 * of the heap the first time it is needed after a change.
+	 *
+	 * @return the appointments in removal order
+	 */
+	private Appointment[] inOrder() {
+		if (sorted == null) {
+			sorted = Arrays.copyOf(heap, size);
+			Arrays.sort(sorted);
+		}
+		return sorted;
+	}
+
+	/**
+	 * Returns the number of times the schedule has changed. Reordering it with
+	 * setToday is not counted, since it changes no appointment.
+	 *
+	 * @return the modification count
+	 */
+	public int getModCount() {
+		return modCount;
+	}
+
+	/**
+	 * Records that the schedule changed.
+	 */
+	private void changed() {
+		modCount++;
+		sorted = null;
+	}
+
+	/**
+	 * Moves the appointment at the given position up the heap until its parent is
+	 * seen before it.
+	 *
+	 * @param index the position of the appointment
+	 */
+	private void siftUp(int index) {
+		Appointment appointment = heap[index];
+		while (index > 0) {
+			int parent = (index - 1) / 2;
+			if (heap[parent].compareTo(appointment) <= 0) {
+				break;
+			}
+			move(heap[parent], index);
+			index = parent;
+		}
+		move(appointment, index);
+	}
+
+	/**
+	 * Moves the appointment at the given position down the heap until it is seen
+	 * before both of its children.
+	 *
+	 * @param index the position of the appointment
+	 */
+	private void siftDown(int index) {
+		Appointment appointment = heap[index];
+		while (2 * index + 1 < size) {
+			int child = 2 * index + 1;
+			if (child + 1 < size && heap[child + 1].compareTo(heap[child]) < 0) {
+				child++;
+			}
+			if (appointment.compareTo(heap[child]) <= 0) {
+				break;
+			}
+			move(heap[child], index);
+			index = child;
+		}
+		move(appointment, index);
+	}
+
+	/**
+	 * Places an appointment at a position in the heap.
+	 *
+	 * @param appointment the appointment to place
+	 * @param index       the position to place it at
+	 */
+	private void move(Appointment appointment, int index) {
+		heap[index] = appointment;
+		appointment.index = index;
+	}
+}
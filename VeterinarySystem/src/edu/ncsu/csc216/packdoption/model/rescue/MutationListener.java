@@ -0,0 +1,77 @@
+package edu.ncsu.csc216.packdoption.model.rescue;
+
+import edu.ncsu.csc216.packdoption.model.animals.Animal;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler.Urgency;
+import edu.ncsu.csc216.packdoption.util.Note;
+
+/**
+ * Receives notice of each change to a RescueList and the rescues, animals, and
+ * appointments in it, after the change is made. Changes made to an animal
+ * directly are reported once for each rescue the animal is in. A listener is
+ * called on the thread that made the change and should return quickly.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+public interface MutationListener {
+
+	/**
+	 * Called after a rescue is added to the list. The rescue may already hold
+	 * animals and appointments, which are not reported separately.
+	 *
+	 * @param rescue the rescue added
+	 */
+	void rescueAdded(Rescue rescue);
+
+	/**
+	 * Called after an animal is added to a rescue.
+	 *
+	 * @param rescue the rescue
+	 * @param animal the animal added
+	 */
+	void animalAdded(Rescue rescue, Animal animal);
+
+	/**
+	 * Called after a note is added to an animal in a rescue.
+	 *
+	 * @param rescue the rescue
+	 * @param animal the animal
+	 * @param note   the note added
+	 */
+	void noteAdded(Rescue rescue, Animal animal, Note note);
+
+	/**
+	 * Called after the size or adoption information of an animal in a rescue is
+	 * set.
+	 *
+	 * @param rescue the rescue
+	 * @param animal the animal
+	 */
+	void animalChanged(Rescue rescue, Animal animal);
+
+	/**
+	 * Called after an animal in a rescue is scheduled to see the veterinarian.
+	 *
+	 * @param rescue  the rescue
+	 * @param animal  the animal scheduled
+	 * @param urgency the urgency of the appointment
+	 */
+	void appointmentAdded(Rescue rescue, Animal animal, Urgency urgency);
+
+	/**
+	 * Called after an animal's appointment is removed from a rescue's schedule.
+	 *
+	 * @param rescue the rescue
+	 * @param animal the animal
+	 */
+	void appointmentRemoved(Rescue rescue, Animal animal);
+
+	/**
+	 * Called after the urgency of an animal's appointment changes.
+	 *
+	 * @param rescue  the rescue
+	 * @param animal  the animal
+	 * @param urgency the new urgency
+	 */
+	void urgencyChanged(Rescue rescue, Animal animal, Urgency urgency);
+}
@@ -1,15 +1,32 @@
 package edu.ncsu.csc216.packdoption.model.rescue;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import edu.ncsu.csc216.packdoption.model.animals.Animal;
+import edu.ncsu.csc216.packdoption.model.animals.Animal.Size;
 import edu.ncsu.csc216.packdoption.model.animals.Cat;
 import edu.ncsu.csc216.packdoption.model.animals.Dog;
-import edu.ncsu.csc216.packdoption.util.ArrayListQueue;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler.Urgency;
 import edu.ncsu.csc216.packdoption.util.Date;
 import edu.ncsu.csc216.packdoption.util.Note;
+import edu.ncsu.csc216.packdoption.util.SimpleListIterator;
+import edu.ncsu.csc216.packdoption.util.SortedArrayList;
 import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
+import edu.ncsu.csc216.packdoption.util.SortedList;
 
 /**
- * A representation of a rescue.
+ * A representation of a rescue. The rescue keeps running counts of its
+ * available and adopted animals, updated as animals are added and as their
+ * adoption information is set, whether through the rescue or on the animal
+ * directly. Changes to the counts are synchronized on the rescue. The rescue
+ * also keeps a version that moves whenever it or one of its animals changes, so
+ * that a rescue unchanged since it was saved need not be written again, and
+ * can report each change to a MutationListener.
+ * 
+ * Its animals are filtered through an AnimalQuery. A rescue can also keep its
+ * animals in columns of numbers with indexes, which its queries use instead of
+ * scanning the animals themselves when there are many animals to look through.
  * 
  * @author Michael Pacheco
  * @author Dania Swelam
@@ -18,10 +35,127 @@ public class Rescue implements Comparable<Rescue> {
 
 	/** The name of the rescue */
 	private String name;
-	/** The list of animals in the rescue */
-	private SortedLinkedList<Animal> animals;
-	/** The queue of animals waiting to see the veterinarian */
-	private ArrayListQueue<Animal> vetAppointments;
+	/** The list of animals in the rescue, array backed by default */
+	private SortedList<Animal> animals;
+	/** The animals waiting to see the veterinarian, in triage order */
+	private AppointmentScheduler vetAppointments;
+	/** The number of animals available for adoption */
+	private int numAvailable;
+	/** The number of animals that have been adopted */
+	private int numAdopted;
+	/** The number of cats available for adoption */
+	private int numCatsAvailable;
+	/** The number of dogs available for adoption */
+	private int numDogsAvailable;
+	/** Keeps the counts current when an animal's adoption information is set */
+	private final Animal.AdoptionListener adoptionCounter = new AdoptionCounter();
+	/** Moves the version when an animal in the rescue changes */
+	private final Animal.ChangeListener changeCounter = new ChangeCounter();
+	/** The number of changes to the rescue and its animals */
+	private long modCount;
+	/** Told about each change to the rescue, or null */
+	private volatile MutationListener mutationListener;
+	/** Whether queries use the animals stored in columns */
+	private boolean columnar;
+	/** The animals stored in columns, or null until a columnar query needs them */
+	private AnimalColumns columns;
+	/** The latest date any animal entered the rescue as an epoch day, or -1 */
+	private int latestEntry = -1;
+	/** The latest birthday of any animal as an epoch day, or -1 */
+	private int latestBirthday = -1;
+	/** Index of the animals by name and birthday, for constant time lookups */
+	private final Map<AnimalKey, Animal> animalIndex = new ConcurrentHashMap<>();
+
+	/**
+	 * The name and birthday that identify an animal within the rescue. When a cat
+	 * and a dog share both, the index holds the one added first, which is also
+	 * the first of the two in the animal list.
+	 */
+	private static final class AnimalKey {
+
+		/** The name of the animal */
+		private final String name;
+		/** The birthday of the animal */
+		private final Date birthday;
+
+		/**
+		 * Constructs the key for the given name and birthday.
+		 * 
+		 * @param name     the name of the animal
+		 * @param birthday the birthday of the animal
+		 */
+		AnimalKey(String name, Date birthday) {
+			this.name = name;
+			this.birthday = birthday;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * name.hashCode() + birthday.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof AnimalKey)) {
+				return false;
+			}
+			AnimalKey other = (AnimalKey) obj;
+			return name.equals(other.name) && birthday.equals(other.birthday);
+		}
+	}
+
+	/**
+	 * Moves an animal between the available and adopted counts when its adoption
+	 * information is set.
+	 */
+	private class AdoptionCounter implements Animal.AdoptionListener {
+
+		@Override
+		public void adoptionChanged(Animal animal, boolean wasAdopted) {
+			if (wasAdopted != animal.adopted()) {
+				synchronized (Rescue.this) {
+					count(animal, wasAdopted, -1);
+					count(animal, animal.adopted(), 1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Moves the version of the rescue, and keeps its schedule and columns current,
+	 * when one of its animals changes.
+	 */
+	private class ChangeCounter implements Animal.ChangeListener {
+
+		@Override
+		public void animalChanged(Animal animal) {
+			synchronized (Rescue.this) {
+				modCount++;
+				vetAppointments.animalChanged(animal);
+				if (columns != null) {
+					columns.update(animal);
+				}
+				MutationListener listener = mutationListener;
+				if (listener != null) {
+					listener.animalChanged(Rescue.this, animal);
+				}
+			}
+		}
+
+		@Override
+		public void noteAdded(Animal animal, Note note) {
+			synchronized (Rescue.this) {
+				modCount++;
+				MutationListener listener = mutationListener;
+				if (listener != null) {
+					listener.noteAdded(Rescue.this, animal, note);
+				}
+			}
+		}
+	}
 
 	/**
 	 * Constructs a Rescue with the specified name.
@@ -30,13 +164,32 @@ public class Rescue implements Comparable<Rescue> {
 	 * @throws IllegalArgumentException if name is invalid
 	 */
 	public Rescue(String name) {
+		this(name, new SortedArrayList<>());
+	}
+
+	/**
+	 * Constructs a Rescue with the specified name whose animals are stored in the
+	 * given empty list. A ConcurrentSortedList makes only the list thread-safe.
+	 * The rest of the rescue, such as its index, counters, and appointment
+	 * schedule, is not, so callers must lock a rescue changed from several
+	 * threads.
+	 * 
+	 * @param name    the name of the rescue
+	 * @param animals the empty list to hold the animals of the rescue
+	 * @throws IllegalArgumentException if name is invalid or animals is null or
+	 *                                  not empty
+	 */
+	public Rescue(String name, SortedList<Animal> animals) {
 		if (name == null || name.isBlank() || name.contains("\n")) {
 			throw new IllegalArgumentException();
 		}
+		if (animals == null || !animals.isEmpty()) {
+			throw new IllegalArgumentException();
+		}
 
 		this.name = name.trim();
-		this.animals = new SortedLinkedList<>();
-		this.vetAppointments = new ArrayListQueue<>();
+		this.animals = animals;
+		this.vetAppointments = new AppointmentScheduler(this);
 	}
 
 	/**
@@ -59,14 +212,179 @@ public class Rescue implements Comparable<Rescue> {
 		if (animal == null) {
 			throw new IllegalArgumentException();
 		}
-		if (animals.contains(animal)) {
+		AnimalKey key = new AnimalKey(animal.getName(), animal.getBirthday());
+		Animal existing = animalIndex.get(key);
+		if (existing != null && existing.equals(animal)) {
+			return false;
+		}
+		// The list rejects duplicates itself, so the check and insert are one step
+		try {
+			animals.add(animal);
+		} catch (IllegalArgumentException e) {
 			return false;
 		}
 
-		animals.add(animal);
+		synchronized (this) {
+			animalIndex.putIfAbsent(key, animal);
+			count(animal, animal.adopted(), 1);
+			animal.addAdoptionListener(adoptionCounter);
+			animal.addChangeListener(changeCounter);
+			modCount++;
+			columns = null;
+			latestEntry = Math.max(latestEntry, animal.getDateEnterRescue().getEpochDay());
+			latestBirthday = Math.max(latestBirthday, animal.getBirthday().getEpochDay());
+			MutationListener listener = mutationListener;
+			if (listener != null) {
+				listener.animalAdded(this, animal);
+			}
+		}
 		return true;
 	}
 
+	/**
+	 * Returns the listener told about each change to the rescue.
+	 * 
+	 * @return the listener, or null if there is none
+	 */
+	public MutationListener getMutationListener() {
+		return mutationListener;
+	}
+
+	/**
+	 * Sets the listener told about each change to the rescue, its animals, and its
+	 * appointments, replacing any listener set before.
+	 * 
+	 * @param listener the listener, or null to stop telling anything
+	 */
+	public void setMutationListener(MutationListener listener) {
+		this.mutationListener = listener;
+	}
+
+	/**
+	 * Tells the listener that the schedule added an appointment.
+	 * 
+	 * @param animal  the animal scheduled
+	 * @param urgency the urgency of the appointment
+	 */
+	void appointmentAdded(Animal animal, Urgency urgency) {
+		MutationListener listener = mutationListener;
+		if (listener != null) {
+			listener.appointmentAdded(this, animal, urgency);
+		}
+	}
+
+	/**
+	 * Tells the listener that the schedule removed an appointment.
+	 * 
+	 * @param animal the animal whose appointment was removed
+	 */
+	void appointmentRemoved(Animal animal) {
+		MutationListener listener = mutationListener;
+		if (listener != null) {
+			listener.appointmentRemoved(this, animal);
+		}
+	}
+
+	/**
+	 * Tells the listener that the schedule changed the urgency of an appointment.
+	 * 
+	 * @param animal  the animal
+	 * @param urgency the new urgency
+	 */
+	void urgencyChanged(Animal animal, Urgency urgency) {
+		MutationListener listener = mutationListener;
+		if (listener != null) {
+			listener.urgencyChanged(this, animal, urgency);
+		}
+	}
+
+	/**
+	 * Returns whether queries use the animals stored in columns.
+	 * 
+	 * @return true if the rescue is columnar
+	 */
+	public synchronized boolean isColumnar() {
+		return columnar;
+	}
+
+	/**
+	 * Sets whether queries use the animals stored in columns. Columns hold the
+	 * dates of every animal as packed numbers and its kind, size, breed, flags,
+	 * and adoption status as bit set indexes, built the first time a query needs
+	 * them. A changed animal is updated in place, and adding an
+	 * animal builds the columns again.
+	 * 
+	 * @param columnar true to store the animals in columns
+	 */
+	public synchronized void setColumnar(boolean columnar) {
+		this.columnar = columnar;
+		columns = null;
+	}
+
+	/**
+	 * Returns the animals stored in columns, building the columns if needed.
+	 * Callers hold the lock on the rescue.
+	 * 
+	 * @return the columns
+	 */
+	AnimalColumns columns() {
+		if (columns == null) {
+			columns = new AnimalColumns(animals.iterator(), animals.size());
+		}
+		return columns;
+	}
+
+	/**
+	 * Returns the latest date any animal entered the rescue.
+	 * 
+	 * @return the epoch day of the latest entry, or -1 if there are no animals
+	 */
+	synchronized int latestEntry() {
+		return latestEntry;
+	}
+
+	/**
+	 * Returns the latest birthday of any animal in the rescue.
+	 * 
+	 * @return the epoch day of the latest birthday, or -1 if there are no animals
+	 */
+	synchronized int latestBirthday() {
+		return latestBirthday;
+	}
+
+	/**
+	 * Returns the version of the rescue, which changes whenever an animal or
+	 * appointment is added, an animal's size, notes, or adoption information
+	 * change, or the appointments are reordered or removed. Notes added straight
+	 * to an animal's note list are not seen.
+	 * 
+	 * @return the version of the rescue
+	 */
+	public synchronized long getVersion() {
+		return modCount + vetAppointments.getModCount();
+	}
+
+	/**
+	 * Adds delta to the counts the animal falls under for the given adoption
+	 * status. Callers hold the lock on the rescue.
+	 * 
+	 * @param animal  the animal being counted
+	 * @param adopted the adoption status to count the animal under
+	 * @param delta   1 to count the animal, -1 to stop counting it
+	 */
+	private void count(Animal animal, boolean adopted, int delta) {
+		if (adopted) {
+			numAdopted += delta;
+		} else {
+			numAvailable += delta;
+			if (animal instanceof Cat) {
+				numCatsAvailable += delta;
+			} else if (animal instanceof Dog) {
+				numDogsAvailable += delta;
+			}
+		}
+	}
+
 	/**
 	 * Returns the animal at the specified index.
 	 * 
@@ -82,6 +400,16 @@ public class Rescue implements Comparable<Rescue> {
 		return animals.get(i);
 	}
 
+	/**
+	 * Returns an iterator over the animals in the rescue in sorted order, which
+	 * visits each animal in constant time whatever list holds them.
+	 * 
+	 * @return an iterator over the animals
+	 */
+	public SimpleListIterator<Animal> animalIterator() {
+		return animals.iterator();
+	}
+
 	/**
 	 * Returns the animal with the specified name and birthday.
 	 * 
@@ -94,21 +422,16 @@ public class Rescue implements Comparable<Rescue> {
 		if (name == null || birthday == null) {
 			throw new IllegalArgumentException();
 		}
-		for (int i = 0; i < animals.size(); i++) {
-			if (animals.get(i).getName().equals(name) && animals.get(i).getBirthday().equals(birthday)) {
-				return animals.get(i);
-			}
-		}
 
-		return null;
+		return animalIndex.get(new AnimalKey(name, birthday));
 	}
 
 	/**
 	 * Gets the vet appointments for animal in rescue.
 	 * 
-	 * @return an array list of appointments for animal.
+	 * @return the appointment scheduler, which removes animals in triage order
 	 */
-	public ArrayListQueue<Animal> getAppointments() {
+	public AppointmentScheduler getAppointments() {
 		return this.vetAppointments;
 	}
 
@@ -119,7 +442,15 @@ public class Rescue implements Comparable<Rescue> {
 	 * @return true if the rescue contains the animal, false otherwise
 	 */
 	public boolean contains(Animal a) {
-		return animals.contains(a);
+		if (a == null) {
+			return false;
+		}
+		Animal indexed = animalIndex.get(new AnimalKey(a.getName(), a.getBirthday()));
+		if (indexed == null) {
+			return false;
+		}
+		// A cat and a dog may share a key, in which case only one is indexed
+		return indexed.equals(a) || animals.contains(a);
 	}
 
 	/**
@@ -176,14 +507,8 @@ public class Rescue implements Comparable<Rescue> {
 	 * 
 	 * @return the number of animals available for adoption
 	 */
-	public int numAnimalsAvailable() {
-		int count = 0;
-		for (int i = 0; i < numAnimals(); i++) {
-			if (!animals.get(i).adopted()) {
-				count++;
-			}
-		}
-		return count;
+	public synchronized int numAnimalsAvailable() {
+		return numAvailable;
 	}
 
 	/**
@@ -191,14 +516,36 @@ public class Rescue implements Comparable<Rescue> {
 	 * 
 	 * @return the number of animals adopted
 	 */
-	public int numAnimalsAdopted() {
-		int count = 0;
-		for (int i = 0; i < numAnimals(); i++) {
-			if (animals.get(i).adopted()) {
-				count++;
-			}
-		}
-		return count;
+	public synchronized int numAnimalsAdopted() {
+		return numAdopted;
+	}
+
+	/**
+	 * Returns the number of cats available for adoption.
+	 * 
+	 * @return the number of cats available for adoption
+	 */
+	public synchronized int numCatsAvailable() {
+		return numCatsAvailable;
+	}
+
+	/**
+	 * Returns the number of dogs available for adoption.
+	 * 
+	 * @return the number of dogs available for adoption
+	 */
+	public synchronized int numDogsAvailable() {
+		return numDogsAvailable;
+	}
+
+	/**
+	 * Returns a new query over the animals of the rescue, to be narrowed by
+	 * chaining filters onto it. The filters below are each a query.
+	 * 
+	 * @return the query
+	 */
+	public AnimalQuery query() {
+		return new AnimalQuery(this);
 	}
 
 	/**
@@ -207,14 +554,31 @@ public class Rescue implements Comparable<Rescue> {
 	 * @return the list of animals available for adoption
 	 */
 	public SortedLinkedList<Animal> animalsAvailable() {
-		SortedLinkedList<Animal> availableAnimals = new SortedLinkedList<>();
-		for (int i = 0; i < numAnimals(); i++) {
-			if (!animals.get(i).adopted()) {
-				availableAnimals.add(getAnimal(i));
-			}
-		}
+		return query().available().list();
+	}
 
-		return availableAnimals;
+	/**
+	 * Returns a list of the animals available for adoption that have a size and
+	 * are house trained or good with kids when those are required. In a columnar
+	 * rescue the result is the AND of the matching indexes.
+	 * 
+	 * @param size         the size, or null for any size
+	 * @param houseTrained true to return only house trained animals
+	 * @param goodWithKids true to return only animals good with kids
+	 * @return the list of matching animals available for adoption
+	 */
+	public SortedLinkedList<Animal> availableAnimals(Size size, boolean houseTrained, boolean goodWithKids) {
+		AnimalQuery query = query().available();
+		if (size != null) {
+			query.size(size);
+		}
+		if (houseTrained) {
+			query.houseTrained();
+		}
+		if (goodWithKids) {
+			query.goodWithKids();
+		}
+		return query.list();
 	}
 
 	/**
@@ -223,14 +587,7 @@ public class Rescue implements Comparable<Rescue> {
 	 * @return the list of cats available for adoption
 	 */
 	public SortedLinkedList<Animal> availableCats() {
-		SortedLinkedList<Animal> availableCats = new SortedLinkedList<>();
-		for (int i = 0; i < numAnimals(); i++) {
-			if (!animals.get(i).adopted() && animals.get(i) instanceof Cat) {
-				availableCats.add(getAnimal(i));
-			}
-		}
-
-		return availableCats;
+		return query().available().species(Cat.class).list();
 	}
 
 	/**
@@ -239,34 +596,22 @@ public class Rescue implements Comparable<Rescue> {
 	 * @return the list of dogs available for adoption
 	 */
 	public SortedLinkedList<Animal> availableDogs() {
-		SortedLinkedList<Animal> availableDogs = new SortedLinkedList<>();
-		for (int i = 0; i < numAnimals(); i++) {
-			if (!animals.get(i).adopted() && animals.get(i) instanceof Dog) {
-				availableDogs.add(getAnimal(i));
-			}
-		}
-
-		return availableDogs;
+		return query().available().species(Dog.class).list();
 	}
 
 	/**
-	 * Returns a list of animals that have been adopted.
+	 * Returns a list of all animals that have been adopted.
 	 * 
 	 * @return the list of animals adopted
 	 */
 	public SortedLinkedList<Animal> animalsAdopted() {
-		SortedLinkedList<Animal> adoptedAnimals = new SortedLinkedList<>();
-		for (int i = 0; i < numAnimals(); i++) {
-			if (animals.get(i).adopted()) {
-				adoptedAnimals.add(getAnimal(i));
-			}
-		}
-
-		return adoptedAnimals;
+		return query().adopted().list();
 	}
 
 	/**
 	 * Returns a list of animals available for adoption within a specific day range.
+	 * A columnar rescue finds the range by binary search on its sorted entry
+	 * dates.
 	 * 
 	 * @param today the current date
 	 * @param min   the minimum days
@@ -275,26 +620,12 @@ public class Rescue implements Comparable<Rescue> {
 	 * @throws IllegalArgumentException if today is invalid or min > max
 	 */
 	public SortedLinkedList<Animal> availableAnimalsDayRange(Date today, int min, int max) {
-		if (today == null || max < min || min < 0) {
-			throw new IllegalArgumentException();
-		}
-
-		SortedLinkedList<Animal> availableAnimals = new SortedLinkedList<>();
-		for (int i = 0; i < numAnimals(); i++) {
-			if (today.compareTo(animals.get(i).getDateEnterRescue()) < 0) {
-				throw new IllegalArgumentException();
-			}
-			int daysAvailable = animals.get(i).getDaysAvailableForAdoption(today);
-			if (daysAvailable >= min && daysAvailable <= max && !animals.get(i).adopted()) {
-				availableAnimals.add(getAnimal(i));
-			}
-		}
-
-		return availableAnimals;
+		return query().available().daysAvailableBetween(today, min, max).list();
 	}
 
 	/**
 	 * Returns a list of animals available for adoption within a specific age range.
+	 * A columnar rescue finds the range by binary search on its sorted birthdays.
 	 * 
 	 * @param today the current date
 	 * @param min   the minimum age in years
@@ -303,22 +634,7 @@ public class Rescue implements Comparable<Rescue> {
 	 * @throws IllegalArgumentException if today is invalid or min > max
 	 */
 	public SortedLinkedList<Animal> availableAnimalsAge(Date today, int min, int max) {
-		if (today == null || max < min || min < 0) {
-			throw new IllegalArgumentException();
-		}
-
-		SortedLinkedList<Animal> availableAnimals = new SortedLinkedList<>();
-		for (int i = 0; i < numAnimals(); i++) {
-			if (today.compareTo(animals.get(i).getBirthday()) < 0) {
-				throw new IllegalArgumentException();
-			}
-			int age = animals.get(i).getAge(today);
-			if (age >= min && age <= max && !animals.get(i).adopted()) {
-				availableAnimals.add(getAnimal(i));
-			}
-		}
-
-		return availableAnimals;
+		return query().available().ageBetween(today, min, max).list();
 	}
 
 	@Override
@@ -369,11 +685,11 @@ public class Rescue implements Comparable<Rescue> {
 	 * @throws IllegalArgumentException if today is invalid
 	 */
 	public String[][] getAnimalsAsArray(Date today) {
-		int size = numAnimals();
-		String[][] animalsArray = new String[size][7];
+		String[][] animalsArray = new String[numAnimals()][7];
 
-		for (int i = 0; i < size; i++) {
-			Animal animal = getAnimal(i);
+		SimpleListIterator<Animal> it = animals.iterator();
+		for (int i = 0; i < animalsArray.length && it.hasNext(); i++) {
+			Animal animal = it.next();
 
 			animalsArray[i][0] = animal.getName();
 			if (animal instanceof Cat) {
@@ -397,40 +713,45 @@ public class Rescue implements Comparable<Rescue> {
 	}
 
 	/**
-	 * Adds an animal to the veterinary appointments queue.
+	 * Adds an animal to the veterinary appointments queue as a routine
+	 * appointment.
 	 * 
 	 * @param animal the animal to add
 	 * @return true if added, false otherwise
 	 * @throws NullPointerException if animal is null
 	 */
 	public boolean addAppointment(Animal animal) {
-		if (animal == null) {
-			throw new NullPointerException();
-		}
-
-		if (!animals.contains(animal)) {
-			return false;
-		}
-
-		boolean duplicate = false;
-		int vetSize = vetAppointments.size();
+		return addAppointment(animal, Urgency.ROUTINE);
+	}
 
-		for (int i = 0; i < vetSize; i++) {
-			Animal currentAnimal = vetAppointments.remove();
-			if (currentAnimal.equals(animal)) {
-				duplicate = true;
-			}
-			vetAppointments.add(currentAnimal);
+	/**
+	 * Adds an animal to the veterinary appointments queue with the given urgency.
+	 * 
+	 * @param animal  the animal to add
+	 * @param urgency how urgently the animal needs to be seen
+	 * @return true if added, false otherwise
+	 * @throws NullPointerException if animal or urgency is null
+	 */
+	public synchronized boolean addAppointment(Animal animal, Urgency urgency) {
+		if (animal == null || urgency == null) {
+			throw new NullPointerException();
 		}
 
-		if (duplicate) {
+		if (!contains(animal) || vetAppointments.contains(animal)) {
 			return false;
 		}
 
-		int checkSize = vetAppointments.size();
-		vetAppointments.add(animal);
-		return vetAppointments.size() == checkSize + 1;
+		return vetAppointments.add(animal, urgency);
+	}
 
+	/**
+	 * Checks if the specified animal is waiting to see the veterinarian.
+	 * 
+	 * @param animal the animal to check
+	 * @return true if the animal is in the veterinary appointments queue
+	 */
+	public boolean isScheduled(Animal animal) {
+		return vetAppointments.contains(animal);
 	}
 
 	/**
@@ -441,11 +762,10 @@ public class Rescue implements Comparable<Rescue> {
 	 * @throws IllegalArgumentException if today is invalid
 	 */
 	public String[][] getAppointmentsAsArray(Date today) {
-		int size = vetAppointments.size();
-		String[][] animalsArray = new String[size][7];
+		String[][] animalsArray = new String[vetAppointments.size()][7];
 
-		for (int i = 0; i < size; i++) {
-			Animal currentAnimal = vetAppointments.remove();
+		int i = 0;
+		for (Animal currentAnimal : vetAppointments) {
 			animalsArray[i][0] = currentAnimal.getName();
 			if (currentAnimal instanceof Cat) {
 				animalsArray[i][1] = "Cat";
@@ -462,7 +782,7 @@ public class Rescue implements Comparable<Rescue> {
 				animalsArray[i][5] = "No";
 				animalsArray[i][6] = Integer.toString(currentAnimal.getDaysAvailableForAdoption(today));
 			}
-			vetAppointments.add(currentAnimal);
+			i++;
 		}
 
 		return animalsArray;
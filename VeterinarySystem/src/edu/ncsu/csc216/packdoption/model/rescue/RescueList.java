@@ -1,9 +1,11 @@
 package edu.ncsu.csc216.packdoption.model.rescue;
 
-import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
+import edu.ncsu.csc216.packdoption.util.SortedArrayList;
+import edu.ncsu.csc216.packdoption.util.SortedList;
 
 /**
- * A RescueList has a SortedLinkedList of Rescues.
+ * A RescueList has a SortedArrayList of Rescues, and can report each change
+ * to them to a MutationListener.
  * 
  * @author Michael Pacheco
  * @author Dania Swelam
@@ -11,13 +13,15 @@ import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
 public class RescueList {
 
 	/** The list of rescues */
-	private SortedLinkedList<Rescue> s;
+	private SortedList<Rescue> s;
+	/** Told about each change to the list and its rescues, or null */
+	private MutationListener mutationListener;
 
 	/**
-	 * Constructs a new RescueList with an empty SortedLinkedList of Rescues.
+	 * Constructs a new RescueList with an empty SortedArrayList of Rescues.
 	 */
 	public RescueList() {
-		s = new SortedLinkedList<>();
+		s = new SortedArrayList<>();
 	}
 
 	/**
@@ -32,6 +36,7 @@ public class RescueList {
 		}
 
 		s.add(r);
+		added(r);
 	}
 
 	/**
@@ -52,6 +57,42 @@ public class RescueList {
 		}
 
 		s.add(newRescue);
+		added(newRescue);
+	}
+
+	/**
+	 * Passes the list's listener on to a rescue just added and tells it about the
+	 * rescue.
+	 * 
+	 * @param r the rescue added
+	 */
+	private void added(Rescue r) {
+		if (mutationListener != null) {
+			r.setMutationListener(mutationListener);
+			mutationListener.rescueAdded(r);
+		}
+	}
+
+	/**
+	 * Returns the listener told about each change to the list and its rescues.
+	 * 
+	 * @return the listener, or null if there is none
+	 */
+	public MutationListener getMutationListener() {
+		return mutationListener;
+	}
+
+	/**
+	 * Sets the listener told about each change to the list and to every rescue in
+	 * it, including rescues added later.
+	 * 
+	 * @param listener the listener, or null to stop telling anything
+	 */
+	public void setMutationListener(MutationListener listener) {
+		this.mutationListener = listener;
+		for (int i = 0; i < s.size(); i++) {
+			s.get(i).setMutationListener(listener);
+		}
 	}
 
 	/**
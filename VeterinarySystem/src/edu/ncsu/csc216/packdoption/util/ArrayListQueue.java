@@ -1,9 +1,16 @@
 package edu.ncsu.csc216.packdoption.util;
 
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 /**
- * Implements the Queue interface with an array data structure.
+ * Implements the Queue interface with an array data structure. A count of each
+ * element in the queue is kept alongside the array so that contains is constant
+ * time.
  * 
  * @param <E> The object element the client works with when constructing the
  *            Generic ArrayList
@@ -22,6 +29,10 @@ public class ArrayListQueue<E> implements Queue<E> {
 	private int front;
 	/** Rear of the queue */
 	private int rear;
+	/** Number of times each element appears in the queue */
+	private Map<E, Integer> counts;
+	/** Number of times the queue has been changed, checked by iterators */
+	private int modCount;
 
 	/**
 	 * Constructor for ArrayListQueue Class.
@@ -32,6 +43,7 @@ public class ArrayListQueue<E> implements Queue<E> {
 		size = 0;
 		front = 0;
 		rear = 0;
+		counts = new HashMap<>();
 	}
 
 	/**
@@ -72,6 +84,8 @@ public class ArrayListQueue<E> implements Queue<E> {
 		list[rear] = element;
 		rear = (rear + 1) % list.length;
 		size++;
+		modCount++;
+		counts.merge(element, 1, Integer::sum);
 		return true;
 	}
 
@@ -90,6 +104,8 @@ public class ArrayListQueue<E> implements Queue<E> {
 		list[front] = null;
 		front = (front + 1) % list.length;
 		size--;
+		modCount++;
+		counts.computeIfPresent(element, (e, count) -> count == 1 ? null : count - 1);
 		return element;
 	}
 
@@ -107,6 +123,73 @@ public class ArrayListQueue<E> implements Queue<E> {
 		return list[front];
 	}
 
+	/**
+	 * Returns the element at the given position from the front of the queue
+	 * without removing it.
+	 * 
+	 * @param index the position of the element from the front of the queue
+	 * @return the element at the given position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	@Override
+	public E peek(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		return list[(front + index) % list.length];
+	}
+
+	/**
+	 * Returns a read-only iterator over the queue from front to rear. The iterator
+	 * throws a ConcurrentModificationException if the queue is changed while it
+	 * is in use.
+	 * 
+	 * @return an iterator over the elements of the queue
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new QueueIterator();
+	}
+
+	/**
+	 * A private inner class that walks the ring buffer from front to rear without
+	 * changing the queue.
+	 */
+	private class QueueIterator implements Iterator<E> {
+
+		/** Position of the next element from the front of the queue */
+		private int index;
+		/** The modification count the iterator expects the queue to have */
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return index < size;
+		}
+
+		@Override
+		public E next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return list[(front + index++) % list.length];
+		}
+	}
+
+	/**
+	 * Returns true if the queue contains the specified element.
+	 * 
+	 * @param e element whose presence in the queue is to be tested
+	 * @return true if the queue contains the specified element
+	 */
+	@Override
+	public boolean contains(E e) {
+		return e != null && counts.containsKey(e);
+	}
+
 	/**
 	 * Resizes the array when it reaches capacity.
 	 */
@@ -0,0 +1,287 @@
+package edu.ncsu.csc216.packdoption.util;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A thread-safe implementation of the SortedList interface backed by a
+ * lock-free skip list. add, contains, and removal by element are O(log n) and
+ * may be called from several threads at once; positional access walks the skip
+ * list and is O(index). Cursors are weakly consistent: they never throw because
+ * of concurrent changes and reflect some state of the list at or after the
+ * point the cursor was created.
+ *
+ * Only the list itself is thread-safe. An object that keeps its elements in a
+ * ConcurrentSortedList, such as a Rescue, is not made thread-safe by it.
+ *
+ * Elements that compare as equal but are not equal (such as a Cat and a Dog
+ * with the same name and birthday) are ordered by class name and then hash
+ * code so that both may be stored.
+ *
+ * @param <E> The object element the client works with when constructing the
+ *            Generic list
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+public class ConcurrentSortedList<E extends Comparable<E>> implements SortedList<E> {
+
+	/** Field for the skip list holding the elements */
+	private final ConcurrentSkipListSet<E> set;
+	/** Field for the size of the list, kept because counting the skip list is O(n) */
+	private final AtomicInteger size;
+
+	/** Constructor to initialize the list */
+	public ConcurrentSortedList() {
+		set = new ConcurrentSkipListSet<>(new TieBreakingComparator<E>());
+		size = new AtomicInteger();
+	}
+
+	/**
+	 * Orders elements by compareTo, breaking ties between elements that are not
+	 * equal by class name and then hash code.
+	 *
+	 * @param <E> the element type being compared
+	 */
+	private static class TieBreakingComparator<E extends Comparable<E>> implements Comparator<E> {
+
+		@Override
+		public int compare(E a, E b) {
+			int result = a.compareTo(b);
+			if (result != 0 || a.equals(b)) {
+				return result;
+			}
+			result = a.getClass().getName().compareTo(b.getClass().getName());
+			if (result != 0) {
+				return result;
+			}
+			return Integer.compare(a.hashCode(), b.hashCode());
+		}
+	}
+
+	/**
+	 * A private inner class that provides a weakly consistent cursor for iterating
+	 * forward through the list without changing the list.
+	 */
+	private class Cursor implements SimpleListIterator<E> {
+
+		/** Field for the underlying skip list iterator */
+		private final Iterator<E> it;
+
+		/** Constructor for Cursor */
+		public Cursor() {
+			this.it = set.iterator();
+		}
+
+		/**
+		 * Returns true if the iteration has more elements.
+		 *
+		 * @return true if the iteration has more elements
+		 */
+		@Override
+		public boolean hasNext() {
+			return it.hasNext();
+		}
+
+		/**
+		 * Returns the next element in the iteration.
+		 *
+		 * @return the next element in the iteration
+		 * @throws NoSuchListElementException if the iteration has no more elements
+		 */
+		@Override
+		public E next() {
+			try {
+				return it.next();
+			} catch (NoSuchElementException e) {
+				throw new NoSuchListElementException("No element available with call to next.");
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return size.get();
+	}
+
+	/**
+	 * Returns true if this list contains no elements.
+	 *
+	 * @return true if this list contains no elements
+	 */
+	@Override
+	public boolean isEmpty() {
+		return set.isEmpty();
+	}
+
+	/**
+	 * Returns true if this list contains the specified element.
+	 *
+	 * @param e element whose presence in this list is to be tested
+	 * @return true if this list contains the specified element
+	 */
+	@Override
+	public boolean contains(E e) {
+		return e != null && set.contains(e);
+	}
+
+	/**
+	 * Adds the specified element to the list in sorted order. The duplicate check
+	 * and the insertion happen atomically, so two threads adding the same element
+	 * cannot both succeed.
+	 *
+	 * @param e element to be added to this list
+	 * @return true (as specified by Collection.add)
+	 * @throws NullPointerException     if the specified element is null
+	 * @throws IllegalArgumentException if the specified element already exists in
+	 *                                  the list
+	 */
+	@Override
+	public boolean add(E e) {
+		if (e == null) {
+			throw new NullPointerException();
+		}
+		if (!set.add(e)) {
+			throw new IllegalArgumentException();
+		}
+		size.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Returns the element at the specified position in this list.
+	 *
+	 * @param index the index of the element to return
+	 * @return the element at the specified position in this list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	@Override
+	public E get(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+		Iterator<E> it = set.iterator();
+		for (int i = 0; it.hasNext(); i++) {
+			E e = it.next();
+			if (i == index) {
+				return e;
+			}
+		}
+		throw new IndexOutOfBoundsException();
+	}
+
+	/**
+	 * Removes the element at the specified position in this list. If another
+	 * thread removes the element first, the element then at the position is
+	 * looked up and removed instead, so the element returned is always one this
+	 * call removed.
+	 *
+	 * @param index the index of the element to be removed
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	@Override
+	public E remove(int index) {
+		while (true) {
+			E e = get(index);
+			if (set.remove(e)) {
+				size.decrementAndGet();
+				return e;
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the specified element in this
+	 * list, or -1 if this list does not contain the element.
+	 *
+	 * @param e element to search for
+	 * @return the index of the first occurrence of the specified element in this
+	 *         list, or -1 if this list does not contain the element
+	 */
+	@Override
+	public int indexOf(E e) {
+		if (!contains(e)) {
+			return -1;
+		}
+		int index = 0;
+		for (E current : set) {
+			if (current.equals(e)) {
+				return index;
+			}
+			index++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns a weakly consistent SimpleListIterator.
+	 *
+	 * @return a new Cursor instance
+	 */
+	@Override
+	public SimpleListIterator<E> iterator() {
+		return new Cursor();
+	}
+
+	/**
+	 * Returns a string representation of the list in the same format as
+	 * SortedLinkedList, “-A\n-B\n…-X”. An empty list would return “”.
+	 *
+	 * @return a string representation of the list
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (E e : set) {
+			sb.append("-").append(e).append("\n");
+		}
+		return sb.toString().trim();
+	}
+
+	/**
+	 * Returns the hash code value for this list.
+	 *
+	 * @return the hash code value for this list
+	 */
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for (E e : set) {
+			result = 31 * result + e.hashCode();
+		}
+		return result;
+	}
+
+	/**
+	 * Compares the specified object with this list for equality.
+	 *
+	 * @param obj the object to be compared for equality with this list
+	 * @return true if the specified object is equal to this list
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		ConcurrentSortedList<?> other = (ConcurrentSortedList<?>) obj;
+		Iterator<?> it1 = set.iterator();
+		Iterator<?> it2 = other.set.iterator();
+		while (it1.hasNext() && it2.hasNext()) {
+			if (!it1.next().equals(it2.next())) {
+				return false;
+			}
+		}
+		return !it1.hasNext() && !it2.hasNext();
+	}
+}
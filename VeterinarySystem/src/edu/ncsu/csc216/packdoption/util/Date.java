@@ -1,11 +1,14 @@
 package edu.ncsu.csc216.packdoption.util;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * A class that represents a date as a month, a day, and a year (M/D/YYYY).
- * Implements the Comparable interface.
+ * Implements the Comparable interface. Each date also stores its epoch day, the
+ * number of days since 1/1/2000 counting leap days, so that comparing dates and
+ * counting the days between them is a single subtraction.
+ * 
+ * Dates are immutable. The of and parse factories return a shared instance for
+ * each day from 2000 through 2050, so repeated lookups of the same date do not
+ * allocate.
  * 
  * @author Michael Pacheco
  * @author Dania Swelam
@@ -13,11 +16,22 @@ import java.util.regex.Pattern;
 public class Date implements Comparable<Date> {
 
 	/** Field for month in date. */
-	private int month;
+	private final int month;
 	/** Field for day in date. */
-	private int day;
+	private final int day;
 	/** Field for year in date. */
-	private int year;
+	private final int year;
+	/** Field for the number of days from 1/1/2000 to the date. */
+	private final int epochDay;
+
+	/** The first year a date can have. */
+	private static final int MIN_YEAR = 2000;
+	/** The last year a date can have. */
+	private static final int MAX_YEAR = 2050;
+	/** Number of days before the first of each month in a common year. */
+	private static final int[] DAYS_BEFORE_MONTH = { 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334 };
+	/** The shared instance of each date, indexed by epoch day and filled on use. */
+	private static final Date[] CACHE = new Date[toEpochDay(12, 31, MAX_YEAR) + 1];
 
 	/**
 	 * Constructs a Date with specified month, day, and year.
@@ -37,6 +51,7 @@ public class Date implements Comparable<Date> {
 		this.month = month;
 		this.day = day;
 		this.year = year;
+		this.epochDay = toEpochDay(month, day, year);
 	}
 
 	/**
@@ -51,14 +66,129 @@ public class Date implements Comparable<Date> {
 	 */
 	public Date(String date) {
 
-		if (!isValidDate(date)) {
+		Date parsed = parse(date);
+		this.month = parsed.month;
+		this.day = parsed.day;
+		this.year = parsed.year;
+		this.epochDay = parsed.epochDay;
+	}
+
+	/**
+	 * Returns the shared Date with the specified month, day, and year.
+	 * 
+	 * @param month the month (1-12)
+	 * @param day   the day (1-31)
+	 * @param year  the year (2000-2050)
+	 * @return the date
+	 * @throws IllegalArgumentException with “Invalid date” message if month, day,
+	 *                                  and year do not form a valid date.
+	 */
+	public static Date of(int month, int day, int year) {
+
+		if (!isValidDate(month, day, year)) {
 			throw new IllegalArgumentException("Invalid date");
 		}
 
-		String[] parts = date.split("/");
-		this.month = Integer.parseInt(parts[0]);
-		this.day = Integer.parseInt(parts[1]);
-		this.year = Integer.parseInt(parts[2]);
+		int epochDay = toEpochDay(month, day, year);
+		Date date = CACHE[epochDay];
+		if (date == null) {
+			date = new Date(month, day, year);
+			CACHE[epochDay] = date;
+		}
+		return date;
+	}
+
+	/**
+	 * Returns the shared Date with the given number of days from 1/1/2000.
+	 * 
+	 * @param epochDay the epoch day of the date
+	 * @return the date
+	 * @throws IllegalArgumentException with “Invalid date” message if the day is
+	 *                                  not between 1/1/2000 and 12/31/2050.
+	 */
+	public static Date ofEpochDay(int epochDay) {
+
+		if (epochDay < 0 || epochDay >= CACHE.length) {
+			throw new IllegalArgumentException("Invalid date");
+		}
+		Date date = CACHE[epochDay];
+		if (date != null) {
+			return date;
+		}
+
+		int year = MIN_YEAR + epochDay / 366;
+		while (toEpochDay(1, 1, year + 1) <= epochDay) {
+			year++;
+		}
+		int dayOfYear = epochDay - toEpochDay(1, 1, year);
+		int leapDay = isLeapYear(year) ? 1 : 0;
+		int month = 12;
+		while (DAYS_BEFORE_MONTH[month - 1] + (month > 2 ? leapDay : 0) > dayOfYear) {
+			month--;
+		}
+		int day = dayOfYear - DAYS_BEFORE_MONTH[month - 1] - (month > 2 ? leapDay : 0) + 1;
+		return of(month, day, year);
+	}
+
+	/**
+	 * Returns the shared Date for text in the format M/D/YYYY, where the month and
+	 * day may have one or two digits.
+	 * 
+	 * @param text the date text
+	 * @return the date
+	 * @throws IllegalArgumentException with “Invalid date” message if the text is
+	 *                                  not a valid date.
+	 */
+	public static Date parse(CharSequence text) {
+
+		Date date = tryParse(text);
+		if (date == null) {
+			throw new IllegalArgumentException("Invalid date");
+		}
+		return date;
+	}
+
+	/**
+	 * Reads text in the format M/D/YYYY one character at a time and returns the
+	 * shared Date it names.
+	 * 
+	 * @param text the date text
+	 * @return the date, or null if the text is not a valid date
+	 */
+	private static Date tryParse(CharSequence text) {
+
+		int length = text.length();
+		int field = 0;
+		int value = 0;
+		int digits = 0;
+		int month = 0;
+		int day = 0;
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c >= '0' && c <= '9') {
+				digits++;
+				if (digits > (field == 2 ? 4 : 2)) {
+					return null;
+				}
+				value = value * 10 + (c - '0');
+			} else if (c == '/' && field < 2 && digits > 0) {
+				if (field == 0) {
+					month = value;
+				} else {
+					day = value;
+				}
+				field++;
+				value = 0;
+				digits = 0;
+			} else {
+				return null;
+			}
+		}
+
+		if (field != 2 || digits != 4 || !isValidDate(month, day, value)) {
+			return null;
+		}
+		return of(month, day, value);
 	}
 
 	/**
@@ -91,6 +221,58 @@ public class Date implements Comparable<Date> {
 		return year;
 	}
 
+	/**
+	 * Returns the number of days from 1/1/2000 to the date, so that 1/1/2000 has
+	 * epoch day 0.
+	 * 
+	 * @return the epoch day of the date
+	 */
+	public int getEpochDay() {
+
+		return epochDay;
+	}
+
+	/**
+	 * Returns whether the given year is a leap year.
+	 * 
+	 * @param year the year
+	 * @return true if the year has a February 29
+	 */
+	private static boolean isLeapYear(int year) {
+
+		return (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+	}
+
+	/**
+	 * Returns the number of days from 1/1/2000 to a valid date.
+	 * 
+	 * @param month the month
+	 * @param day   the day
+	 * @param year  the year
+	 * @return the epoch day of the date
+	 */
+	private static int toEpochDay(int month, int day, int year) {
+
+		int yearsBefore = year - MIN_YEAR;
+		int leapDaysBefore = leapYearsThrough(year - 1) - leapYearsThrough(MIN_YEAR - 1);
+		int days = yearsBefore * 365 + leapDaysBefore + DAYS_BEFORE_MONTH[month - 1] + day - 1;
+		if (month > 2 && isLeapYear(year)) {
+			days++;
+		}
+		return days;
+	}
+
+	/**
+	 * Returns the number of leap years from year 1 through the given year.
+	 * 
+	 * @param year the last year to count
+	 * @return the number of leap years up to and including year
+	 */
+	private static int leapYearsThrough(int year) {
+
+		return year / 4 - year / 100 + year / 400;
+	}
+
 	/**
 	 * Checks if the given parameters form a valid date.
 	 * 
@@ -105,8 +287,7 @@ public class Date implements Comparable<Date> {
 			return false;
 		}
 
-		boolean isLeapYear = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
-		int[] daysInMonth = { 31, isLeapYear ? 29 : 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
+		int[] daysInMonth = { 31, isLeapYear(year) ? 29 : 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
 
 		return day <= daysInMonth[month - 1];
 	}
@@ -119,19 +300,7 @@ public class Date implements Comparable<Date> {
 	 */
 	public static boolean isValidDate(String date) {
 
-		String regex = "^(\\d{1,2})/(\\d{1,2})/(\\d{4})$";
-		Pattern pattern = Pattern.compile(regex);
-		Matcher matcher = pattern.matcher(date);
-
-		if (!matcher.matches()) {
-			return false;
-		}
-
-		int month = Integer.parseInt(matcher.group(1));
-		int day = Integer.parseInt(matcher.group(2));
-		int year = Integer.parseInt(matcher.group(3));
-
-		return isValidDate(month, day, year);
+		return tryParse(date) != null;
 	}
 
 	/**
@@ -146,26 +315,7 @@ public class Date implements Comparable<Date> {
 	@Override
 	public int compareTo(Date o) {
 
-		if (this.year != o.year) {
-			if (this.year > o.year) {
-				return 1;
-			} else if (this.year < o.year) {
-				return -1;
-			}
-		} else if (this.month != o.month) {
-			if (this.month > o.month) {
-				return 1;
-			} else if (this.month < o.month) {
-				return -1;
-			}
-		} else if (this.day != o.day) {
-			if (this.day > o.day) {
-				return 1;
-			} else if (this.day < o.day) {
-				return -1;
-			}
-		}
-		return 0;
+		return Integer.compare(epochDay, o.epochDay);
 	}
 
 	/**
@@ -214,34 +364,15 @@ public class Date implements Comparable<Date> {
 	}
 
 	/**
-	 * Returns the number of days between this date and another date. Number will be
-	 * negative if other is before this.
+	 * Returns the number of days between this date and another date, counting leap
+	 * days. Number will be negative if other is before this.
 	 * 
 	 * @param other the number of days between dates.
 	 * @return the number of days
 	 */
 	public int daysTo(Date other) {
 
-		int[] daysInMonth = { 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
-
-		int thisDays = 0;
-		int otherDays = 0;
-
-		// Calculate days for 'this' date
-		thisDays += (this.year - 2000) * 365;
-		for (int i = 0; i < this.month - 1; i++) {
-			thisDays += daysInMonth[i];
-		}
-		thisDays += this.day;
-
-		// Calculate days for 'other' date
-		otherDays += (other.year - 2000) * 365;
-		for (int i = 0; i < other.month - 1; i++) {
-			otherDays += daysInMonth[i];
-		}
-		otherDays += other.day;
-
-		return otherDays - thisDays;
+		return other.epochDay - epochDay;
 	}
 
 	/**
@@ -255,8 +386,14 @@ public class Date implements Comparable<Date> {
 	 */
 	public int yearsTo(Date other) {
 
-		return daysTo(other) / 365;
-
+		if (other.epochDay < epochDay) {
+			return -other.yearsTo(this);
+		}
+		int years = other.year - year;
+		if (other.month < month || (other.month == month && other.day < day)) {
+			years--;
+		}
+		return years;
 	}
 
-}
\ No newline at end of file
+}
@@ -1,7 +1,10 @@
 package edu.ncsu.csc216.packdoption.util;
 
+import java.util.Iterator;
+
 /**
- * This interface is a subset of the java.util.Queue interface.
+ * This interface is a subset of the java.util.Queue interface. Queues can be
+ * read in order without removing anything, through iterator or peek(int).
  * 
  * This interface is adapted from java.util.Queue.
  * 
@@ -9,7 +12,7 @@ package edu.ncsu.csc216.packdoption.util;
  *
  * @param <E> List element type
  */
-public interface Queue<E> {
+public interface Queue<E> extends Iterable<E> {
 	/**
 	 * Inserts the specified element into this queue if it is possible to do so
 	 * immediately without violating capacity restrictions, returning true upon
@@ -40,6 +43,36 @@ public interface Queue<E> {
 	 */
 	E element();
 
+	/**
+	 * Retrieves, but does not remove, the element at the given position from the
+	 * head of this queue, where the head is at index 0.
+	 * 
+	 * @param index the position of the element from the head of the queue
+	 * @return the element at the given position
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size())
+	 */
+	E peek(int index);
+
+	/**
+	 * Returns a read-only iterator over the elements of this queue from head to
+	 * rear. The iterator does not support remove.
+	 * 
+	 * @return an iterator over the elements of this queue
+	 */
+	@Override
+	Iterator<E> iterator();
+
+	/**
+	 * Returns true if this queue contains the specified element. More formally,
+	 * returns true if and only if this queue contains at least one element a such
+	 * that e.equals(a).
+	 * 
+	 * @param e element whose presence in this queue is to be tested
+	 * @return true if this queue contains the specified element
+	 */
+	boolean contains(E e);
+
 	/**
 	 * Returns the number of elements in this collection.
 	 * 
@@ -1,7 +1,10 @@
 package edu.ncsu.csc216.packdoption.util;
 
 /**
- * Represents a cursor into a list that can move forward.
+ * Represents a cursor into a list that can move forward. Cursors over
+ * SortedLinkedList and SortedArrayList are fail-fast: once the list is
+ * structurally modified other than through the cursor, the next call to next
+ * throws a ConcurrentModificationException.
  * 
  * @author Jo Perry
  *
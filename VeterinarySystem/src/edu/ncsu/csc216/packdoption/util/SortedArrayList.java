@@ -0,0 +1,311 @@
+package edu.ncsu.csc216.packdoption.util;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+
+/**
+ * An implementation of the SortedList interface with a contiguous array data
+ * structure. Elements are kept in sorted order so that get is constant time and
+ * contains and indexOf use a binary search on compareTo.
+ *
+ * @param <E> The object element the client works with when constructing the
+ *            Generic ArrayList
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+public class SortedArrayList<E extends Comparable<E>> implements SortedList<E> {
+
+	/** Initial capacity of the array */
+	private static final int INITIAL_CAPACITY = 10;
+	/** Field for element objects in the list */
+	private E[] list;
+	/** Field for the size of the list */
+	private int size;
+	/** Field for the number of structural modifications, checked by cursors */
+	private int modCount;
+
+	/** Constructor to initialize the list */
+	public SortedArrayList() {
+		this(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Constructor to initialize the list with room for the given number of
+	 * elements before the array needs to grow.
+	 *
+	 * @param capacity the initial capacity of the list
+	 * @throws IllegalArgumentException if capacity is negative
+	 */
+	@SuppressWarnings("unchecked")
+	public SortedArrayList(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException();
+		}
+		list = (E[]) new Comparable<?>[Math.max(capacity, 1)];
+		size = 0;
+	}
+
+	/**
+	 * A private inner class that provides a cursor for iterating forward through
+	 * the list without changing the list.
+	 */
+	private class Cursor implements SimpleListIterator<E> {
+
+		/** Field for index of the next element in list */
+		int current;
+		/** Field for the modification count the cursor expects the list to have */
+		int expectedModCount;
+
+		/** Constructor for Cursor */
+		public Cursor() {
+			this.current = 0;
+			this.expectedModCount = modCount;
+		}
+
+		/**
+		 * Returns true if the iteration has more elements.
+		 *
+		 * @return true if the iteration has more elements
+		 */
+		@Override
+		public boolean hasNext() {
+			return current < size;
+		}
+
+		/**
+		 * Returns the next element in the iteration.
+		 *
+		 * @return the next element in the iteration
+		 * @throws NoSuchListElementException      if the iteration has no more
+		 *                                         elements
+		 * @throws ConcurrentModificationException if the list was modified since
+		 *                                         the cursor was created
+		 */
+		@Override
+		public E next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchListElementException("No element available with call to next.");
+			}
+			return list[current++];
+		}
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if this list contains no elements.
+	 *
+	 * @return true if this list contains no elements
+	 */
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns true if this list contains the specified element.
+	 *
+	 * @param e element whose presence in this list is to be tested
+	 * @return true if this list contains the specified element
+	 */
+	@Override
+	public boolean contains(E e) {
+		return indexOf(e) != -1;
+	}
+
+	/**
+	 * Adds the specified element to the list in sorted order. Elements that
+	 * compare equal to e but are not equal to it are kept ahead of e, matching the
+	 * insertion order of SortedLinkedList.
+	 *
+	 * @param e element to be added to this list
+	 * @return true (as specified by Collection.add)
+	 * @throws NullPointerException     if the specified element is null
+	 * @throws IllegalArgumentException if the specified element already exists in
+	 *                                  the list
+	 */
+	@Override
+	public boolean add(E e) {
+		if (e == null) {
+			throw new NullPointerException();
+		}
+
+		int low = lowerBound(e);
+		int high = low;
+		while (high < size && list[high].compareTo(e) == 0) {
+			if (list[high].equals(e)) {
+				throw new IllegalArgumentException();
+			}
+			high++;
+		}
+
+		if (size == list.length) {
+			growArray();
+		}
+		System.arraycopy(list, high, list, high + 1, size - high);
+		list[high] = e;
+		size++;
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * Returns the element at the specified position in this list.
+	 *
+	 * @param index the index of the element to return
+	 * @return the element at the specified position in this list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	@Override
+	public E get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		return list[index];
+	}
+
+	/**
+	 * Removes the element at the specified position in this list.
+	 *
+	 * @param index the index of the element to be removed
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	@Override
+	public E remove(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		E removed = list[index];
+		System.arraycopy(list, index + 1, list, index, size - index - 1);
+		list[--size] = null;
+		modCount++;
+		return removed;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the specified element in this
+	 * list, or -1 if this list does not contain the element.
+	 *
+	 * @param e element to search for
+	 * @return the index of the first occurrence of the specified element in this
+	 *         list, or -1 if this list does not contain the element
+	 */
+	@Override
+	public int indexOf(E e) {
+		if (e == null) {
+			return -1;
+		}
+		for (int i = lowerBound(e); i < size && list[i].compareTo(e) == 0; i++) {
+			if (list[i].equals(e)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns a SimpleListIterator.
+	 *
+	 * @return a new Cursor instance
+	 */
+	@Override
+	public SimpleListIterator<E> iterator() {
+		return new Cursor();
+	}
+
+	/**
+	 * Returns the index of the first element that is not less than e, or size if
+	 * every element is less than e.
+	 *
+	 * @param e the element to search for
+	 * @return the first index whose element compares greater than or equal to e
+	 */
+	private int lowerBound(E e) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (list[mid].compareTo(e) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Doubles the capacity of the array when it reaches capacity.
+	 */
+	private void growArray() {
+		list = Arrays.copyOf(list, list.length * 2);
+	}
+
+	/**
+	 * Returns a string representation of the list in the same format as
+	 * SortedLinkedList, “-A\n-B\n…-X”. An empty list would return “”.
+	 *
+	 * @return a string representation of the list
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < size; i++) {
+			sb.append("-").append(list[i]).append("\n");
+		}
+		return sb.toString().trim();
+	}
+
+	/**
+	 * Returns the hash code value for this list.
+	 *
+	 * @return the hash code value for this list
+	 */
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for (int i = 0; i < size; i++) {
+			result = 31 * result + list[i].hashCode();
+		}
+		return result;
+	}
+
+	/**
+	 * Compares the specified object with this list for equality.
+	 *
+	 * @param obj the object to be compared for equality with this list
+	 * @return true if the specified object is equal to this list
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		SortedArrayList<?> other = (SortedArrayList<?>) obj;
+		if (size != other.size) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (!list[i].equals(other.list[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -1,5 +1,7 @@
 package edu.ncsu.csc216.packdoption.util;
 
+import java.util.ConcurrentModificationException;
+
 /**
  * An implementation of the SortedList interface with a data structure of linked
  * Nodes.
@@ -13,12 +15,17 @@ public class SortedLinkedList<E extends Comparable<E>> implements SortedList<E>
 
 	/** Field for front node of list */
 	private Node<E> head;
+	/** Field for last node of list, so in-order appends do not walk the list */
+	private Node<E> tail;
 	/** Field for the size of the list */
 	private int size;
+	/** Field for the number of structural modifications, checked by cursors */
+	private int modCount;
 
 	/** Constructor to initialize the list */
 	public SortedLinkedList() {
 		head = null;
+		tail = null;
 		size = 0;
 	}
 
@@ -55,10 +62,13 @@ public class SortedLinkedList<E extends Comparable<E>> implements SortedList<E>
 
 		/** Field for current node in list */
 		Node<E> current;
+		/** Field for the modification count the cursor expects the list to have */
+		int expectedModCount;
 
 		/** Constructor for Cursor */
 		public Cursor() {
 			this.current = head;
+			this.expectedModCount = modCount;
 		}
 
 		/**
@@ -75,10 +85,16 @@ public class SortedLinkedList<E extends Comparable<E>> implements SortedList<E>
 		 * Returns the next element in the iteration.
 		 * 
 		 * @return the next element in the iteration
-		 * @throws NoSuchListElementException if the iteration has no more elements
+		 * @throws NoSuchListElementException      if the iteration has no more
+		 *                                         elements
+		 * @throws ConcurrentModificationException if the list was modified since
+		 *                                         the cursor was created
 		 */
 		@Override
 		public E next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
 			if (!hasNext()) {
 				throw new NoSuchListElementException("No element available with call to next.");
 			}
@@ -114,8 +130,12 @@ public class SortedLinkedList<E extends Comparable<E>> implements SortedList<E>
 		} else {
 			previous.next = current.next;
 		}
+		if (current == tail) {
+			tail = previous;
+		}
 
 		size--;
+		modCount++;
 		return current.data;
 	}
 
@@ -179,9 +199,13 @@ public class SortedLinkedList<E extends Comparable<E>> implements SortedList<E>
 	}
 
 	/**
-	 * Appends the specified element to the end of this list.
+	 * Adds the specified element to the list in sorted order. The duplicate check
+	 * and the search for the insertion point are done in the same traversal, since
+	 * an element equal to e must compare as equal to it and so lies before the
+	 * insertion point. An element greater than the last element is appended
+	 * without a traversal.
 	 * 
-	 * @param e element to be appended to this list
+	 * @param e element to be added to this list
 	 * @return true (as specified by Collection.add)
 	 * @throws NullPointerException     if the specified element is null
 	 * @throws IllegalArgumentException if the specified element already exists in
@@ -192,29 +216,47 @@ public class SortedLinkedList<E extends Comparable<E>> implements SortedList<E>
 		if (e == null) {
 			throw new NullPointerException();
 		}
-		if (contains(e)) {
-			throw new IllegalArgumentException();
-		}
 
-		Node<E> newNode = new Node<>(e);
-		if (head == null || head.data.compareTo(e) > 0) {
-			newNode.next = head;
-			head = newNode;
+		Node<E> previous = null;
+		Node<E> current = head;
+		if (tail != null && tail.data.compareTo(e) < 0) {
+			previous = tail;
+			current = null;
 		} else {
-			Node<E> current = head;
-			Node<E> previous = null;
 			while (current != null && current.data.compareTo(e) <= 0) {
+				if (current.data.equals(e)) {
+					throw new IllegalArgumentException();
+				}
 				previous = current;
 				current = current.next;
 			}
-			newNode.next = current;
-			previous.next = newNode;
 		}
 
+		link(previous, new Node<>(e), current);
 		size++;
+		modCount++;
 		return true;
 	}
 
+	/**
+	 * Links a new node in between two adjacent nodes of the list.
+	 * 
+	 * @param previous the node before the new node, or null if it is the new head
+	 * @param newNode  the node to link in
+	 * @param next     the node after the new node, or null if it is the new tail
+	 */
+	private void link(Node<E> previous, Node<E> newNode, Node<E> next) {
+		newNode.next = next;
+		if (previous == null) {
+			head = newNode;
+		} else {
+			previous.next = newNode;
+		}
+		if (next == null) {
+			tail = newNode;
+		}
+	}
+
 	/**
 	 * Returns the index of the first occurrence of the specified element in this
 	 * list, or -1 if this list does not contain the element.
@@ -242,6 +284,7 @@ public class SortedLinkedList<E extends Comparable<E>> implements SortedList<E>
 	 * 
 	 * @return a new Cursor instance
 	 */
+	@Override
 	public SimpleListIterator<E> iterator() {
 		return new Cursor();
 	}
@@ -112,4 +112,14 @@ public interface SortedList<E extends Comparable<E>> {
 	 */
 	int indexOf(E e);
 
+	// Iteration
+
+	/**
+	 * Returns a cursor over the elements in this list in sorted order. The cursor
+	 * does not change the list.
+	 *
+	 * @return a SimpleListIterator over the elements in this list
+	 */
+	SimpleListIterator<E> iterator();
+
 }
\ No newline at end of file
@@ -240,7 +240,7 @@ public class PackDoptionGUI extends JFrame implements ActionListener {
 		try {
 			PackDoptionManager instance = PackDoptionManager.getInstance();
 			JFileChooser chooser = new JFileChooser("./");
-			FileNameExtensionFilter filterExt = new FileNameExtensionFilter("PackDoption files (md)", "md");
+			FileNameExtensionFilter filterExt = new FileNameExtensionFilter("PackDoption files (md, pds)", "md", "pds");
 			chooser.setFileFilter(filterExt);
 			chooser.setMultiSelectionEnabled(false);
 			if (instance.getFilename() != null) {
@@ -250,7 +250,8 @@ public class PackDoptionGUI extends JFrame implements ActionListener {
 			if (returnVal == JFileChooser.APPROVE_OPTION) {
 				String filename = chooser.getSelectedFile().getAbsolutePath();
 				if (chooser.getSelectedFile().getName().trim().equals("")
-						|| !chooser.getSelectedFile().getName().endsWith(".md")) {
+						|| !chooser.getSelectedFile().getName().endsWith(".md")
+								&& !chooser.getSelectedFile().getName().endsWith(".pds")) {
 					throw new IllegalArgumentException();
 				}
 				instance.setFilename(filename);
@@ -272,7 +273,7 @@ public class PackDoptionGUI extends JFrame implements ActionListener {
 		try {
 			PackDoptionManager instance = PackDoptionManager.getInstance();
 			JFileChooser chooser = new JFileChooser("./");
-			FileNameExtensionFilter filterExt = new FileNameExtensionFilter("PackDoption files (md)", "md");
+			FileNameExtensionFilter filterExt = new FileNameExtensionFilter("PackDoption files (md, pds)", "md", "pds");
 			chooser.setFileFilter(filterExt);
 			chooser.setMultiSelectionEnabled(false);
 			int returnVal = chooser.showOpenDialog(this);
@@ -650,7 +651,7 @@ public class PackDoptionGUI extends JFrame implements ActionListener {
 				lblInfoNext.setText("");
 				Animal animal = selectedRescue.getAppointments().element();
 				try {
-					Date date = new Date(txtDate.getText());
+					Date date = Date.parse(txtDate.getText());
 					Note note = new Note(date, txtNote.getText());
 					animal.addNote(note);
 					selectedRescue.getAppointments().remove();
@@ -676,8 +677,9 @@ public class PackDoptionGUI extends JFrame implements ActionListener {
 
 			public void updateResultData() {
 				if (selectedRescue != null) {
-					setData(selectedRescue.getAppointmentsAsArray(new Date(txtDate.getText()))); // IllegalArgumentException
-																									// caught elsewhere
+					Date today = Date.parse(txtDate.getText()); // IllegalArgumentException caught elsewhere
+					selectedRescue.getAppointments().setToday(today);
+					setData(selectedRescue.getAppointmentsAsArray(today));
 
 				} else {
 					setData(null);
@@ -839,7 +841,7 @@ public class PackDoptionGUI extends JFrame implements ActionListener {
 					int row = table.getSelectedRow();
 					if (row >= 0) {
 						selectedAnimal = selectedRescue.getAnimal(model.getValueAt(row, 0).toString(),
-								new Date(model.getValueAt(row, 2).toString()));
+								Date.parse(model.getValueAt(row, 2).toString()));
 					}
 					PackDoptionGUI.this.update();
 				}
@@ -1052,8 +1054,8 @@ public class PackDoptionGUI extends JFrame implements ActionListener {
 				if (selectedAnimal == null) {
 					try {
 						String name = txtName.getText().trim();
-						Date birthday = new Date(txtBirthday.getText().trim());
-						Date dateEnterRescue = new Date(txtDateEnterRescue.getText().trim());
+						Date birthday = Date.parse(txtBirthday.getText().trim());
+						Date dateEnterRescue = Date.parse(txtDateEnterRescue.getText().trim());
 						Date dateAdopted;
 						String owner;
 						boolean adopted;
@@ -1063,7 +1065,7 @@ public class PackDoptionGUI extends JFrame implements ActionListener {
 							owner = null;
 						} else {
 							adopted = true;
-							dateAdopted = new Date(txtDateAdopted.getText().trim());
+							dateAdopted = Date.parse(txtDateAdopted.getText().trim());
 							owner = txtOwner.getText();
 						}
 						Size size = (Size) cbSize.getSelectedItem();
@@ -1102,7 +1104,7 @@ public class PackDoptionGUI extends JFrame implements ActionListener {
 							owner = null;
 						} else {
 							adopted = true;
-							dateAdopted = new Date(txtDateAdopted.getText().trim());
+							dateAdopted = Date.parse(txtDateAdopted.getText().trim());
 							owner = txtOwner.getText();
 						}
 						Size size = (Size) cbSize.getSelectedItem();
@@ -1158,7 +1160,7 @@ public class PackDoptionGUI extends JFrame implements ActionListener {
 						animalList = selectedRescue.availableCats();
 					} else if (filter.equals(FILTER_TYPE[4])) {
 						try {
-							animalList = selectedRescue.availableAnimalsAge(new Date(txtDate.getText()),
+							animalList = selectedRescue.availableAnimalsAge(Date.parse(txtDate.getText()),
 									Integer.parseInt(txtMinAge.getText()), Integer.parseInt(txtMaxAge.getText()));
 						} catch (NumberFormatException nfe) {
 							JOptionPane.showMessageDialog(PackDoptionGUI.this, "Age ranges are not integers.");
@@ -1173,7 +1175,7 @@ public class PackDoptionGUI extends JFrame implements ActionListener {
 						}
 					} else if (filter.equals(FILTER_TYPE[5])) {
 						try {
-							animalList = selectedRescue.availableAnimalsDayRange(new Date(txtDate.getText()),
+							animalList = selectedRescue.availableAnimalsDayRange(Date.parse(txtDate.getText()),
 									Integer.parseInt(txtMinDays.getText()), Integer.parseInt(txtMaxDays.getText()));
 						} catch (NumberFormatException nfe) {
 							JOptionPane.showMessageDialog(PackDoptionGUI.this, "Day ranges are not integers.");
@@ -1189,7 +1191,7 @@ public class PackDoptionGUI extends JFrame implements ActionListener {
 					}
 					if (animalList != null) {
 						SimpleListIterator<Animal> it = animalList.iterator();
-						Date date = new Date(txtDate.getText());
+						Date date = Date.parse(txtDate.getText());
 						Object[][] data = new Object[animalList.size()][];
 						int i = 0;
 						while (it.hasNext()) {
@@ -1197,7 +1199,7 @@ public class PackDoptionGUI extends JFrame implements ActionListener {
 						}
 						setData(data);
 					} else {// ALL
-						setData(selectedRescue.getAnimalsAsArray(new Date(txtDate.getText()))); // IllegalArgumentException
+						setData(selectedRescue.getAnimalsAsArray(Date.parse(txtDate.getText()))); // IllegalArgumentException
 																								// caught elsewhere
 
 						txtMinAge.setText("");
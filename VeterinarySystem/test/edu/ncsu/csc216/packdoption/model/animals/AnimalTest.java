@@ -223,6 +223,35 @@ class AnimalTest {
 		assertEquals(notes, c.getNotes());
 	}
 
+	/**
+	 * Test method for setNoteLoader(), which builds the notes the first time they
+	 * are needed.
+	 */
+	@Test
+	void testSetNoteLoader() {
+		Date birthday = new Date(1, 1, 2015);
+		Cat c = new Cat("Rosie", birthday, Animal.Size.SMALL, true, true, new SortedLinkedList<>(), birthday);
+		assertTrue(c.isNotesLoaded());
+		assertThrows(IllegalArgumentException.class, () -> c.setNoteLoader(null));
+
+		int[] loads = new int[1];
+		c.setNoteLoader(() -> {
+			loads[0]++;
+			SortedLinkedList<Note> notes = new SortedLinkedList<>();
+			notes.add(new Note(birthday, "Born"));
+			return notes;
+		});
+		assertFalse(c.isNotesLoaded());
+		assertEquals(0, loads[0]);
+
+		assertTrue(c.addNote(new Note(new Date(1, 2, 2020), "Checkup")));
+		assertEquals(1, loads[0]);
+		assertTrue(c.isNotesLoaded());
+		assertEquals(2, c.getNotes().size());
+		assertEquals("Rosie (1/1/2015)\n-1/1/2015 Born\n-1/2/2020 Checkup", c.toString());
+		assertEquals(1, loads[0]);
+	}
+
 	/**
 	 * Test method for getSize().
 	 */
@@ -343,6 +372,41 @@ class AnimalTest {
 		assertEquals("Cannot add: Invalid owner", e5.getMessage());
 	}
 
+	/**
+	 * Test method for addAdoptionListener(AdoptionListener) and
+	 * removeAdoptionListener(AdoptionListener).
+	 */
+	@Test
+	void testAdoptionListener() {
+		Date dateAdopted = new Date(1, 2, 2020);
+		Animal c = new Cat("Rosie", new Date(1, 1, 2015), Animal.Size.SMALL, true, true, new SortedLinkedList<>(),
+				new Date(1, 1, 2020));
+		boolean[] heard = new boolean[2];
+		Animal.AdoptionListener listener = (animal, wasAdopted) -> {
+			assertSame(c, animal);
+			heard[0] = true;
+			heard[1] = wasAdopted;
+		};
+
+		assertThrows(IllegalArgumentException.class, () -> c.addAdoptionListener(null));
+		c.addAdoptionListener(listener);
+		c.setAdoptionInfo(true, dateAdopted, "Dania");
+		assertTrue(heard[0]);
+		assertFalse(heard[1]);
+
+		c.setAdoptionInfo(false, null, null);
+		assertTrue(heard[1]);
+
+		heard[0] = false;
+		assertThrows(IllegalArgumentException.class, () -> c.setAdoptionInfo(true, null, "Dania"));
+		assertFalse(heard[0]);
+
+		c.removeAdoptionListener(listener);
+		c.removeAdoptionListener(listener);
+		c.setAdoptionInfo(true, dateAdopted, "Dania");
+		assertFalse(heard[0]);
+	}
+
 	/**
 	 * Test method for setSize(Size).
 	 */
@@ -541,8 +605,8 @@ class AnimalTest {
 				Dog.Breed.BEAGLE);
 		Cat c = new Cat("Rosie", birthday, Animal.Size.SMALL, true, true, notes, dateEnterRescue, false, null, null);
 
-		assertEquals(365, d.getDaysAvailableForAdoption(today));
-		assertEquals(365, c.getDaysAvailableForAdoption(today));
+		assertEquals(366, d.getDaysAvailableForAdoption(today));
+		assertEquals(366, c.getDaysAvailableForAdoption(today));
 
 		d.setAdoptionInfo(true, new Date(1, 1, 2021), "Michael");
 		assertEquals(-1, d.getDaysAvailableForAdoption(today));
@@ -596,10 +660,10 @@ class AnimalTest {
 		Cat c = new Cat("Rosie", birthday, Animal.Size.SMALL, true, true, notes, dateEnterRescue, false, null, null);
 		Date today = new Date(1, 1, 2021);
 
-		String[] expectedDog = { "Luna", "Dog", "1/1/2015", "6", "ADULT", "No", "365" };
+		String[] expectedDog = { "Luna", "Dog", "1/1/2015", "6", "ADULT", "No", "366" };
 		assertArrayEquals(expectedDog, d.getAnimalAsArray(today));
 
-		String[] expectedCat = { "Rosie", "Cat", "1/1/2015", "6", "ADULT", "No", "365" };
+		String[] expectedCat = { "Rosie", "Cat", "1/1/2015", "6", "ADULT", "No", "366" };
 		assertArrayEquals(expectedCat, c.getAnimalAsArray(today));
 	}
 
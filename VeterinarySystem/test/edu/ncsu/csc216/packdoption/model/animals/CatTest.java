@@ -92,7 +92,7 @@ class CatTest {
 
 		assertThrows(IllegalArgumentException.class, () -> cat.getAnimalAsArray(new Date(12, 31, 2014)));
 
-		String[] expectedArray = { "Charlie", "Cat", "1/1/2015", "9", "SENIOR", "No", "1460" };
+		String[] expectedArray = { "Charlie", "Cat", "1/1/2015", "9", "SENIOR", "No", "1461" };
 		assertArrayEquals(expectedArray, cat.getAnimalAsArray(new Date(1, 1, 2024)));
 
 		cat.setAdoptionInfo(true, new Date(1, 1, 2023), "Alice");
@@ -0,0 +1,242 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.packdoption.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.packdoption.model.animals.Animal;
+import edu.ncsu.csc216.packdoption.model.animals.Animal.Size;
+import edu.ncsu.csc216.packdoption.model.animals.Cat;
+import edu.ncsu.csc216.packdoption.model.animals.Dog;
+import edu.ncsu.csc216.packdoption.model.animals.Dog.Breed;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler.Urgency;
+import edu.ncsu.csc216.packdoption.model.rescue.Rescue;
+import edu.ncsu.csc216.packdoption.model.rescue.RescueList;
+import edu.ncsu.csc216.packdoption.util.Date;
+import edu.ncsu.csc216.packdoption.util.Note;
+import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
+
+/**
+ * Test class for PackDoptionJournal class.
+ * 
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+class PackDoptionJournalTest {
+
+	/**
+	 * Copies the rescue records into a directory.
+	 *
+	 * @param dir the directory
+	 * @return the copy
+	 * @throws IOException if the file cannot be copied
+	 */
+	private static Path copyRecords(Path dir) throws IOException {
+		Path file = dir.resolve("rescues.md");
+		Files.copy(Path.of("test-files/rescue_records.md"), file);
+		return file;
+	}
+
+	/**
+	 * Returns a list in the PackDoption file format.
+	 *
+	 * @param list the list
+	 * @return the text of the list
+	 * @throws IOException if the list cannot be written
+	 */
+	private static String text(RescueList list) throws IOException {
+		StringWriter out = new StringWriter();
+		PackDoptionWriter.writeRescueList(out, list);
+		return out.toString();
+	}
+
+	/**
+	 * Makes one change of every kind to a list read from the rescue records.
+	 *
+	 * @param list the list
+	 */
+	private static void change(RescueList list) {
+		list.addRescue("Wake Rescue");
+		Rescue wake = list.getRescue(2);
+		Dog rex = new Dog("Rex", Date.of(1, 2, 2019), Size.LARGE, true, false, new SortedLinkedList<>(),
+				Date.of(3, 4, 2020), Breed.BEAGLE);
+		rex.addNote(new Note(Date.of(3, 4, 2020), "Entered Shelter"));
+		wake.addAnimal(rex);
+		wake.addAppointment(rex, Urgency.URGENT);
+
+		Rescue wuf = list.getRescue(0);
+		Animal lily = wuf.getAnimal("Lily", Date.of(5, 14, 2011));
+		lily.addNote(new Note(Date.of(6, 1, 2021), "Checkup all clear"));
+		lily.setSize(Size.MEDIUM);
+		wuf.setAdoptionInfo(lily, true, Date.of(6, 2, 2021), "Ava");
+		wuf.getAppointments().setUrgency(lily, Urgency.EMERGENCY);
+
+		Rescue ncsu = list.getRescue(1);
+		Animal jackCat = ncsu.getAnimal(2);
+		assertTrue(jackCat instanceof Cat);
+		ncsu.addAppointment(jackCat, Urgency.URGENT);
+		ncsu.getAppointments().remove(ncsu.getAnimal("Jack", Date.of(3, 9, 2001)));
+		ncsu.getAppointments().remove();
+	}
+
+	/**
+	 * Tests that the changes recorded in a journal are made again to a list read
+	 * from the same file.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	void testReplay(@TempDir Path dir) throws IOException {
+		Path file = copyRecords(dir);
+		RescueList list = PackDoptionReader.readRescueListFile(file.toString());
+		PackDoptionJournal journal = new PackDoptionJournal(file.toString());
+		assertEquals(dir.resolve("rescues.md.journal"), journal.getFile());
+		assertEquals(0, journal.open(list));
+		list.setMutationListener(journal);
+		change(list);
+		journal.flush();
+		journal.close();
+
+		RescueList replayed = PackDoptionReader.readRescueListFile(file.toString());
+		journal = new PackDoptionJournal(file.toString());
+		assertEquals(10, journal.open(replayed));
+		assertEquals(text(list), text(replayed));
+		assertEquals(Urgency.EMERGENCY, replayed.getRescue(0).getAppointments()
+				.getUrgency(replayed.getRescue(0).getAnimal("Lily", Date.of(5, 14, 2011))));
+
+		// Changes after a replay follow the replayed ones
+		replayed.setMutationListener(journal);
+		replayed.getRescue(2).getAppointments().remove();
+		journal.close();
+		RescueList again = PackDoptionReader.readRescueListFile(file.toString());
+		journal = new PackDoptionJournal(file.toString());
+		assertEquals(11, journal.open(again));
+		assertEquals(text(replayed), text(again));
+		journal.close();
+	}
+
+	/**
+	 * Tests that a record cut short by a crash, and anything after it, is dropped.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	void testTornRecord(@TempDir Path dir) throws IOException {
+		Path file = copyRecords(dir);
+		RescueList list = PackDoptionReader.readRescueListFile(file.toString());
+		PackDoptionJournal journal = new PackDoptionJournal(file.toString());
+		journal.open(list);
+		list.setMutationListener(journal);
+		list.addRescue("Wake Rescue");
+		list.addRescue("Durham Rescue");
+		journal.close();
+
+		Path journalFile = journal.getFile();
+		byte[] bytes = Files.readAllBytes(journalFile);
+		Files.write(journalFile, Arrays.copyOf(bytes, bytes.length - 3));
+
+		RescueList replayed = PackDoptionReader.readRescueListFile(file.toString());
+		journal = new PackDoptionJournal(file.toString());
+		assertEquals(1, journal.open(replayed));
+		assertEquals(3, replayed.size());
+		assertEquals("Wake Rescue", replayed.getRescue(2).getName());
+		journal.close();
+		assertTrue(Files.size(journalFile) < bytes.length - 3);
+	}
+
+	/**
+	 * Tests that a journal is not replayed into a file saved after it was
+	 * written, and that reset empties it.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	void testReset(@TempDir Path dir) throws IOException {
+		Path file = copyRecords(dir);
+		RescueList list = PackDoptionReader.readRescueListFile(file.toString());
+		PackDoptionJournal journal = new PackDoptionJournal(file.toString());
+		journal.open(list);
+		list.setMutationListener(journal);
+		list.addRescue("Wake Rescue");
+		journal.flush();
+		long header = 20;
+		assertTrue(Files.size(journal.getFile()) > header);
+
+		PackDoptionWriter.writeRescueFile(file.toString(), list);
+		journal.reset();
+		assertEquals(header, Files.size(journal.getFile()));
+		list.addRescue("Durham Rescue");
+		journal.close();
+
+		// Saved without resetting the journal, which then belongs to an older file
+		list.setMutationListener(null);
+		PackDoptionWriter.writeRescueFile(file.toString(), list);
+		Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+		RescueList reread = PackDoptionReader.readRescueListFile(file.toString());
+		journal = new PackDoptionJournal(file.toString());
+		assertEquals(0, journal.open(reread));
+		assertEquals(4, reread.size());
+		assertEquals(header, Files.size(journal.getFile()));
+		journal.close();
+
+		assertThrows(IllegalArgumentException.class, () -> new PackDoptionJournal(null));
+	}
+
+	/**
+	 * Tests that a save while records are still queued drops them, even when the
+	 * committer has already taken them as a batch. The test holds the journal's
+	 * channel lock so the committer waits with its batch until after the reset.
+	 *
+	 * @param dir a temporary directory
+	 * @throws Exception if a file cannot be read or written, or the lock cannot
+	 *                   be reached
+	 */
+	@Test
+	void testResetWhileQueued(@TempDir Path dir) throws Exception {
+		Path file = copyRecords(dir);
+		RescueList list = PackDoptionReader.readRescueListFile(file.toString());
+		PackDoptionJournal journal = new PackDoptionJournal(file.toString());
+		journal.open(list);
+		list.setMutationListener(journal);
+		Field field = PackDoptionJournal.class.getDeclaredField("channelLock");
+		field.setAccessible(true);
+		Object channelLock = field.get(journal);
+
+		synchronized (channelLock) {
+			list.addRescue("Wake Rescue");
+			Thread committer = Thread.getAllStackTraces().keySet().stream()
+					.filter(t -> t.getName().equals("PackDoption journal " + journal.getFile().getFileName()))
+					.findFirst().orElseThrow();
+			while (committer.getState() != Thread.State.BLOCKED) {
+				Thread.sleep(1);
+			}
+			PackDoptionWriter.writeRescueFile(file.toString(), list);
+			journal.reset();
+		}
+		journal.flush();
+		assertEquals(20, Files.size(journal.getFile()));
+		journal.close();
+
+		RescueList reread = PackDoptionReader.readRescueListFile(file.toString());
+		PackDoptionJournal again = new PackDoptionJournal(file.toString());
+		assertEquals(0, again.open(reread));
+		assertEquals(3, reread.size());
+		again.close();
+	}
+
+}
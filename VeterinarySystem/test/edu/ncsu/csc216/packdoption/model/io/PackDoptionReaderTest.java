@@ -5,12 +5,25 @@ package edu.ncsu.csc216.packdoption.model.io;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import edu.ncsu.csc216.packdoption.model.animals.Animal;
 import edu.ncsu.csc216.packdoption.model.animals.Cat;
 import edu.ncsu.csc216.packdoption.model.animals.Dog;
 import edu.ncsu.csc216.packdoption.model.animals.Dog.Breed;
 import edu.ncsu.csc216.packdoption.model.animals.Animal.Size;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler.Urgency;
+import edu.ncsu.csc216.packdoption.model.rescue.Rescue;
 import edu.ncsu.csc216.packdoption.model.rescue.RescueList;
 import edu.ncsu.csc216.packdoption.util.Date;
 import edu.ncsu.csc216.packdoption.util.Note;
@@ -197,4 +210,288 @@ class PackDoptionReaderTest {
 		assertEquals("Unable to load file.", e.getMessage());
 	}
 
+	/**
+	 * Tests that appointments are read with their urgency, defaulting to routine.
+	 */
+	@Test
+	public void testAppointmentUrgency() {
+		RescueList list = PackDoptionReader.readRescueListFile("test-files/appointment_urgency.md");
+		AppointmentScheduler appointments = list.getRescue(0).getAppointments();
+
+		assertEquals(3, appointments.size());
+		assertEquals("Jack", appointments.peek(0).getName());
+		assertEquals(Urgency.EMERGENCY, appointments.getUrgency(appointments.peek(0)));
+		assertEquals("Lily", appointments.peek(1).getName());
+		assertEquals(Urgency.URGENT, appointments.getUrgency(appointments.peek(1)));
+		assertEquals(new Date("3/9/2001"), appointments.peek(2).getBirthday());
+		assertEquals(Urgency.ROUTINE, appointments.getUrgency(appointments.peek(2)));
+	}
+
+	/**
+	 * Tests that an IllegalArgumentException is thrown when an appointment urgency
+	 * is invalid.
+	 */
+	@Test
+	public void testInvalidAppointmentUrgency() {
+		Exception e = assertThrows(IllegalArgumentException.class, () -> {
+			PackDoptionReader.readRescueListFile("test-files/invalid_appointment_urgency.md");
+		});
+
+		assertEquals("Unable to load file.", e.getMessage());
+	}
+
+	/**
+	 * Tests that the buffer size does not change what is read, even when it is
+	 * smaller than a line.
+	 */
+	@Test
+	public void testBufferSize() {
+		PackDoptionReader reader = new PackDoptionReader();
+		assertEquals(PackDoptionReader.DEFAULT_BUFFER_SIZE, reader.getBufferSize());
+		assertThrows(IllegalArgumentException.class, () -> reader.setBufferSize(0));
+
+		reader.setBufferSize(5);
+		assertEquals(5, reader.getBufferSize());
+		assertSameRescues(PackDoptionReader.readRescueListFile("test-files/rescue_records.md"),
+				reader.readRescueList("test-files/rescue_records.md"));
+	}
+
+	/**
+	 * Tests that memory mapping does not change what is read, even when the window
+	 * is smaller than a line.
+	 */
+	@Test
+	public void testMemoryMapped() {
+		PackDoptionReader reader = new PackDoptionReader();
+		assertFalse(reader.isMemoryMapped());
+		assertEquals(PackDoptionReader.DEFAULT_WINDOW_SIZE, reader.getWindowSize());
+		assertThrows(IllegalArgumentException.class, () -> reader.setWindowSize(0));
+
+		reader.setMemoryMapped(true);
+		assertTrue(reader.isMemoryMapped());
+		RescueList expected = PackDoptionReader.readRescueListFile("test-files/rescue_records.md");
+		assertSameRescues(expected, reader.readRescueList("test-files/rescue_records.md"));
+		reader.setWindowSize(16);
+		assertEquals(16, reader.getWindowSize());
+		assertSameRescues(expected, reader.readRescueList("test-files/rescue_records.md"));
+
+		Exception e = assertThrows(IllegalArgumentException.class,
+				() -> reader.readRescueList("test-files/invalid_dog_breed.md"));
+		assertEquals("Unable to load file.", e.getMessage());
+		e = assertThrows(IllegalArgumentException.class, () -> reader.readRescueList("test-files/nonexistentfile.md"));
+		assertEquals("File not found.", e.getMessage());
+	}
+
+	/**
+	 * Tests that parsing rescues in parallel reads the same rescues, in the same
+	 * order, as a serial read.
+	 *
+	 * @param dir a temporary directory for the generated file
+	 * @throws IOException if the generated file cannot be written
+	 */
+	@Test
+	public void testParallel(@TempDir Path dir) throws IOException {
+		PackDoptionReader reader = new PackDoptionReader();
+		assertEquals(1, reader.getParallelism());
+		assertThrows(IllegalArgumentException.class, () -> reader.setParallelism(0));
+		reader.setParallelism(4);
+		assertEquals(4, reader.getParallelism());
+
+		assertSameRescues(PackDoptionReader.readRescueListFile("test-files/rescue_records.md"),
+				reader.readRescueList("test-files/rescue_records.md"));
+
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			text.append("# Rescue ").append(1000 - i).append("\n");
+			for (int j = 0; j < 20; j++) {
+				text.append("* Cat,Cat").append(j).append(",5/14/2011,SMALL,false,true,6/23/2011,NOTES,6/23/2011 Note ")
+						.append(i).append("\n");
+			}
+			text.append("- Cat").append(i % 20).append(",5/14/2011").append(i % 3 == 0 ? ",URGENT" : "").append("\n\n");
+		}
+		Path file = dir.resolve("many_rescues.md");
+		Files.writeString(file, text);
+
+		RescueList expected = PackDoptionReader.readRescueListFile(file.toString());
+		assertEquals(200, expected.size());
+		assertSameRescues(expected, reader.readRescueList(file.toString()));
+		reader.setMemoryMapped(true);
+		reader.setWindowSize(100);
+		assertSameRescues(expected, reader.readRescueList(file.toString()));
+	}
+
+	/**
+	 * Tests that parsing rescues in parallel throws the same exceptions as a
+	 * serial read, and throws them directly rather than copies made by the pool.
+	 */
+	@Test
+	public void testParallelErrors() {
+		String[] files = { "animal_before_rescue.md", "appointment_before_rescue.md", "incorrectly_formatted_data.md",
+			"invalid_GoodWithKids_boolean.md", "invalid_HouseTrained_boolean.md", "invalid_animal_data.md",
+			"invalid_animal_size.md", "invalid_dog_breed.md", "invalid_rescue_line.md",
+			"invalid_appointment_urgency.md", "nonexistentfile.md" };
+		PackDoptionReader reader = new PackDoptionReader();
+		reader.setParallelism(4);
+		for (String name : files) {
+			String filename = "test-files/" + name;
+			Exception expected = assertThrows(IllegalArgumentException.class,
+					() -> PackDoptionReader.readRescueListFile(filename));
+			Exception actual = assertThrows(IllegalArgumentException.class, () -> reader.readRescueList(filename));
+			assertEquals(expected.getMessage(), actual.getMessage(), name);
+			assertNull(actual.getCause(), name);
+		}
+	}
+
+	/**
+	 * Tests that lazy notes are checked as the file is read, built the first time
+	 * they are needed, and still read from the file after it is saved over.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if a file cannot be copied or written
+	 */
+	@Test
+	public void testLazyNotes(@TempDir Path dir) throws IOException {
+		PackDoptionReader reader = new PackDoptionReader();
+		assertFalse(reader.isLazyNotes());
+		reader.setLazyNotes(true);
+		assertTrue(reader.isLazyNotes());
+
+		Path file = dir.resolve("rescues.md");
+		Files.copy(Path.of("test-files/rescue_records.md"), file);
+		RescueList expected = PackDoptionReader.readRescueListFile(file.toString());
+		RescueList actual = reader.readRescueList(file.toString());
+		Cat leo = (Cat) actual.getRescue(0).getAnimal("Leo", Date.of(2, 20, 2019));
+		Cat lily = (Cat) actual.getRescue(0).getAnimal("Lily", Date.of(5, 14, 2011));
+		assertFalse(leo.isNotesLoaded());
+		assertTrue(lily.isNotesLoaded());
+
+		// Saving over the file leaves the notes readable
+		PackDoptionWriter.writeRescueFile(file.toString(), new RescueList());
+		assertEquals(2, leo.getNotes().size());
+		assertTrue(leo.isNotesLoaded());
+		assertEquals(new Note(Date.of(7, 8, 2019), "Entered Shelter"), leo.getNotes().get(1));
+		assertSameRescues(expected, actual);
+
+		reader.setParallelism(4);
+		assertSameRescues(expected, reader.readRescueList("test-files/rescue_records.md"));
+		reader.setMemoryMapped(true);
+		assertSameRescues(expected, reader.readRescueList("test-files/rescue_records.md"));
+
+		Files.writeString(file, "# Rescue\n* Cat,Leo,2/20/2019,SMALL,true,false,7/8/2019,NOTES,2/30/2019 Born\n");
+		Exception e = assertThrows(IllegalArgumentException.class, () -> reader.readRescueList(file.toString()));
+		assertEquals("Unable to load file.", e.getMessage());
+		Files.writeString(file, "# Rescue\n* Cat,Leo,2/20/2019,SMALL,true,false,7/8/2019,NOTES,2/20/2019  \n");
+		assertThrows(IllegalArgumentException.class, () -> reader.readRescueList(file.toString()));
+	}
+
+	/**
+	 * Tests that a repeated note is rejected, and notes that differ in their date
+	 * or message are not, the same way whether notes are lazy or not.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if a file cannot be written
+	 */
+	@Test
+	public void testRepeatedNotes(@TempDir Path dir) throws IOException {
+		Path repeated = dir.resolve("repeated.md");
+		Files.writeString(repeated,
+				"# Rescue\n* Cat,Leo,2/20/2019,SMALL,true,false,7/8/2019,NOTES,2/20/2019 Born,2/20/2019  Born \n");
+		Path distinct = dir.resolve("distinct.md");
+		Files.writeString(distinct, "# Rescue\n* Cat,Leo,2/20/2019,SMALL,true,false,7/8/2019,NOTES,2/20/2019 Born"
+				+ ",2/21/2019 Born,2/20/2019 Borne\n");
+
+		PackDoptionReader reader = new PackDoptionReader();
+		for (int parallelism : new int[] { 1, 4 }) {
+			for (boolean lazy : new boolean[] { false, true }) {
+				reader.setParallelism(parallelism);
+				reader.setLazyNotes(lazy);
+				Exception e = assertThrows(IllegalArgumentException.class,
+						() -> reader.readRescueList(repeated.toString()));
+				assertEquals("Unable to load file.", e.getMessage());
+				assertEquals(3, reader.readRescueList(distinct.toString()).getRescue(0).getAnimal(0).getNotes()
+						.size());
+			}
+		}
+	}
+
+	/**
+	 * Tests that lazy notes are not built from a file changed in place since it
+	 * was read, even when its size is the same.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if the file cannot be written
+	 */
+	@Test
+	public void testLazyNotesChanged(@TempDir Path dir) throws IOException {
+		Path file = dir.resolve("changed.md");
+		String text = "# Rescue\n* Cat,Leo,2/20/2019,SMALL,true,false,7/8/2019,NOTES,2/20/2019 Born\n";
+		Files.writeString(file, text);
+		PackDoptionReader reader = new PackDoptionReader();
+		reader.setLazyNotes(true);
+		Animal leo = reader.readRescueList(file.toString()).getRescue(0).getAnimal(0);
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap("Bone".getBytes(StandardCharsets.US_ASCII)), text.indexOf("Born"));
+		}
+		Exception e = assertThrows(IllegalArgumentException.class, () -> leo.getNotes());
+		assertEquals("Unable to load file.", e.getMessage());
+	}
+
+	/**
+	 * Tests that owners and note messages repeated across records are read as
+	 * one shared String, even when the messages are spaced differently, whether
+	 * notes are built as they are read or lazily.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if the file cannot be written
+	 */
+	@Test
+	public void testSharedStrings(@TempDir Path dir) throws IOException {
+		StringBuilder text = new StringBuilder("# Rescue\n");
+		for (int i = 0; i < 10; i++) {
+			text.append("* Cat,Cat").append(i)
+					.append(",5/14/2011,SMALL,false,true,6/23/2011,true,7/1/2011,Smith Family,NOTES")
+					.append(i % 2 == 0 ? ",6/23/2011 Born in NC" : ",6/23/2011   Born in NC ").append(",7/1/2011 Fed\n");
+		}
+		Path file = dir.resolve("shared.md");
+		Files.writeString(file, text);
+
+		PackDoptionReader reader = new PackDoptionReader();
+		for (int parallelism : new int[] { 1, 2 }) {
+			for (boolean lazy : new boolean[] { false, true }) {
+				reader.setParallelism(parallelism);
+				reader.setLazyNotes(lazy);
+				Rescue rescue = reader.readRescueList(file.toString()).getRescue(0);
+				Animal first = rescue.getAnimal(0);
+				for (int i = 1; i < rescue.numAnimals(); i++) {
+					assertSame(first.getOwner(), rescue.getAnimal(i).getOwner());
+					assertSame(first.getNotes().get(0).getMessage(),
+							rescue.getAnimal(i).getNotes().get(0).getMessage());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Asserts that two rescue lists hold the same rescues, animals, notes, and
+	 * appointments.
+	 *
+	 * @param expected the expected rescue list
+	 * @param actual   the actual rescue list
+	 */
+	private static void assertSameRescues(RescueList expected, RescueList actual) {
+		Date today = new Date("1/1/2025");
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.getRescue(i).getName(), actual.getRescue(i).getName());
+			assertArrayEquals(expected.getRescue(i).getAnimalsAsArray(today),
+					actual.getRescue(i).getAnimalsAsArray(today));
+			assertArrayEquals(expected.getRescue(i).getAppointmentsAsArray(today),
+					actual.getRescue(i).getAppointmentsAsArray(today));
+			for (int j = 0; j < expected.getRescue(i).numAnimals(); j++) {
+				assertEquals(expected.getRescue(i).getAnimal(j).getNotes(), actual.getRescue(i).getAnimal(j).getNotes());
+			}
+		}
+	}
+
 }
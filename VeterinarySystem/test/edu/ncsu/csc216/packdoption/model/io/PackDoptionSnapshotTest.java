@@ -0,0 +1,162 @@
+package edu.ncsu.csc216.packdoption.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.packdoption.model.rescue.RescueList;
+
+/**
+ * Test class for PackDoptionSnapshot class.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+class PackDoptionSnapshotTest {
+
+	/**
+	 * Tests that a list written as a snapshot reads back as the same list, by
+	 * comparing the text each list writes.
+	 *
+	 * @throws IOException if a list cannot be written
+	 */
+	@Test
+	void testReadWrite() throws IOException {
+		for (String name : new String[] { "rescue_records.md", "appointment_urgency.md" }) {
+			RescueList expected = PackDoptionReader.readRescueListFile("test-files/" + name);
+			RescueList actual = PackDoptionSnapshot.read(new ByteArrayInputStream(snapshot(expected)));
+			assertEquals(text(expected), text(actual), name);
+		}
+		assertEquals(0, PackDoptionSnapshot.read(new ByteArrayInputStream(snapshot(new RescueList()))).size());
+	}
+
+	/**
+	 * Tests that a snapshot saved by the writer is recognized and read by the
+	 * reader.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if a list cannot be written
+	 */
+	@Test
+	void testSaveAndLoad(@TempDir Path dir) throws IOException {
+		RescueList expected = PackDoptionReader.readRescueListFile("test-files/rescue_records.md");
+		Path file = dir.resolve("rescues.pds");
+		new PackDoptionWriter().writeSnapshot(file.toString(), expected);
+
+		assertTrue(PackDoptionSnapshot.isSnapshot(file));
+		assertFalse(PackDoptionSnapshot.isSnapshot(Path.of("test-files/rescue_records.md")));
+		assertFalse(PackDoptionSnapshot.isSnapshot(dir.resolve("missing.pds")));
+
+		RescueSegments segments = new RescueSegments();
+		RescueList actual = new PackDoptionReader().readRescueList(file.toString(), segments);
+		assertEquals(text(expected), text(actual));
+		assertEquals(0, segments.size());
+		assertNull(segments.getFile());
+	}
+
+	/**
+	 * Tests that a snapshot that is cut short, has trailing bytes, or has another
+	 * version cannot be read.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if a list cannot be written
+	 */
+	@Test
+	void testInvalidSnapshot(@TempDir Path dir) throws IOException {
+		byte[] bytes = snapshot(PackDoptionReader.readRescueListFile("test-files/rescue_records.md"));
+		for (int length = 0; length < bytes.length; length++) {
+			byte[] cut = Arrays.copyOf(bytes, length);
+			Exception e = assertThrows(IllegalArgumentException.class,
+					() -> PackDoptionSnapshot.read(new ByteArrayInputStream(cut)));
+			assertEquals("Unable to load file.", e.getMessage());
+		}
+
+		byte[] longer = Arrays.copyOf(bytes, bytes.length + 1);
+		assertThrows(IllegalArgumentException.class, () -> PackDoptionSnapshot.read(new ByteArrayInputStream(longer)));
+
+		byte[] version = bytes.clone();
+		version[5] = 2;
+		assertThrows(IllegalArgumentException.class, () -> PackDoptionSnapshot.read(new ByteArrayInputStream(version)));
+
+		Path file = dir.resolve("cut.pds");
+		Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+		Exception e = assertThrows(IllegalArgumentException.class,
+				() -> new PackDoptionReader().readRescueList(file.toString()));
+		assertEquals("Unable to load file.", e.getMessage());
+	}
+
+	/**
+	 * Tests that a snapshot of a list with many repeated owners and notes is far
+	 * smaller than the text file of the same list.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if a list cannot be written
+	 */
+	@Test
+	void testSize(@TempDir Path dir) throws IOException {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			text.append("# Rescue ").append(i).append("\n");
+			for (int j = 0; j < 20; j++) {
+				text.append("* Dog,Dog").append(j)
+						.append(",5/14/2011,LARGE,true,true,6/23/2011,true,7/1/2012,Jane Smith,MIXED,NOTES")
+						.append(",6/23/2011 Vaccinations up to date,7/1/2012 Adopted by a family with a yard\n");
+			}
+			text.append("- Dog").append(i % 20).append(",5/14/2011\n\n");
+		}
+		Path file = dir.resolve("many_rescues.md");
+		Files.writeString(file, text);
+		RescueList list = PackDoptionReader.readRescueListFile(file.toString());
+
+		byte[] snapshot = snapshot(list);
+		int textSize = text(list).getBytes().length;
+		assertTrue(snapshot.length * 4 < textSize, snapshot.length + " of " + textSize);
+		assertEquals(text(list), text(PackDoptionSnapshot.read(new ByteArrayInputStream(snapshot))));
+	}
+
+	/**
+	 * Tests the snapshot extension.
+	 */
+	@Test
+	void testHasExtension() {
+		assertTrue(PackDoptionSnapshot.hasExtension("rescues.pds"));
+		assertTrue(PackDoptionSnapshot.hasExtension("RESCUES.PDS"));
+		assertFalse(PackDoptionSnapshot.hasExtension("rescues.md"));
+		assertFalse(PackDoptionSnapshot.hasExtension("ds"));
+	}
+
+	/**
+	 * Writes a list as a snapshot.
+	 *
+	 * @param list the list
+	 * @return the bytes of the snapshot
+	 * @throws IOException if the list cannot be written
+	 */
+	private static byte[] snapshot(RescueList list) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PackDoptionSnapshot.write(out, list);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Writes a list in the text format.
+	 *
+	 * @param list the list
+	 * @return the text of the list
+	 * @throws IOException if the list cannot be written
+	 */
+	private static String text(RescueList list) throws IOException {
+		StringWriter out = new StringWriter();
+		PackDoptionWriter.writeRescueList(out, list);
+		return out.toString();
+	}
+}
@@ -0,0 +1,175 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.packdoption.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.packdoption.model.animals.Animal.Size;
+
+/**
+ * Test class for PackDoptionTokenizer class.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+class PackDoptionTokenizerTest {
+
+	/**
+	 * Creates a tokenizer over the given text.
+	 *
+	 * @param text       the text to read
+	 * @param bufferSize the initial buffer size
+	 * @return the tokenizer
+	 */
+	private static PackDoptionTokenizer tokenizer(String text, int bufferSize) {
+		return new PackDoptionTokenizer(
+				Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))), bufferSize);
+	}
+
+	/**
+	 * Tests nextLine with each kind of line terminator and buffers too small to
+	 * hold a line.
+	 *
+	 * @throws IOException if the text cannot be read
+	 */
+	@Test
+	void testNextLine() throws IOException {
+		String text = "# One\r\n\n  * Two  \r- Three\r\r\n# Four";
+		for (int bufferSize : new int[] { 1, 2, 3, 7, 64 }) {
+			try (PackDoptionTokenizer tokenizer = tokenizer(text, bufferSize)) {
+				assertTrue(tokenizer.nextLine());
+				assertEquals(0, tokenizer.lineOffset());
+				assertEquals('#', tokenizer.indicator());
+				tokenizer.split();
+				assertEquals("One", tokenizer.data());
+
+				assertTrue(tokenizer.nextLine());
+				assertTrue(tokenizer.isBlank());
+				assertEquals(7, tokenizer.lineOffset());
+
+				assertTrue(tokenizer.nextLine());
+				assertEquals('*', tokenizer.indicator());
+				assertEquals(8, tokenizer.lineOffset());
+				tokenizer.split();
+				assertEquals("Two", tokenizer.data());
+
+				assertTrue(tokenizer.nextLine());
+				assertEquals('-', tokenizer.indicator());
+				assertTrue(tokenizer.nextLine());
+				assertTrue(tokenizer.isBlank());
+
+				assertTrue(tokenizer.nextLine());
+				assertEquals(28, tokenizer.lineOffset());
+				tokenizer.split();
+				assertEquals("Four", tokenizer.data());
+				assertFalse(tokenizer.nextLine());
+				assertFalse(tokenizer.nextLine());
+			}
+		}
+	}
+
+	/**
+	 * Tests that split finds the same fields as String.split(",") on the trimmed
+	 * text after the line prefix.
+	 *
+	 * @throws IOException if the text cannot be read
+	 */
+	@Test
+	void testSplit() throws IOException {
+		String[] lines = { "* a,b,c", "* a,,c", "* a,b,,", "* ,", "* ,,a", "*x", "*  a , b ", "* Zoë,Ms. Wuf's" };
+		for (String line : lines) {
+			try (PackDoptionTokenizer tokenizer = tokenizer(line, 4)) {
+				assertTrue(tokenizer.nextLine());
+				tokenizer.split();
+				String[] expected = line.trim().substring(2).trim().split(",");
+				assertEquals(expected.length, tokenizer.fieldCount(), line);
+				for (int i = 0; i < expected.length; i++) {
+					assertEquals(expected[i], tokenizer.field(i), line);
+				}
+				assertThrows(IllegalArgumentException.class, () -> tokenizer.field(expected.length));
+			}
+		}
+
+		try (PackDoptionTokenizer tokenizer = tokenizer("#", 4)) {
+			assertTrue(tokenizer.nextLine());
+			Exception e = assertThrows(IllegalArgumentException.class, () -> tokenizer.split());
+			assertEquals("Unable to load file.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests the methods that read a field without copying it.
+	 *
+	 * @throws IOException if the text cannot be read
+	 */
+	@Test
+	void testFields() throws IOException {
+		try (PackDoptionTokenizer tokenizer = tokenizer("- Luna, 3/9/2021 ,large,3/9/2021 Born in NC", 8)) {
+			assertTrue(tokenizer.nextLine());
+			tokenizer.split();
+
+			assertTrue(tokenizer.fieldEquals(0, "Luna", false));
+			assertTrue(tokenizer.fieldEquals(0, "LUNA", true));
+			assertFalse(tokenizer.fieldEquals(0, "LUNA", false));
+			assertFalse(tokenizer.fieldEquals(0, "Lun", false));
+
+			tokenizer.trimField(1);
+			assertEquals("3/9/2021", tokenizer.chars(1).toString());
+			assertEquals(8, tokenizer.chars(1).length());
+			assertEquals('/', tokenizer.chars(1).charAt(1));
+
+			assertNull(tokenizer.fieldEnum(2, Size.values(), false));
+			assertEquals(Size.LARGE, tokenizer.fieldEnum(2, Size.values(), true));
+
+			int space = tokenizer.indexOf(3, ' ');
+			assertEquals("3/9/2021", tokenizer.string(tokenizer.fieldStart(3), space));
+			assertEquals("Born in NC", tokenizer.string(space + 1, tokenizer.fieldEnd(3)));
+			assertEquals(-1, tokenizer.indexOf(2, ' '));
+		}
+	}
+
+	/**
+	 * Tests that a memory mapped tokenizer finds the same lines and offsets as one
+	 * reading the file, with windows too small to hold a line.
+	 *
+	 * @throws IOException if the file cannot be read
+	 */
+	@Test
+	void testMap() throws IOException {
+		for (int windowSize : new int[] { 1, 7, 64, 1 << 20 }) {
+			try (FileInputStream expectedIn = new FileInputStream("test-files/rescue_records.md");
+					FileInputStream actualIn = new FileInputStream("test-files/rescue_records.md");
+					PackDoptionTokenizer expected = new PackDoptionTokenizer(expectedIn.getChannel(), 64);
+					PackDoptionTokenizer actual = PackDoptionTokenizer.map(actualIn.getChannel(), windowSize)) {
+				while (expected.nextLine()) {
+					assertTrue(actual.nextLine());
+					assertEquals(expected.lineOffset(), actual.lineOffset());
+					assertEquals(expected.isBlank(), actual.isBlank());
+					if (!expected.isBlank()) {
+						expected.split();
+						actual.split();
+						assertEquals(expected.fieldCount(), actual.fieldCount());
+						for (int i = 0; i < expected.fieldCount(); i++) {
+							assertEquals(expected.field(i), actual.field(i));
+						}
+					}
+				}
+				assertFalse(actual.nextLine());
+			}
+		}
+
+		try (FileInputStream in = new FileInputStream("test-files/rescue_records.md")) {
+			assertThrows(IllegalArgumentException.class, () -> PackDoptionTokenizer.map(in.getChannel(), 0));
+		}
+	}
+
+}
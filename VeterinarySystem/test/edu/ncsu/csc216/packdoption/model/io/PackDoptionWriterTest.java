@@ -5,9 +5,20 @@ package edu.ncsu.csc216.packdoption.model.io;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler.Urgency;
 import edu.ncsu.csc216.packdoption.model.rescue.RescueList;
+import edu.ncsu.csc216.packdoption.util.Date;
+import edu.ncsu.csc216.packdoption.util.Note;
 
 /**
  * Test class for PackDoptionWriter class.
@@ -31,4 +42,190 @@ class PackDoptionWriterTest {
 		}
 	}
 
+	/**
+	 * Tests that appointment urgencies and order survive a write and read.
+	 */
+	@Test
+	void testWriteAppointmentUrgency() {
+		RescueList rescueRecords = PackDoptionReader.readRescueListFile("test-files/appointment_urgency.md");
+		PackDoptionWriter.writeRescueFile("test-files/newrescue_records.md", rescueRecords);
+		AppointmentScheduler appointments = PackDoptionReader.readRescueListFile("test-files/newrescue_records.md")
+				.getRescue(0).getAppointments();
+
+		assertEquals(3, appointments.size());
+		assertEquals(Urgency.EMERGENCY, appointments.getUrgency(appointments.peek(0)));
+		assertEquals("Lily", appointments.peek(1).getName());
+		assertEquals(Urgency.URGENT, appointments.getUrgency(appointments.peek(1)));
+		assertEquals(Urgency.ROUTINE, appointments.getUrgency(appointments.peek(2)));
+
+		PackDoptionWriter.writeRescueFile("test-files/newrescue_records.md",
+				PackDoptionReader.readRescueListFile("test-files/rescue_records.md"));
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.io.PackDoptionWriter#writeRescueList(java.io.Writer, edu.ncsu.csc216.packdoption.model.rescue.RescueList)}.
+	 *
+	 * @throws IOException if a file cannot be read
+	 */
+	@Test
+	void testWriteRescueList() throws IOException {
+		String expected = Files.readString(Path.of("test-files/expected_rescue_records.md"))
+				.replace("\n", System.lineSeparator());
+		RescueList rescueRecords = PackDoptionReader.readRescueListFile("test-files/rescue_records.md");
+
+		StringWriter out = new StringWriter();
+		PackDoptionWriter.writeRescueList(out, rescueRecords);
+		assertEquals(expected, out.toString());
+
+		PackDoptionWriter.writeRescueFile("test-files/newrescue_records.md", rescueRecords);
+		assertEquals(expected, Files.readString(Path.of("test-files/newrescue_records.md")));
+
+		out = new StringWriter();
+		PackDoptionWriter.writeRescueList(out, new RescueList());
+		assertEquals("", out.toString());
+
+		Exception e = assertThrows(IllegalArgumentException.class,
+				() -> PackDoptionWriter.writeRescueFile("test-files", rescueRecords));
+		assertEquals("Unable to save file.", e.getMessage());
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.io.PackDoptionWriter#writeRescueList(java.lang.String, edu.ncsu.csc216.packdoption.model.rescue.RescueList)}
+	 * with backups, which replaces the file and keeps its earlier versions.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if a file cannot be read
+	 */
+	@Test
+	void testBackups(@TempDir Path dir) throws IOException {
+		RescueList rescueRecords = PackDoptionReader.readRescueListFile("test-files/rescue_records.md");
+		RescueList empty = new RescueList();
+		Path file = dir.resolve("rescues.md");
+		String saved = Files.readString(Path.of("test-files/expected_rescue_records.md"))
+				.replace("\n", System.lineSeparator());
+
+		PackDoptionWriter writer = new PackDoptionWriter();
+		assertEquals(0, writer.getBackupCount());
+		assertThrows(IllegalArgumentException.class, () -> writer.setBackupCount(-1));
+		writer.setBackupCount(2);
+		assertEquals(2, writer.getBackupCount());
+
+		writer.writeRescueList(file.toString(), rescueRecords);
+		assertFalse(Files.exists(dir.resolve("rescues.md.1")));
+		writer.writeRescueList(file.toString(), empty);
+		writer.writeRescueList(file.toString(), rescueRecords);
+		writer.writeRescueList(file.toString(), empty);
+
+		assertEquals("", Files.readString(file));
+		assertEquals(saved, Files.readString(dir.resolve("rescues.md.1")));
+		assertEquals("", Files.readString(dir.resolve("rescues.md.2")));
+		assertFalse(Files.exists(dir.resolve("rescues.md.3")));
+		try (Stream<Path> files = Files.list(dir)) {
+			assertEquals(3, files.count());
+		}
+	}
+
+	/**
+	 * Tests that a failed save leaves no temporary file and changes nothing.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	void testFailedSave(@TempDir Path dir) throws IOException {
+		RescueList rescueRecords = PackDoptionReader.readRescueListFile("test-files/rescue_records.md");
+		Path target = Files.createDirectory(dir.resolve("rescues.md"));
+		Files.writeString(target.resolve("keep.md"), "keep");
+
+		Exception e = assertThrows(IllegalArgumentException.class,
+				() -> PackDoptionWriter.writeRescueFile(target.toString(), rescueRecords));
+		assertEquals("Unable to save file.", e.getMessage());
+		assertEquals("keep", Files.readString(target.resolve("keep.md")));
+		try (Stream<Path> files = Files.list(dir)) {
+			assertEquals(1, files.count());
+		}
+
+		e = assertThrows(IllegalArgumentException.class, () -> PackDoptionWriter
+				.writeRescueFile(dir.resolve("missing").resolve("rescues.md").toString(), rescueRecords));
+		assertEquals("Unable to save file.", e.getMessage());
+	}
+
+	/**
+	 * Tests that a save that fails because notes cannot be loaded leaves no
+	 * temporary file and the file as it was.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	void testFailedNotes(@TempDir Path dir) throws IOException {
+		RescueList rescueRecords = PackDoptionReader.readRescueListFile("test-files/rescue_records.md");
+		rescueRecords.getRescue(0).getAnimal(0).setNoteLoader(() -> {
+			throw new IllegalArgumentException("Unable to load file.");
+		});
+		Path target = dir.resolve("rescues.md");
+		Files.writeString(target, "keep");
+
+		PackDoptionWriter writer = new PackDoptionWriter();
+		Exception e = assertThrows(IllegalArgumentException.class,
+				() -> PackDoptionWriter.writeRescueFile(target.toString(), rescueRecords));
+		assertEquals("Unable to save file.", e.getMessage());
+		e = assertThrows(IllegalArgumentException.class, () -> writer.writeSnapshot(target.toString(), rescueRecords));
+		assertEquals("Unable to save file.", e.getMessage());
+		assertEquals("keep", Files.readString(target));
+		try (Stream<Path> files = Files.list(dir)) {
+			assertEquals(1, files.count());
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.io.PackDoptionWriter#writeRescueList(java.lang.String, edu.ncsu.csc216.packdoption.model.rescue.RescueList, edu.ncsu.csc216.packdoption.model.io.RescueSegments)},
+	 * which copies unchanged rescues from the file they were read from.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	void testWriteSegments(@TempDir Path dir) throws IOException {
+		// Windows line ends mark the bytes that are copied rather than written
+		String original = Files.readString(Path.of("test-files/rescue_records.md")).replace("\n", "\r\n");
+		String copied = original.substring(0, original.indexOf("# NCSU"));
+		Path file = dir.resolve("rescues.md");
+		Files.writeString(file, original);
+
+		for (int parallelism : new int[] { 1, 4 }) {
+			PackDoptionReader reader = new PackDoptionReader();
+			reader.setParallelism(parallelism);
+			RescueSegments segments = new RescueSegments();
+			RescueList list = reader.readRescueList(file.toString(), segments);
+			list.getRescue(1).getAnimal(0).addNote(new Note(Date.of(1, 1, 2020), "Checkup"));
+
+			PackDoptionWriter writer = new PackDoptionWriter();
+			writer.writeRescueList(file.toString(), list, segments);
+			String saved = Files.readString(file);
+			StringWriter full = new StringWriter();
+			PackDoptionWriter.writeRescueList(full, list);
+			String written = full.toString();
+			assertEquals(copied + written.substring(written.indexOf("# NCSU")), saved);
+			assertEquals(2, segments.size());
+			assertFalse(segments.isChanged(list.getRescue(1)));
+
+			RescueList reread = reader.readRescueList(file.toString());
+			assertTrue(reread.getRescue(1).getAnimal(0).getNotes().contains(new Note(Date.of(1, 1, 2020), "Checkup")));
+
+			// Nothing changed, so every rescue is copied
+			writer.writeRescueList(file.toString(), list, segments);
+			assertEquals(saved, Files.readString(file));
+
+			// The file changed since it was saved, so every rescue is written
+			Files.writeString(file, original);
+			writer.writeRescueList(file.toString(), list, segments);
+			assertEquals(written, Files.readString(file));
+			Files.writeString(file, original);
+		}
+	}
+
 }
@@ -0,0 +1,96 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.packdoption.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.packdoption.model.rescue.Rescue;
+import edu.ncsu.csc216.packdoption.model.rescue.RescueList;
+import edu.ncsu.csc216.packdoption.util.Date;
+import edu.ncsu.csc216.packdoption.util.Note;
+
+/**
+ * Test class for RescueSegments class.
+ * 
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+class RescueSegmentsTest {
+
+	/**
+	 * Tests the segments a serial and a parallel read find, and that a changed
+	 * rescue is reported as changed.
+	 *
+	 * @throws IOException if the size of the file cannot be read
+	 */
+	@Test
+	void testReadSegments() throws IOException {
+		for (int parallelism : new int[] { 1, 4 }) {
+			PackDoptionReader reader = new PackDoptionReader();
+			reader.setParallelism(parallelism);
+			RescueSegments segments = new RescueSegments();
+			assertNull(segments.getFile());
+			assertEquals(0, segments.size());
+
+			RescueList list = reader.readRescueList("test-files/rescue_records.md", segments);
+			assertEquals(Path.of("test-files/rescue_records.md").toAbsolutePath(), segments.getFile());
+			assertEquals(2, segments.size());
+			assertTrue(segments.isCurrent());
+
+			Rescue wuf = list.getRescue(0);
+			Rescue ncsu = list.getRescue(1);
+			assertEquals(0, segments.unchanged(wuf).start);
+			assertEquals(segments.unchanged(wuf).end, segments.unchanged(ncsu).start);
+			assertEquals(Files.size(Path.of("test-files/rescue_records.md")), segments.unchanged(ncsu).end);
+
+			assertFalse(segments.isChanged(ncsu));
+			ncsu.getAnimal(0).addNote(new Note(new Date(1, 1, 2020), "Checkup"));
+			assertTrue(segments.isChanged(ncsu));
+			assertNull(segments.unchanged(ncsu));
+			assertFalse(segments.isChanged(wuf));
+			assertTrue(segments.isChanged(new Rescue("Ms. Wuf's Rescue")));
+
+			segments.clear();
+			assertNull(segments.getFile());
+			assertTrue(segments.isChanged(wuf));
+			assertFalse(segments.isCurrent());
+		}
+	}
+
+	/**
+	 * Tests that a file that cannot be read leaves the segments empty, and that a
+	 * file changed after it was read is no longer current.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if a file cannot be written
+	 */
+	@Test
+	void testInvalidSegments(@TempDir Path dir) throws IOException {
+		RescueSegments segments = new RescueSegments();
+		PackDoptionReader reader = new PackDoptionReader();
+		reader.readRescueList("test-files/rescue_records.md", segments);
+		assertThrows(IllegalArgumentException.class,
+				() -> reader.readRescueList("test-files/invalid_rescue_line.md", segments));
+		assertEquals(0, segments.size());
+		assertNull(segments.getFile());
+		assertThrows(IllegalArgumentException.class, () -> reader.readRescueList("test-files/missing.md", segments));
+		assertEquals(0, segments.size());
+
+		Path file = dir.resolve("rescues.md");
+		Files.copy(Path.of("test-files/rescue_records.md"), file);
+		reader.readRescueList(file.toString(), segments);
+		assertTrue(segments.isCurrent());
+		Files.writeString(file, "\n", StandardOpenOption.APPEND);
+		assertFalse(segments.isCurrent());
+	}
+
+}
@@ -0,0 +1,88 @@
+package edu.ncsu.csc216.packdoption.model.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for StringTable class.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+class StringTableTest {
+
+	/**
+	 * Tests that equal text is returned as the same String, and different text
+	 * as different Strings.
+	 */
+	@Test
+	void testIntern() {
+		StringTable strings = new StringTable();
+		ByteBuffer bytes = bytes("Born in NC,Entered Shelter,Born in NC,Born in N");
+
+		String first = strings.intern(bytes, 0, 10);
+		assertEquals("Born in NC", first);
+		assertEquals("Entered Shelter", strings.intern(bytes, 11, 26));
+		assertSame(first, strings.intern(bytes, 27, 37));
+		assertEquals("Born in N", strings.intern(bytes, 38, 47));
+		assertEquals("", strings.intern(bytes, 0, 0));
+		assertEquals(4, strings.size());
+		assertEquals(1, strings.hits());
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.capacity());
+		direct.put(bytes.duplicate()).clear();
+		assertSame(first, strings.intern(direct, 27, 37));
+	}
+
+	/**
+	 * Tests that text that is not ASCII is decoded as UTF-8 and shared.
+	 */
+	@Test
+	void testInternUtf8() {
+		StringTable strings = new StringTable();
+		ByteBuffer bytes = bytes("Zoë and Family,Zoë and Family,Zoe and Family");
+
+		String zoe = strings.intern(bytes, 0, 15);
+		assertEquals("Zoë and Family", zoe);
+		assertSame(zoe, strings.intern(bytes, 16, 31));
+		assertEquals("Zoe and Family", strings.intern(bytes, 32, 46));
+		assertEquals(2, strings.size());
+	}
+
+	/**
+	 * Tests that the table grows to hold many Strings and does not hold text
+	 * longer than the maximum length.
+	 */
+	@Test
+	void testGrow() {
+		StringTable strings = new StringTable();
+		String[] interned = new String[5000];
+		for (int i = 0; i < interned.length; i++) {
+			interned[i] = strings.intern(bytes("Owner " + i), 0, ("Owner " + i).length());
+		}
+		assertEquals(interned.length, strings.size());
+		for (int i = 0; i < interned.length; i++) {
+			assertSame(interned[i], strings.intern(bytes("Owner " + i), 0, ("Owner " + i).length()));
+		}
+
+		String text = "x".repeat(StringTable.MAX_LENGTH + 1);
+		String longer = strings.intern(bytes(text), 0, text.length());
+		assertEquals(text, longer);
+		assertNotSame(longer, strings.intern(bytes(text), 0, text.length()));
+		assertEquals(interned.length, strings.size());
+	}
+
+	/**
+	 * Returns the UTF-8 bytes of text.
+	 *
+	 * @param text the text
+	 * @return the bytes
+	 */
+	private static ByteBuffer bytes(String text) {
+		return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -5,7 +5,18 @@ package edu.ncsu.csc216.packdoption.model.manager;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ncsu.csc216.packdoption.model.io.PackDoptionJournal;
+import edu.ncsu.csc216.packdoption.model.io.PackDoptionSnapshot;
+import edu.ncsu.csc216.packdoption.model.rescue.RescueList;
+import edu.ncsu.csc216.packdoption.util.Date;
+import edu.ncsu.csc216.packdoption.util.Note;
 
 /**
  * Test class for PackDoptionManager class.
@@ -121,6 +132,31 @@ class PackDoptionManagerTest {
 		assertThrows(IllegalArgumentException.class, () -> manager.loadFile(INVALID_FILE));
 	}
 
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.manager.PackDoptionManager#getReader()}.
+	 */
+	@Test
+	void testGetReader() {
+		PackDoptionManager manager = PackDoptionManager.getInstance();
+		assertEquals(Runtime.getRuntime().availableProcessors(), manager.getReader().getParallelism());
+		manager.getReader().setMemoryMapped(true);
+		manager.loadFile(VALID_FILE);
+		assertEquals(2, manager.getRescueList().size());
+		manager.getReader().setMemoryMapped(false);
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.manager.PackDoptionManager#getWriter()}.
+	 */
+	@Test
+	void testGetWriter() {
+		PackDoptionManager manager = PackDoptionManager.getInstance();
+		assertEquals(0, manager.getWriter().getBackupCount());
+		assertSame(manager.getWriter(), manager.getWriter());
+	}
+
 	/**
 	 * Test method for
 	 * {@link edu.ncsu.csc216.packdoption.model.manager.PackDoptionManager#saveFile(java.lang.String)}.
@@ -135,4 +171,114 @@ class PackDoptionManagerTest {
 		assertThrows(IllegalArgumentException.class, () -> manager.saveFile("test-files"));
 	}
 
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.manager.PackDoptionManager#saveFile(java.lang.String)}
+	 * with a snapshot filename, which saves a binary snapshot that loads again.
+	 *
+	 * @param dir a temporary directory
+	 */
+	@Test
+	void testSaveSnapshot(@TempDir Path dir) {
+		Path file = dir.resolve("rescues.pds");
+		PackDoptionManager manager = PackDoptionManager.getInstance();
+		manager.loadFile(VALID_FILE);
+		int size = manager.getRescueList().size();
+		manager.saveFile(file.toString());
+		assertTrue(PackDoptionSnapshot.isSnapshot(file));
+
+		manager.newList();
+		manager.loadFile(file.toString());
+		assertFalse(manager.isChanged());
+		assertEquals(size, manager.getRescueList().size());
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.manager.PackDoptionManager#setJournaling(boolean)},
+	 * which replays changes that were not saved when the file is loaded again.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	void testJournaling(@TempDir Path dir) throws IOException {
+		Path file = dir.resolve("rescues.md");
+		Files.copy(Path.of(VALID_FILE), file);
+		PackDoptionManager manager = PackDoptionManager.getInstance();
+		assertFalse(manager.isJournaling());
+		manager.loadFile(file.toString());
+		assertNull(manager.getJournal());
+
+		manager.setJournaling(true);
+		try {
+			manager.loadFile(file.toString());
+			assertFalse(manager.isChanged());
+			manager.getRescueList().addRescue("Wake Rescue");
+			manager.getRescueList().getRescue(0).getAnimal(0).addNote(new Note(Date.of(1, 1, 2020), "Checkup"));
+			manager.getJournal().flush();
+
+			// Loading again without saving replays the changes
+			manager.newList();
+			assertNull(manager.getJournal());
+			manager.loadFile(file.toString());
+			assertTrue(manager.isChanged());
+			assertEquals(3, manager.getRescueList().size());
+			assertTrue(manager.getRescueList().getRescue(0).getAnimal(0).getNotes()
+					.contains(new Note(Date.of(1, 1, 2020), "Checkup")));
+
+			// Saving empties the journal
+			manager.saveFile(file.toString());
+			assertEquals(20, Files.size(manager.getJournal().getFile()));
+			manager.loadFile(file.toString());
+			assertFalse(manager.isChanged());
+			assertEquals(3, manager.getRescueList().size());
+		} finally {
+			manager.setJournaling(false);
+		}
+		assertNull(manager.getJournal());
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.manager.PackDoptionManager#loadFile(java.lang.String)},
+	 * which leaves the list that is loaded, and its journal, in place when a load
+	 * fails.
+	 *
+	 * @param dir a temporary directory
+	 * @throws IOException if a file cannot be read or written
+	 */
+	@Test
+	void testFailedLoad(@TempDir Path dir) throws IOException {
+		Path file = dir.resolve("a.md");
+		Path other = dir.resolve("b.md");
+		Files.copy(Path.of(VALID_FILE), file);
+		Files.copy(Path.of(VALID_FILE), other);
+		// A directory where the journal of b.md belongs cannot be opened as one
+		Files.createDirectory(dir.resolve("b.md" + PackDoptionJournal.EXTENSION));
+		PackDoptionManager manager = PackDoptionManager.getInstance();
+		manager.setJournaling(true);
+		try {
+			manager.loadFile(file.toString());
+			RescueList rescues = manager.getRescueList();
+			PackDoptionJournal journal = manager.getJournal();
+			assertNotNull(journal);
+
+			assertThrows(IllegalArgumentException.class,
+					() -> manager.loadFile(dir.resolve("missing.md").toString()));
+			assertThrows(IllegalArgumentException.class, () -> manager.loadFile(other.toString()));
+			assertSame(rescues, manager.getRescueList());
+			assertEquals(2, rescues.size());
+			assertSame(journal, manager.getJournal());
+			assertEquals(file.toString(), manager.getFilename());
+
+			// Changes to the list still loaded are still recorded
+			rescues.addRescue("Wake Rescue");
+			journal.flush();
+			assertTrue(Files.size(journal.getFile()) > 20);
+		} finally {
+			manager.setJournaling(false);
+		}
+	}
+
 }
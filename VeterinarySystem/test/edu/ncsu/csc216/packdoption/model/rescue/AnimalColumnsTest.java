@@ -0,0 +1,139 @@
+package edu.ncsu.csc216.packdoption.model.rescue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.packdoption.model.animals.Animal;
+import edu.ncsu.csc216.packdoption.model.animals.Animal.Size;
+import edu.ncsu.csc216.packdoption.model.animals.Cat;
+import edu.ncsu.csc216.packdoption.model.animals.Dog;
+import edu.ncsu.csc216.packdoption.model.animals.Dog.Breed;
+import edu.ncsu.csc216.packdoption.util.Date;
+import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
+
+/**
+ * Test class for AnimalColumns class.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+class AnimalColumnsTest {
+
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.rescue.AnimalColumns#AnimalColumns(edu.ncsu.csc216.packdoption.util.SimpleListIterator, int)}.
+	 */
+	@Test
+	void testAnimalColumns() {
+		SortedLinkedList<Animal> animals = new SortedLinkedList<>();
+		Cat rosie = new Cat("rosie", new Date(7, 20, 2020), Size.SMALL, true, false, new SortedLinkedList<>(),
+				new Date(3, 19, 2021));
+		Dog luna = new Dog("luna", new Date(6, 3, 2018), Size.MEDIUM, false, true, new SortedLinkedList<>(),
+				new Date(10, 4, 2020), Breed.OTHER);
+		animals.add(rosie);
+		animals.add(luna);
+
+		AnimalColumns columns = new AnimalColumns(animals.iterator(), 0);
+		assertEquals(2, columns.size());
+		assertEquals(luna, columns.animal(0));
+		assertEquals(rosie, columns.animal(1));
+		assertEquals(rows(0, 1), columns.allRows());
+		assertEquals(rows(1), columns.kindRows(AnimalColumns.CAT));
+		assertEquals(rows(0), columns.kindRows(AnimalColumns.DOG));
+		assertEquals(rows(), columns.kindRows(AnimalColumns.OTHER));
+		assertEquals(rows(0), columns.breedRows(Breed.OTHER));
+		assertEquals(rows(1), columns.sizeRows(Size.SMALL));
+		assertEquals(rows(1), columns.houseTrainedRows());
+		assertEquals(rows(0), columns.goodWithKidsRows());
+		assertEquals(rows(), columns.adoptedRows());
+
+		luna.setAdoptionInfo(true, new Date(1, 1, 2021), "Amira");
+		luna.setSize(Size.SMALL);
+		columns.update(luna);
+		assertEquals(rows(0), columns.adoptedRows());
+		assertEquals(rows(0, 1), columns.sizeRows(Size.SMALL));
+		assertEquals(rows(), columns.sizeRows(Size.MEDIUM));
+
+		Cat other = new Cat("other", new Date(7, 20, 2020), Size.SMALL, true, true, new SortedLinkedList<>(),
+				new Date(3, 19, 2021));
+		other.setAdoptionInfo(true, new Date(4, 1, 2021), "Amira");
+		columns.update(other);
+		assertEquals(rows(0), columns.adoptedRows());
+
+		AnimalColumns empty = new AnimalColumns(new SortedLinkedList<Animal>().iterator(), 0);
+		assertEquals(0, empty.size());
+		assertEquals(rows(), empty.allRows());
+		assertEquals(rows(), empty.bornBetween(Long.MIN_VALUE, Long.MAX_VALUE));
+		assertEquals(rows(), empty.enteredBetween(Long.MIN_VALUE, Long.MAX_VALUE));
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.rescue.AnimalColumns#enteredBetween(long, long)}
+	 * and
+	 * {@link edu.ncsu.csc216.packdoption.model.rescue.AnimalColumns#bornBetween(long, long)}.
+	 */
+	@Test
+	void testRanges() {
+		SortedLinkedList<Animal> animals = new SortedLinkedList<>();
+		animals.add(new Cat("a", new Date(1, 1, 2018), Size.SMALL, true, true, new SortedLinkedList<>(),
+				new Date(3, 1, 2021)));
+		animals.add(new Cat("b", new Date(1, 1, 2018), Size.SMALL, true, true, new SortedLinkedList<>(),
+				new Date(1, 1, 2021)));
+		animals.add(new Cat("c", new Date(5, 1, 2019), Size.SMALL, true, true, new SortedLinkedList<>(),
+				new Date(3, 1, 2021)));
+		animals.add(new Cat("d", new Date(5, 2, 2019), Size.SMALL, true, true, new SortedLinkedList<>(),
+				new Date(2, 1, 2021)));
+		AnimalColumns columns = new AnimalColumns(animals.iterator(), animals.size());
+		int march = new Date(3, 1, 2021).getEpochDay();
+		int february = new Date(2, 1, 2021).getEpochDay();
+
+		assertEquals(rows(0, 2), columns.enteredBetween(march, march));
+		assertEquals(rows(0, 2, 3), columns.enteredBetween(february, Long.MAX_VALUE));
+		assertEquals(rows(0, 1, 2, 3), columns.enteredBetween(Long.MIN_VALUE, march));
+		assertEquals(rows(), columns.enteredBetween(march + 1, march + 100));
+		assertEquals(rows(), columns.enteredBetween(march, february));
+
+		int birthday = new Date(1, 1, 2018).getEpochDay();
+		assertEquals(rows(2), columns.bornBetween(birthday, new Date(5, 1, 2019).getEpochDay()));
+		assertEquals(rows(0, 1), columns.bornBetween(-1, birthday));
+		assertEquals(rows(0, 1, 2, 3), columns.bornBetween(Long.MIN_VALUE, Long.MAX_VALUE));
+		assertEquals(rows(), columns.bornBetween(birthday, birthday));
+		assertEquals(rows(), columns.bornBetween(birthday, -1));
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.rescue.AnimalColumns#yearsBefore(edu.ncsu.csc216.packdoption.util.Date, long)}.
+	 */
+	@Test
+	void testYearsBefore() {
+		Date today = new Date(3, 18, 2021);
+		assertEquals(today.getEpochDay(), AnimalColumns.yearsBefore(today, 0));
+		assertEquals(new Date(3, 18, 2018).getEpochDay(), AnimalColumns.yearsBefore(today, 3));
+		assertEquals(new Date(3, 18, 2000).getEpochDay(), AnimalColumns.yearsBefore(today, 21));
+		assertEquals(-1, AnimalColumns.yearsBefore(today, 22));
+		assertEquals(-1, AnimalColumns.yearsBefore(today, Integer.MAX_VALUE + 1L));
+
+		Date leapDay = new Date(2, 29, 2024);
+		assertEquals(new Date(2, 28, 2023).getEpochDay(), AnimalColumns.yearsBefore(leapDay, 1));
+		assertEquals(new Date(2, 29, 2020).getEpochDay(), AnimalColumns.yearsBefore(leapDay, 4));
+	}
+
+	/**
+	 * Makes a bit set of rows.
+	 *
+	 * @param rows the rows
+	 * @return the bit set
+	 */
+	private static BitSet rows(int... rows) {
+		BitSet set = new BitSet();
+		for (int row : rows) {
+			set.set(row);
+		}
+		return set;
+	}
+}
@@ -0,0 +1,234 @@
+package edu.ncsu.csc216.packdoption.model.rescue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.packdoption.model.animals.Animal;
+import edu.ncsu.csc216.packdoption.model.animals.Animal.Size;
+import edu.ncsu.csc216.packdoption.model.animals.Cat;
+import edu.ncsu.csc216.packdoption.model.animals.Dog;
+import edu.ncsu.csc216.packdoption.model.animals.Dog.Breed;
+import edu.ncsu.csc216.packdoption.util.Date;
+import edu.ncsu.csc216.packdoption.util.NoSuchListElementException;
+import edu.ncsu.csc216.packdoption.util.SimpleListIterator;
+import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
+
+/**
+ * Test class for AnimalQuery class.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+class AnimalQueryTest {
+
+	/** A dog that is large, house trained, and good with kids */
+	private final Dog luna = new Dog("luna", new Date(6, 3, 2018), Size.LARGE, true, true, new SortedLinkedList<>(),
+			new Date(10, 4, 2020), Breed.POODLE);
+	/** A dog that is large and house trained */
+	private final Dog max = new Dog("max", new Date(6, 4, 2019), Size.LARGE, true, false, new SortedLinkedList<>(),
+			new Date(1, 4, 2021), Breed.BEAGLE);
+	/** A cat that is small and good with kids */
+	private final Cat rosie = new Cat("rosie", new Date(7, 20, 2020), Size.SMALL, false, true,
+			new SortedLinkedList<>(), new Date(3, 19, 2021));
+
+	/**
+	 * Makes a rescue of luna, max, and rosie.
+	 *
+	 * @param columnar whether the rescue is columnar
+	 * @return the rescue
+	 */
+	private Rescue rescue(boolean columnar) {
+		Rescue rescue = new Rescue("MikesRescue");
+		rescue.addAnimal(luna);
+		rescue.addAnimal(max);
+		rescue.addAnimal(rosie);
+		rescue.setColumnar(columnar);
+		return rescue;
+	}
+
+	/**
+	 * Test method for the filters of
+	 * {@link edu.ncsu.csc216.packdoption.model.rescue.AnimalQuery}.
+	 */
+	@Test
+	void testFilters() {
+		for (boolean columnar : new boolean[] { false, true }) {
+			Rescue rescue = rescue(columnar);
+			Date today = new Date(4, 1, 2021);
+
+			assertEquals(3, rescue.query().count());
+			assertEquals(luna, rescue.query().species(Dog.class).size(Size.LARGE).goodWithKids().list().get(0));
+			assertEquals(1, rescue.query().species(Dog.class).size(Size.LARGE).goodWithKids().count());
+			assertEquals(max, rescue.query().breed(Breed.BEAGLE).list().get(0));
+			assertEquals(rosie, rescue.query().species(Cat.class).list().get(0));
+			assertEquals(3, rescue.query().species(Animal.class).count());
+			assertEquals(2, rescue.query().houseTrained().count());
+			assertEquals(0, rescue.query().species(Cat.class).houseTrained().count());
+
+			SortedLinkedList<Animal> young = rescue.query().ageBetween(today, 0, 1).list();
+			assertEquals(2, young.size());
+			assertEquals(max, young.get(0));
+			assertEquals(rosie, young.get(1));
+			SortedLinkedList<Animal> recent = rescue.query().daysAvailableBetween(today, 0, 100).list();
+			assertEquals(2, recent.size());
+			assertEquals(max, recent.get(0));
+			assertEquals(rosie, recent.get(1));
+			assertEquals(max, rescue.query().daysAvailableBetween(today, 0, 100).ageBetween(today, 1, 1).list()
+					.get(0));
+
+			// A later filter of the same kind replaces an earlier one
+			assertEquals(2, rescue.query().size(Size.SMALL).size(Size.LARGE).count());
+
+			rescue.setAdoptionInfo(luna, true, new Date(1, 1, 2021), "Amira");
+			assertEquals(luna, rescue.query().adopted().list().get(0));
+			assertEquals(2, rescue.query().available().count());
+			assertEquals(0, rescue.query().available().goodWithKids().species(Dog.class).count());
+			assertEquals(2, rescue.query().adopted().available().count());
+			rescue.setAdoptionInfo(luna, false, null, null);
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.rescue.AnimalQuery#limit(int)} and
+	 * {@link edu.ncsu.csc216.packdoption.model.rescue.AnimalQuery#iterator()}.
+	 */
+	@Test
+	void testLimit() {
+		for (boolean columnar : new boolean[] { false, true }) {
+			Rescue rescue = rescue(columnar);
+			SimpleListIterator<Animal> it = rescue.query().houseTrained().limit(1).iterator();
+			assertTrue(it.hasNext());
+			assertEquals(luna, it.next());
+			assertFalse(it.hasNext());
+			assertThrows(NoSuchListElementException.class, () -> it.next());
+
+			assertEquals(0, rescue.query().limit(0).count());
+			assertEquals(3, rescue.query().limit(5).count());
+			assertEquals(2, rescue.query().limit(2).list().size());
+			assertThrows(IllegalArgumentException.class, () -> rescue.query().limit(-1));
+		}
+	}
+
+	/**
+	 * Test method for the argument checks of
+	 * {@link edu.ncsu.csc216.packdoption.model.rescue.AnimalQuery}.
+	 */
+	@Test
+	void testInvalid() {
+		AnimalQuery query = rescue(false).query();
+		Date today = new Date(4, 1, 2021);
+		assertThrows(IllegalArgumentException.class, () -> query.species(null));
+		assertThrows(IllegalArgumentException.class, () -> query.size(null));
+		assertThrows(IllegalArgumentException.class, () -> query.breed(null));
+		assertThrows(IllegalArgumentException.class, () -> query.ageBetween(null, 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> query.ageBetween(today, 2, 1));
+		assertThrows(IllegalArgumentException.class, () -> query.ageBetween(today, -1, 1));
+		assertThrows(IllegalArgumentException.class, () -> query.daysAvailableBetween(null, 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> query.daysAvailableBetween(today, 2, 1));
+		assertThrows(IllegalArgumentException.class, () -> query.daysAvailableBetween(today, -1, 1));
+
+		// Before rosie entered the rescue, and before her birthday
+		assertThrows(IllegalArgumentException.class, () -> query.daysAvailableBetween(new Date(3, 1, 2021), 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> query.ageBetween(new Date(7, 1, 2020), 0, 1));
+	}
+
+	/**
+	 * Tests that a columnar rescue and a scanned rescue answer random queries the
+	 * same.
+	 */
+	@Test
+	void testPlans() {
+		Random random = new Random(216);
+		Rescue rescue = new Rescue("DaniaRescue");
+		for (int i = 0; i < 200; i++) {
+			Date birthday = Date.ofEpochDay(random.nextInt(7000));
+			Date entered = Date.ofEpochDay(birthday.getEpochDay() + random.nextInt(1000));
+			Size size = Size.values()[random.nextInt(Size.values().length)];
+			Animal animal;
+			if (random.nextBoolean()) {
+				animal = new Cat("cat" + i, birthday, size, random.nextBoolean(), random.nextBoolean(),
+						new SortedLinkedList<>(), entered);
+			} else {
+				animal = new Dog("dog" + i, birthday, size, random.nextBoolean(), random.nextBoolean(),
+						new SortedLinkedList<>(), entered, Breed.values()[random.nextInt(Breed.values().length)]);
+			}
+			rescue.addAnimal(animal);
+			if (random.nextInt(3) == 0) {
+				animal.setAdoptionInfo(true, entered, "Owner");
+			}
+		}
+
+		Date today = new Date(6, 1, 2025);
+		for (int i = 0; i < 500; i++) {
+			long seed = random.nextLong();
+			rescue.setColumnar(false);
+			SortedLinkedList<Animal> scanned = randomQuery(rescue, new Random(seed), today).list();
+			rescue.setColumnar(true);
+			SortedLinkedList<Animal> indexed = randomQuery(rescue, new Random(seed), today).list();
+			assertEquals(scanned, indexed);
+		}
+	}
+
+	/**
+	 * Makes a query with random filters.
+	 *
+	 * @param rescue the rescue to query
+	 * @param random the source of the filters
+	 * @param today  the current date
+	 * @return the query
+	 */
+	private static AnimalQuery randomQuery(Rescue rescue, Random random, Date today) {
+		AnimalQuery query = rescue.query();
+		switch (random.nextInt(3)) {
+		case 0:
+			query.available();
+			break;
+		case 1:
+			query.adopted();
+			break;
+		default:
+			break;
+		}
+		switch (random.nextInt(4)) {
+		case 0:
+			query.species(Cat.class);
+			break;
+		case 1:
+			query.species(Dog.class);
+			break;
+		case 2:
+			query.species(Animal.class);
+			break;
+		default:
+			break;
+		}
+		if (random.nextBoolean()) {
+			query.size(Size.values()[random.nextInt(Size.values().length)]);
+		}
+		if (random.nextInt(4) == 0) {
+			query.breed(Breed.values()[random.nextInt(Breed.values().length)]);
+		}
+		if (random.nextBoolean()) {
+			query.houseTrained();
+		}
+		if (random.nextBoolean()) {
+			query.goodWithKids();
+		}
+		if (random.nextBoolean()) {
+			int min = random.nextInt(15);
+			query.ageBetween(today, min, min + random.nextInt(10));
+		}
+		if (random.nextBoolean()) {
+			int min = random.nextInt(5000);
+			query.daysAvailableBetween(today, min, min + random.nextInt(3000));
+		}
+		if (random.nextBoolean()) {
+			query.limit(random.nextInt(20));
+		}
+		return query;
+	}
+}
@@ -0,0 +1,276 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.packdoption.model.rescue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.packdoption.model.animals.Animal;
+import edu.ncsu.csc216.packdoption.model.animals.Animal.Size;
+import edu.ncsu.csc216.packdoption.model.animals.Cat;
+import edu.ncsu.csc216.packdoption.model.animals.Dog;
+import edu.ncsu.csc216.packdoption.model.animals.Dog.Breed;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler.Urgency;
+import edu.ncsu.csc216.packdoption.util.Date;
+import edu.ncsu.csc216.packdoption.util.NoSuchListElementException;
+import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
+
+/**
+ * Test class for AppointmentScheduler class.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+class AppointmentSchedulerTest {
+
+	/** Field for the scheduler under test */
+	private AppointmentScheduler scheduler;
+	/** A young cat that entered the rescue in 2021 */
+	private Cat rosie;
+	/** A young dog that entered the rescue in 2020 */
+	private Dog luna;
+	/** A cat born in 2005 that entered the rescue in 2022 */
+	private Cat oscar;
+
+	@BeforeEach
+	void setUp() {
+		scheduler = new AppointmentScheduler();
+		rosie = new Cat("rosie", new Date(7, 20, 2020), Size.SMALL, true, true, new SortedLinkedList<>(),
+				new Date(3, 19, 2021));
+		luna = new Dog("luna", new Date(6, 3, 2018), Size.MEDIUM, true, true, new SortedLinkedList<>(),
+				new Date(10, 4, 2020), Breed.OTHER);
+		oscar = new Cat("oscar", new Date(1, 2, 2005), Size.MEDIUM, true, true, new SortedLinkedList<>(),
+				new Date(5, 1, 2022));
+	}
+
+	/**
+	 * Test method for add(Animal) and remove() with routine appointments, which
+	 * are seen in order of time spent in the rescue.
+	 */
+	@Test
+	void testAddRemove() {
+		assertTrue(scheduler.isEmpty());
+		assertTrue(scheduler.add(rosie));
+		assertTrue(scheduler.add(oscar));
+		assertTrue(scheduler.add(luna));
+		assertFalse(scheduler.add(luna));
+		assertEquals(3, scheduler.size());
+		assertEquals(Urgency.ROUTINE, scheduler.getUrgency(luna));
+
+		assertEquals(luna, scheduler.element());
+		assertEquals(luna, scheduler.remove());
+		assertEquals(rosie, scheduler.remove());
+		assertEquals(oscar, scheduler.remove());
+		assertTrue(scheduler.isEmpty());
+		assertThrows(NoSuchListElementException.class, () -> scheduler.remove());
+		assertThrows(NoSuchListElementException.class, () -> scheduler.element());
+		assertThrows(NullPointerException.class, () -> scheduler.add(null));
+		assertThrows(NullPointerException.class, () -> scheduler.add(luna, null));
+	}
+
+	/**
+	 * Test method for add(Animal, Urgency), which sees more urgent animals first
+	 * and breaks remaining ties by arrival.
+	 */
+	@Test
+	void testAddUrgency() {
+		Cat twin = new Cat("twin", new Date(7, 20, 2020), Size.SMALL, true, true, new SortedLinkedList<>(),
+				new Date(3, 19, 2021));
+
+		scheduler.add(luna);
+		scheduler.add(twin, Urgency.URGENT);
+		scheduler.add(oscar, Urgency.EMERGENCY);
+		scheduler.add(rosie, Urgency.URGENT);
+
+		assertEquals(oscar, scheduler.remove());
+		assertEquals(twin, scheduler.remove());
+		assertEquals(rosie, scheduler.remove());
+		assertEquals(luna, scheduler.remove());
+	}
+
+	/**
+	 * Test method for setUrgency(Animal, Urgency) and getUrgency(Animal).
+	 */
+	@Test
+	void testSetUrgency() {
+		scheduler.add(luna);
+		scheduler.add(rosie);
+		scheduler.add(oscar);
+
+		scheduler.setUrgency(oscar, Urgency.EMERGENCY);
+		assertEquals(Urgency.EMERGENCY, scheduler.getUrgency(oscar));
+		assertEquals(oscar, scheduler.element());
+
+		scheduler.setUrgency(oscar, Urgency.ROUTINE);
+		assertEquals(luna, scheduler.element());
+		assertEquals(oscar, scheduler.peek(2));
+
+		Cat other = new Cat("other", new Date(1, 1, 2019), Size.SMALL, true, true, new SortedLinkedList<>(),
+				new Date(1, 1, 2020));
+		assertThrows(IllegalArgumentException.class, () -> scheduler.setUrgency(other, Urgency.URGENT));
+		assertThrows(IllegalArgumentException.class, () -> scheduler.setUrgency(luna, null));
+		assertThrows(IllegalArgumentException.class, () -> scheduler.getUrgency(other));
+	}
+
+	/**
+	 * Test method for setToday(Date), which puts senior animals ahead of others
+	 * with the same urgency.
+	 */
+	@Test
+	void testSetToday() {
+		assertNull(scheduler.getToday());
+		scheduler.add(luna);
+		scheduler.add(rosie);
+		scheduler.add(oscar);
+		assertEquals(luna, scheduler.element());
+
+		Date today = new Date(6, 1, 2022);
+		scheduler.setToday(today);
+		assertEquals(today, scheduler.getToday());
+		assertEquals(oscar, scheduler.peek(0));
+		assertEquals(luna, scheduler.peek(1));
+		assertEquals(rosie, scheduler.peek(2));
+
+		scheduler.setUrgency(rosie, Urgency.URGENT);
+		assertEquals(rosie, scheduler.remove());
+		assertEquals(oscar, scheduler.remove());
+
+		Dog puppy = new Dog("puppy", new Date(1, 1, 2030), Size.SMALL, true, true, new SortedLinkedList<>(),
+				new Date(1, 1, 2030), Breed.OTHER);
+		assertTrue(scheduler.add(puppy));
+		assertEquals(luna, scheduler.element());
+		assertThrows(IllegalArgumentException.class, () -> scheduler.setToday(null));
+	}
+
+	/**
+	 * Tests that resizing a scheduled dog in a rescue judges its seniority again,
+	 * since a dog's age category depends on its size, and moves it in the
+	 * schedule.
+	 */
+	@Test
+	void testResizeScheduledDog() {
+		Rescue rescue = new Rescue("MikesRescue");
+		Dog max = new Dog("max", new Date(1, 1, 2018), Size.MEDIUM, true, true, new SortedLinkedList<>(),
+				new Date(1, 1, 2023), Breed.OTHER);
+		rescue.addAnimal(max);
+		rescue.addAnimal(rosie);
+		rescue.addAnimal(oscar);
+		rescue.addAppointment(max, Urgency.ROUTINE);
+		rescue.addAppointment(rosie, Urgency.ROUTINE);
+		rescue.addAppointment(oscar, Urgency.URGENT);
+		AppointmentScheduler appointments = rescue.getAppointments();
+		appointments.setToday(new Date(6, 1, 2024));
+		assertEquals(rosie, appointments.peek(1));
+		assertEquals(max, appointments.peek(2));
+
+		// A large dog of six is a senior, and a medium one is not
+		max.setSize(Size.LARGE);
+		assertEquals(oscar, appointments.element());
+		assertEquals(max, appointments.peek(1));
+		assertEquals(rosie, appointments.peek(2));
+		assertEquals(oscar, appointments.remove());
+		assertEquals(max, appointments.element());
+
+		max.setSize(Size.MEDIUM);
+		assertEquals(rosie, appointments.remove());
+		assertEquals(max, appointments.remove());
+		assertTrue(appointments.isEmpty());
+	}
+
+	/**
+	 * Test method for peek(int), contains(Animal), and iterator().
+	 */
+	@Test
+	void testPeekIterator() {
+		scheduler.add(oscar);
+		scheduler.add(rosie, Urgency.URGENT);
+		scheduler.add(luna);
+
+		assertTrue(scheduler.contains(rosie));
+		assertFalse(scheduler.contains(null));
+		assertEquals(rosie, scheduler.peek(0));
+		assertEquals(luna, scheduler.peek(1));
+		assertEquals(oscar, scheduler.peek(2));
+		assertThrows(IndexOutOfBoundsException.class, () -> scheduler.peek(3));
+		assertThrows(IndexOutOfBoundsException.class, () -> scheduler.peek(-1));
+		assertEquals(3, scheduler.size());
+
+		Iterator<Animal> it = scheduler.iterator();
+		assertEquals(rosie, it.next());
+		assertEquals(luna, it.next());
+		assertEquals(oscar, it.next());
+		assertFalse(it.hasNext());
+		assertThrows(NoSuchElementException.class, () -> it.next());
+
+		Iterator<Animal> it2 = scheduler.iterator();
+		scheduler.remove();
+		assertFalse(scheduler.contains(rosie));
+		assertThrows(ConcurrentModificationException.class, () -> it2.next());
+	}
+
+	/**
+	 * Tests that many appointments past the initial capacity come out in priority
+	 * order.
+	 */
+	@Test
+	void testManyAppointments() {
+		Urgency[] urgencies = Urgency.values();
+		for (int i = 0; i < 60; i++) {
+			Cat cat = new Cat("cat" + i, new Date(1, 1, 2019), Size.SMALL, true, true, new SortedLinkedList<>(),
+					new Date(1, 1 + (i * 7) % 28, 2020));
+			scheduler.add(cat, urgencies[i % urgencies.length]);
+		}
+
+		Urgency previousUrgency = Urgency.EMERGENCY;
+		Date previousEntered = new Date(1, 1, 2020);
+		while (!scheduler.isEmpty()) {
+			Animal animal = scheduler.element();
+			Urgency urgency = scheduler.getUrgency(animal);
+			scheduler.remove();
+			assertTrue(urgency.compareTo(previousUrgency) >= 0);
+			if (urgency != previousUrgency) {
+				previousEntered = new Date(1, 1, 2020);
+			}
+			assertTrue(animal.getDateEnterRescue().compareTo(previousEntered) >= 0);
+			previousUrgency = urgency;
+			previousEntered = animal.getDateEnterRescue();
+		}
+	}
+
+	/**
+	 * Test method for remove(Animal), which removes an appointment from anywhere
+	 * in the schedule.
+	 */
+	@Test
+	void testRemoveAnimal() {
+		for (int i = 0; i < 30; i++) {
+			scheduler.add(new Cat("cat" + i, new Date(1, 1, 2019), Size.SMALL, true, true, new SortedLinkedList<>(),
+					new Date(1, 1 + (i * 11) % 28, 2020)));
+		}
+		scheduler.add(luna);
+		scheduler.add(rosie, Urgency.URGENT);
+
+		assertTrue(scheduler.remove(luna));
+		assertFalse(scheduler.remove(luna));
+		assertFalse(scheduler.remove(null));
+		assertFalse(scheduler.contains(luna));
+		assertEquals(31, scheduler.size());
+		assertTrue(scheduler.remove(rosie));
+		assertTrue(scheduler.remove(scheduler.peek(15)));
+
+		Date previous = new Date(1, 1, 2020);
+		while (!scheduler.isEmpty()) {
+			Animal animal = scheduler.remove();
+			assertTrue(animal.getDateEnterRescue().compareTo(previous) >= 0);
+			previous = animal.getDateEnterRescue();
+		}
+	}
+
+}
@@ -5,8 +5,19 @@ package edu.ncsu.csc216.packdoption.model.rescue;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
+import edu.ncsu.csc216.packdoption.model.animals.Animal;
+import edu.ncsu.csc216.packdoption.model.animals.Animal.Size;
+import edu.ncsu.csc216.packdoption.model.animals.Cat;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler.Urgency;
+import edu.ncsu.csc216.packdoption.util.Date;
+import edu.ncsu.csc216.packdoption.util.Note;
+import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
+
 /**
  * Test class for RescueList class.
  * 
@@ -118,4 +129,72 @@ class RescueListTest {
 		assertEquals(2, list.size());
 	}
 
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.rescue.RescueList#setMutationListener(edu.ncsu.csc216.packdoption.model.rescue.MutationListener)}.
+	 */
+	@Test
+	void testSetMutationListener() {
+		List<String> events = new ArrayList<>();
+		MutationListener listener = new MutationListener() {
+
+			@Override
+			public void rescueAdded(Rescue rescue) {
+				events.add("rescue " + rescue);
+			}
+
+			@Override
+			public void animalAdded(Rescue rescue, Animal animal) {
+				events.add("animal " + animal.getName());
+			}
+
+			@Override
+			public void noteAdded(Rescue rescue, Animal animal, Note note) {
+				events.add("note " + note.getMessage());
+			}
+
+			@Override
+			public void animalChanged(Rescue rescue, Animal animal) {
+				events.add("changed " + animal.getName());
+			}
+
+			@Override
+			public void appointmentAdded(Rescue rescue, Animal animal, Urgency urgency) {
+				events.add("appointment " + urgency);
+			}
+
+			@Override
+			public void appointmentRemoved(Rescue rescue, Animal animal) {
+				events.add("removed " + animal.getName());
+			}
+
+			@Override
+			public void urgencyChanged(Rescue rescue, Animal animal, Urgency urgency) {
+				events.add("urgency " + urgency);
+			}
+		};
+
+		RescueList list = new RescueList();
+		list.addRescue("DaniaRescue");
+		list.setMutationListener(listener);
+		assertEquals(listener, list.getMutationListener());
+		assertEquals(listener, list.getRescue(0).getMutationListener());
+		list.addRescue("MikesRescue");
+
+		Rescue rescue = list.getRescue(1);
+		Cat rosie = new Cat("rosie", new Date(7, 20, 2020), Size.SMALL, true, true, new SortedLinkedList<>(),
+				new Date(3, 19, 2021));
+		rescue.addAnimal(rosie);
+		rosie.addNote(new Note(new Date(3, 20, 2021), "Vaccinated"));
+		rosie.setSize(Size.MEDIUM);
+		rescue.addAppointment(rosie, Urgency.URGENT);
+		rescue.getAppointments().setUrgency(rosie, Urgency.EMERGENCY);
+		rescue.getAppointments().remove();
+
+		list.setMutationListener(null);
+		rescue.addNote(rosie, new Note(new Date(3, 21, 2021), "Unheard"));
+		assertEquals(List.of("rescue MikesRescue", "animal rosie", "note Vaccinated", "changed rosie",
+				"appointment URGENT", "urgency EMERGENCY", "removed rosie"), events);
+	}
+
 }
@@ -5,6 +5,10 @@ package edu.ncsu.csc216.packdoption.model.rescue;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 import edu.ncsu.csc216.packdoption.model.animals.Animal;
@@ -12,8 +16,11 @@ import edu.ncsu.csc216.packdoption.model.animals.Animal.Size;
 import edu.ncsu.csc216.packdoption.model.animals.Cat;
 import edu.ncsu.csc216.packdoption.model.animals.Dog;
 import edu.ncsu.csc216.packdoption.model.animals.Dog.Breed;
+import edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler.Urgency;
+import edu.ncsu.csc216.packdoption.util.ConcurrentSortedList;
 import edu.ncsu.csc216.packdoption.util.Date;
 import edu.ncsu.csc216.packdoption.util.Note;
+import edu.ncsu.csc216.packdoption.util.SimpleListIterator;
 import edu.ncsu.csc216.packdoption.util.SortedLinkedList;
 
 /**
@@ -51,6 +58,33 @@ class RescueTest {
 		assertEquals("DaniaRescue", rescue.getName());
 	}
 
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.rescue.Rescue#Rescue(java.lang.String, edu.ncsu.csc216.packdoption.util.SortedList)}.
+	 */
+	@Test
+	void testRescueWithList() {
+		assertThrows(IllegalArgumentException.class, () -> new Rescue("DaniaRescue", null));
+
+		Date birthday = new Date(7, 20, 2020);
+		Date dateEnterRescue = new Date(3, 19, 2021);
+		Cat rosie = new Cat("rosie", birthday, Animal.Size.SMALL, true, true, new SortedLinkedList<>(),
+				dateEnterRescue);
+		ConcurrentSortedList<Animal> animals = new ConcurrentSortedList<>();
+		animals.add(rosie);
+		assertThrows(IllegalArgumentException.class, () -> new Rescue("DaniaRescue", animals));
+
+		Rescue rescue = new Rescue("DaniaRescue", new ConcurrentSortedList<>());
+		assertTrue(rescue.addAnimal(rosie));
+		assertFalse(rescue.addAnimal(rosie));
+		Dog rosieDog = new Dog("rosie", birthday, Size.SMALL, true, true, new SortedLinkedList<>(), dateEnterRescue,
+				Breed.MIXED);
+		assertTrue(rescue.addAnimal(rosieDog));
+		assertEquals(2, rescue.numAnimals());
+		assertTrue(rescue.contains(rosie));
+		assertEquals(rosie, rescue.getAnimal("rosie", birthday));
+	}
+
 	/**
 	 * Test method for
 	 * {@link edu.ncsu.csc216.packdoption.model.rescue.Rescue#getName()}.
@@ -118,6 +152,34 @@ class RescueTest {
 		assertEquals(luna, rescue.getAnimal("luna", birthday));
 	}
 
+	/**
+	 * Tests lookups by name and birthday when a cat and a dog share both.
+	 */
+	@Test
+	void testGetAnimalSharedNameAndBirthday() {
+		Rescue rescue = new Rescue("MikesRescue");
+		Date birthday = new Date(6, 3, 2018);
+		Date dateEnterRescue = new Date(5, 21, 2021);
+		Cat lunaCat = new Cat("luna", birthday, Size.SMALL, true, true, new SortedLinkedList<>(), dateEnterRescue);
+		Dog lunaDog = new Dog("luna", birthday, Size.MEDIUM, true, true, new SortedLinkedList<>(), dateEnterRescue,
+				Breed.OTHER);
+		Cat other = new Cat("luna", new Date(6, 4, 2018), Size.SMALL, true, true, new SortedLinkedList<>(),
+				dateEnterRescue);
+
+		assertFalse(rescue.contains(lunaDog));
+		assertFalse(rescue.contains(null));
+		assertTrue(rescue.addAnimal(lunaCat));
+		assertTrue(rescue.addAnimal(lunaDog));
+		assertFalse(rescue.addAnimal(lunaDog));
+		assertTrue(rescue.contains(lunaCat));
+		assertTrue(rescue.contains(lunaDog));
+		assertFalse(rescue.contains(other));
+		assertEquals(2, rescue.numAnimals());
+		assertSame(lunaCat, rescue.getAnimal("luna", birthday));
+		assertNull(rescue.getAnimal("luna ", birthday));
+		assertNull(rescue.getAnimal("luna", new Date(6, 4, 2018)));
+	}
+
 	/**
 	 * Test method for
 	 * {@link edu.ncsu.csc216.packdoption.model.rescue.Rescue#getAppointments()}.
@@ -251,6 +313,44 @@ class RescueTest {
 		assertEquals(1, rescue.numAnimalsAdopted());
 	}
 
+	/**
+	 * Tests that the available and adopted counts follow adoption changes made
+	 * through the rescue and directly on the animal.
+	 */
+	@Test
+	void testAdoptionCounts() {
+		Rescue rescue = new Rescue("DaniaRescue");
+		Date birthday = new Date(7, 20, 2020);
+		Date dateEnterRescue = new Date(3, 19, 2021);
+		Date dateAdopted = new Date(2, 18, 2023);
+		Cat rosie = new Cat("rosie", birthday, Animal.Size.SMALL, true, true, new SortedLinkedList<>(),
+				dateEnterRescue);
+		Dog luna = new Dog("luna", birthday, Size.MEDIUM, true, true, new SortedLinkedList<>(), dateEnterRescue,
+				true, dateAdopted, "Amira", Breed.OTHER);
+
+		rescue.addAnimal(rosie);
+		rescue.addAnimal(luna);
+		assertFalse(rescue.addAnimal(rosie));
+		assertEquals(1, rescue.numAnimalsAvailable());
+		assertEquals(1, rescue.numAnimalsAdopted());
+		assertEquals(1, rescue.numCatsAvailable());
+		assertEquals(0, rescue.numDogsAvailable());
+
+		luna.setAdoptionInfo(false, null, null);
+		assertEquals(2, rescue.numAnimalsAvailable());
+		assertEquals(0, rescue.numAnimalsAdopted());
+		assertEquals(1, rescue.numDogsAvailable());
+
+		rescue.setAdoptionInfo(rosie, true, dateAdopted, "Michael");
+		rosie.setAdoptionInfo(true, dateAdopted, "Michael and Family");
+		assertEquals(1, rescue.numAnimalsAvailable());
+		assertEquals(1, rescue.numAnimalsAdopted());
+		assertEquals(0, rescue.numCatsAvailable());
+		assertEquals(1, rescue.numDogsAvailable());
+		assertEquals(rescue.animalsAvailable().size(), rescue.numAnimalsAvailable());
+		assertEquals(rescue.animalsAdopted().size(), rescue.numAnimalsAdopted());
+	}
+
 	/**
 	 * Test method for
 	 * {@link edu.ncsu.csc216.packdoption.model.rescue.Rescue#animalsAvailable()}.
@@ -268,6 +368,45 @@ class RescueTest {
 		assertTrue(rescue.animalsAvailable().contains(luna));
 	}
 
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.rescue.Rescue#availableAnimals(Size, boolean, boolean)}.
+	 */
+	@Test
+	void testAvailableAnimalsSizeAndFlags() {
+		Rescue rescue = new Rescue("MikesRescue");
+		Date dateEnterRescue = new Date(10, 4, 2020);
+		Dog luna = new Dog("luna", new Date(6, 3, 2018), Size.SMALL, true, true, new SortedLinkedList<>(),
+				dateEnterRescue, Breed.OTHER);
+		Cat rosie = new Cat("rosie", new Date(6, 4, 2019), Size.SMALL, false, true, new SortedLinkedList<>(),
+				dateEnterRescue);
+		Cat milo = new Cat("milo", new Date(6, 5, 2019), Size.LARGE, true, true, new SortedLinkedList<>(),
+				dateEnterRescue);
+		rescue.addAnimal(luna);
+		rescue.addAnimal(rosie);
+		rescue.addAnimal(milo);
+
+		for (boolean columnar : new boolean[] { false, true }) {
+			rescue.setColumnar(columnar);
+			assertEquals(rescue.animalsAvailable(), rescue.availableAnimals(null, false, false));
+			SortedLinkedList<Animal> small = rescue.availableAnimals(Size.SMALL, false, true);
+			assertEquals(2, small.size());
+			assertEquals(luna, small.get(0));
+			assertEquals(rosie, small.get(1));
+			SortedLinkedList<Animal> trained = rescue.availableAnimals(null, true, false);
+			assertEquals(2, trained.size());
+			assertEquals(luna, trained.get(0));
+			assertEquals(milo, trained.get(1));
+			assertEquals(0, rescue.availableAnimals(Size.MEDIUM, false, false).size());
+		}
+
+		milo.setSize(Size.SMALL);
+		rescue.setAdoptionInfo(luna, true, dateEnterRescue, "Amira");
+		SortedLinkedList<Animal> small = rescue.availableAnimals(Size.SMALL, true, true);
+		assertEquals(1, small.size());
+		assertEquals(milo, small.get(0));
+	}
+
 	/**
 	 * Test method for
 	 * {@link edu.ncsu.csc216.packdoption.model.rescue.Rescue#availableCats()}.
@@ -476,6 +615,52 @@ class RescueTest {
 		assertThrows(NullPointerException.class, () -> rescue.addAppointment(null));
 	}
 
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.rescue.Rescue#addAppointment(edu.ncsu.csc216.packdoption.model.animals.Animal, edu.ncsu.csc216.packdoption.model.rescue.AppointmentScheduler.Urgency)}.
+	 */
+	@Test
+	void testAddAppointmentUrgency() {
+		Rescue rescue = new Rescue("MikesRescue");
+		Date dateEnterRescue = new Date(5, 21, 2021);
+		Dog luna = new Dog("luna", new Date(6, 3, 2018), Size.MEDIUM, true, true, new SortedLinkedList<>(),
+				dateEnterRescue, Breed.OTHER);
+		Cat rosie = new Cat("rosie", new Date(6, 4, 2019), Size.MEDIUM, true, true, new SortedLinkedList<>(),
+				dateEnterRescue);
+
+		rescue.addAnimal(luna);
+		rescue.addAnimal(rosie);
+		assertTrue(rescue.addAppointment(luna));
+		assertTrue(rescue.addAppointment(rosie, Urgency.EMERGENCY));
+		assertFalse(rescue.addAppointment(rosie, Urgency.URGENT));
+		assertEquals(Urgency.EMERGENCY, rescue.getAppointments().getUrgency(rosie));
+		assertEquals(rosie, rescue.getAppointments().element());
+		assertThrows(NullPointerException.class, () -> rescue.addAppointment(luna, null));
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.rescue.Rescue#isScheduled(edu.ncsu.csc216.packdoption.model.animals.Animal)}.
+	 */
+	@Test
+	void testIsScheduled() {
+		Rescue rescue = new Rescue("MikesRescue");
+		Date birthday = new Date(6, 3, 2018);
+		Date dateEnterRescue = new Date(5, 21, 2021);
+		Dog luna = new Dog("luna", birthday, Size.MEDIUM, true, true, new SortedLinkedList<>(), dateEnterRescue,
+				Breed.OTHER);
+
+		rescue.addAnimal(luna);
+		assertFalse(rescue.isScheduled(luna));
+		assertTrue(rescue.addAppointment(luna));
+		assertTrue(rescue.isScheduled(luna));
+		assertFalse(rescue.addAppointment(luna));
+
+		rescue.getAppointments().remove();
+		assertFalse(rescue.isScheduled(luna));
+		assertTrue(rescue.addAppointment(luna));
+	}
+
 	/**
 	 * Test method for
 	 * {@link edu.ncsu.csc216.packdoption.model.rescue.Rescue#getAppointmentsAsArray(edu.ncsu.csc216.packdoption.util.Date)}.
@@ -503,4 +688,143 @@ class RescueTest {
 		assertEquals("rosie", array[1][0]);
 	}
 
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.rescue.Rescue#getVersion()}.
+	 */
+	@Test
+	void testGetVersion() {
+		Rescue rescue = new Rescue("DaniaRescue");
+		Cat rosie = new Cat("rosie", new Date(7, 20, 2020), Size.SMALL, true, true, new SortedLinkedList<>(),
+				new Date(3, 19, 2021));
+		Cat other = new Cat("other", new Date(7, 20, 2020), Size.SMALL, true, true, new SortedLinkedList<>(),
+				new Date(3, 19, 2021));
+
+		long version = rescue.getVersion();
+		rescue.addAnimal(rosie);
+		assertNotEquals(version, version = rescue.getVersion());
+		rescue.addAnimal(rosie);
+		assertEquals(version, rescue.getVersion());
+
+		rosie.addNote(new Note(new Date(3, 20, 2021), "Vaccinated"));
+		assertNotEquals(version, version = rescue.getVersion());
+		rosie.setSize(Size.MEDIUM);
+		assertNotEquals(version, version = rescue.getVersion());
+		rescue.setAdoptionInfo(rosie, true, new Date(4, 1, 2021), "Owner");
+		assertNotEquals(version, version = rescue.getVersion());
+		rescue.addAppointment(rosie, Urgency.URGENT);
+		assertNotEquals(version, version = rescue.getVersion());
+		rescue.getAppointments().setToday(new Date(1, 1, 2035));
+		rescue.getAppointments().setToday(new Date(1, 1, 2036));
+		assertEquals(version, rescue.getVersion());
+		rescue.getAppointments().remove();
+		assertNotEquals(version, version = rescue.getVersion());
+
+		other.addNote(new Note(new Date(3, 20, 2021), "Not in the rescue"));
+		assertEquals(version, rescue.getVersion());
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.ncsu.csc216.packdoption.model.rescue.Rescue#setColumnar(boolean)}.
+	 */
+	@Test
+	void testColumnar() {
+		Rescue rescue = new Rescue("MikesRescue");
+		assertFalse(rescue.isColumnar());
+		Random random = new Random(216);
+		for (int i = 0; i < 300; i++) {
+			addRandomAnimal(rescue, random, i);
+		}
+
+		rescue.setColumnar(true);
+		assertTrue(rescue.isColumnar());
+		assertSameFilters(rescue);
+
+		SimpleListIterator<Animal> it = rescue.animalIterator();
+		for (int i = 0; it.hasNext(); i++) {
+			Animal animal = it.next();
+			if (i % 3 == 0) {
+				rescue.setAdoptionInfo(animal, true, animal.getDateEnterRescue(), "Owner");
+			} else if (i % 7 == 0) {
+				animal.setSize(Size.LARGE);
+			}
+		}
+		assertSameFilters(rescue);
+
+		for (int i = 300; i < 320; i++) {
+			addRandomAnimal(rescue, random, i);
+		}
+		assertSameFilters(rescue);
+
+		Animal adopted = rescue.animalsAdopted().get(0);
+		rescue.setAdoptionInfo(adopted, false, null, null);
+		assertTrue(rescue.animalsAvailable().contains(adopted));
+		assertSameFilters(rescue);
+
+		Date early = new Date(1, 1, 2000);
+		assertThrows(IllegalArgumentException.class, () -> rescue.availableAnimalsDayRange(early, 0, 10));
+		assertThrows(IllegalArgumentException.class, () -> rescue.availableAnimalsAge(early, 0, 10));
+		rescue.setColumnar(false);
+		assertThrows(IllegalArgumentException.class, () -> rescue.availableAnimalsDayRange(early, 0, 10));
+		assertThrows(IllegalArgumentException.class, () -> rescue.availableAnimalsAge(early, 0, 10));
+	}
+
+	/**
+	 * Adds a cat or dog with random dates, size, and flags to a rescue.
+	 * 
+	 * @param rescue the rescue
+	 * @param random the source of the dates
+	 * @param i      a number unique to the animal
+	 */
+	private static void addRandomAnimal(Rescue rescue, Random random, int i) {
+		Date birthday = Date.ofEpochDay(random.nextInt(7000));
+		Date entered = Date.ofEpochDay(birthday.getEpochDay() + random.nextInt(1000));
+		Size size = Size.values()[random.nextInt(Size.values().length)];
+		boolean houseTrained = random.nextBoolean();
+		boolean goodWithKids = random.nextBoolean();
+		if (i % 2 == 0) {
+			rescue.addAnimal(new Cat("cat" + i, birthday, size, houseTrained, goodWithKids, new SortedLinkedList<>(),
+					entered));
+		} else {
+			rescue.addAnimal(new Dog("dog" + i, birthday, size, houseTrained, goodWithKids, new SortedLinkedList<>(),
+					entered, Breed.values()[i % Breed.values().length]));
+		}
+	}
+
+	/**
+	 * Asserts that each filter of a columnar rescue returns what it returns when
+	 * the rescue scans its animals.
+	 * 
+	 * @param rescue the columnar rescue
+	 */
+	private static void assertSameFilters(Rescue rescue) {
+		Date[] days = { new Date(2, 29, 2024), new Date(2, 28, 2023), new Date(3, 1, 2023), new Date(12, 31, 2050),
+				new Date(8, 15, 2030) };
+		int[][] ranges = { { 0, 0 }, { 0, 100 }, { 30, 2000 }, { 1, 3 }, { 5, 30 }, { 0, Integer.MAX_VALUE } };
+
+		List<Object> columnar = new ArrayList<>();
+		List<Object> scanned = new ArrayList<>();
+		for (List<Object> results : List.of(columnar, scanned)) {
+			rescue.setColumnar(results == columnar);
+			results.add(rescue.animalsAvailable());
+			results.add(rescue.availableCats());
+			results.add(rescue.availableDogs());
+			results.add(rescue.animalsAdopted());
+			for (Size size : new Size[] { null, Size.SMALL, Size.LARGE }) {
+				results.add(rescue.availableAnimals(size, false, false));
+				results.add(rescue.availableAnimals(size, true, false));
+				results.add(rescue.availableAnimals(size, true, true));
+			}
+			for (Date today : days) {
+				for (int[] range : ranges) {
+					results.add(rescue.availableAnimalsDayRange(today, range[0], range[1]));
+					results.add(rescue.availableAnimalsAge(today, range[0], range[1]));
+				}
+			}
+		}
+		rescue.setColumnar(true);
+		assertEquals(scanned, columnar);
+	}
+
 }
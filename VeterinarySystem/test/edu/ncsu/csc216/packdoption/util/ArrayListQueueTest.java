@@ -2,6 +2,10 @@ package edu.ncsu.csc216.packdoption.util;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -100,4 +104,85 @@ class ArrayListQueueTest {
 		assertEquals(0, queue.size());
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Tests contains method.
+	 */
+	@Test
+	void testContains() {
+		Queue<String> queue = new ArrayListQueue<>();
+		assertFalse(queue.contains("first"));
+		assertFalse(queue.contains(null));
+
+		queue.add("first");
+		queue.add("second");
+		queue.add("first");
+		assertTrue(queue.contains("first"));
+		assertTrue(queue.contains("second"));
+		assertFalse(queue.contains("third"));
+
+		queue.remove();
+		assertTrue(queue.contains("first"));
+		queue.remove();
+		assertFalse(queue.contains("second"));
+		queue.remove();
+		assertFalse(queue.contains("first"));
+	}
+
+	/**
+	 * Tests peek method, including after the queue wraps around its array.
+	 */
+	@Test
+	void testPeek() {
+		Queue<String> queue = new ArrayListQueue<>();
+		assertThrows(IndexOutOfBoundsException.class, () -> queue.peek(0));
+
+		for (int i = 0; i < 8; i++) {
+			queue.add("element" + i);
+		}
+		for (int i = 0; i < 5; i++) {
+			queue.remove();
+		}
+		for (int i = 8; i < 14; i++) {
+			queue.add("element" + i);
+		}
+
+		assertEquals(9, queue.size());
+		for (int i = 0; i < 9; i++) {
+			assertEquals("element" + (i + 5), queue.peek(i));
+		}
+		assertEquals(9, queue.size());
+		assertThrows(IndexOutOfBoundsException.class, () -> queue.peek(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> queue.peek(9));
+	}
+
+	/**
+	 * Tests iterator method.
+	 */
+	@Test
+	void testIterator() {
+		Queue<String> queue = new ArrayListQueue<>();
+		queue.add("first");
+		queue.add("second");
+		queue.add("third");
+		queue.remove();
+		queue.add("fourth");
+
+		StringBuilder order = new StringBuilder();
+		for (String s : queue) {
+			order.append(s).append(" ");
+		}
+		assertEquals("second third fourth ", order.toString());
+		assertEquals(3, queue.size());
+
+		Iterator<String> it = queue.iterator();
+		assertEquals("second", it.next());
+		assertThrows(UnsupportedOperationException.class, it::remove);
+		queue.add("fifth");
+		assertThrows(ConcurrentModificationException.class, it::next);
+
+		Iterator<String> it2 = new ArrayListQueue<String>().iterator();
+		assertFalse(it2.hasNext());
+		assertThrows(NoSuchElementException.class, it2::next);
+	}
+
+}
@@ -0,0 +1,165 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.packdoption.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ConcurrentSortedList class.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+class ConcurrentSortedListTest {
+
+	/** Field for Concurrent Sorted List */
+	private ConcurrentSortedList<String> list;
+
+	@BeforeEach
+	void setUp() {
+		list = new ConcurrentSortedList<>();
+	}
+
+	/**
+	 * Test method for add(E e), contains(E e), and indexOf(E e).
+	 */
+	@Test
+	void testAdd() {
+		assertTrue(list.isEmpty());
+		assertTrue(list.add("Cookies"));
+		assertTrue(list.add("Cake"));
+		assertTrue(list.add("Ice Cream"));
+		assertEquals(3, list.size());
+		assertTrue(list.contains("Cake"));
+		assertFalse(list.contains("Pie"));
+		assertFalse(list.contains(null));
+		assertEquals(0, list.indexOf("Cake"));
+		assertEquals(2, list.indexOf("Ice Cream"));
+		assertEquals(-1, list.indexOf("Pie"));
+
+		assertThrows(IllegalArgumentException.class, () -> list.add("Cake"));
+		assertThrows(NullPointerException.class, () -> list.add(null));
+		assertEquals(3, list.size());
+	}
+
+	/**
+	 * Test method for get(int index) and remove(int index).
+	 */
+	@Test
+	void testGetRemove() {
+		list.add("Cookies");
+		list.add("Cake");
+		list.add("Ice Cream");
+
+		assertEquals("Cake", list.get(0));
+		assertEquals("Cookies", list.get(1));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+
+		assertEquals("Cookies", list.remove(1));
+		assertEquals(2, list.size());
+		assertFalse(list.contains("Cookies"));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.remove(2));
+	}
+
+	/**
+	 * Test method for iterator(), toString(), and equals(Object obj).
+	 */
+	@Test
+	void testIterator() {
+		list.add("Cookies");
+		list.add("Cake");
+
+		SimpleListIterator<String> it = list.iterator();
+		assertEquals("Cake", it.next());
+		list.add("Ice Cream");
+		assertEquals("Cookies", it.next());
+		assertEquals("Ice Cream", it.next());
+		assertThrows(NoSuchListElementException.class, () -> it.next());
+
+		assertEquals("-Cake\n-Cookies\n-Ice Cream", list.toString());
+		ConcurrentSortedList<String> list2 = new ConcurrentSortedList<>();
+		list2.add("Ice Cream");
+		list2.add("Cookies");
+		assertNotEquals(list, list2);
+		list2.add("Cake");
+		assertEquals(list, list2);
+		assertEquals(list.hashCode(), list2.hashCode());
+	}
+
+	/**
+	 * Tests that several threads adding overlapping elements leave every element
+	 * in the list exactly once.
+	 *
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	void testConcurrentAdd() throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		AtomicInteger rejected = new AtomicInteger();
+		for (int t = 0; t < 4; t++) {
+			pool.execute(() -> {
+				for (int i = 0; i < 1000; i++) {
+					try {
+						list.add(String.format("%04d", i));
+					} catch (IllegalArgumentException e) {
+						rejected.incrementAndGet();
+					}
+				}
+			});
+		}
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+		assertEquals(1000, list.size());
+		assertEquals(3000, rejected.get());
+		SimpleListIterator<String> it = list.iterator();
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(String.format("%04d", i), it.next());
+		}
+	}
+
+	/**
+	 * Tests that several threads removing by index each remove a different
+	 * element, and together remove every element.
+	 *
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	void testConcurrentRemove() throws InterruptedException {
+		for (int i = 0; i < 1000; i++) {
+			list.add(String.format("%04d", i));
+		}
+		Set<String> removed = ConcurrentHashMap.newKeySet();
+		AtomicInteger repeated = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		for (int t = 0; t < 4; t++) {
+			pool.execute(() -> {
+				for (int i = 0; i < 250; i++) {
+					if (!removed.add(list.remove(0))) {
+						repeated.incrementAndGet();
+					}
+				}
+			});
+		}
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+		assertEquals(0, repeated.get());
+		assertEquals(1000, removed.size());
+		assertEquals(0, list.size());
+		assertTrue(list.isEmpty());
+	}
+
+}
@@ -186,8 +186,22 @@ public class DateTest {
 		Date d3 = new Date(12, 31, 2020);
 
 		assertEquals(1, d1.daysTo(d2), "Should be 1 day difference");
-		assertEquals(364, d1.daysTo(d3), "Should be 364 days difference");
+		assertEquals(365, d1.daysTo(d3), "Should be 365 days difference in a leap year");
 		assertEquals(-1, d2.daysTo(d1), "Should be -1 day difference");
+		assertEquals(2, new Date(2, 28, 2020).daysTo(new Date(3, 1, 2020)), "Should count February 29");
+		assertEquals(1, new Date(2, 28, 2021).daysTo(new Date(3, 1, 2021)), "Should be 1 day difference");
+		assertEquals(18627, new Date(1, 1, 2000).daysTo(new Date(12, 31, 2050)), "Should count 13 leap days");
+	}
+
+	/**
+	 * Tests getEpochDay method.
+	 */
+	@Test
+	public void testGetEpochDay() {
+		assertEquals(0, new Date(1, 1, 2000).getEpochDay());
+		assertEquals(59, new Date(2, 29, 2000).getEpochDay());
+		assertEquals(366, new Date(1, 1, 2001).getEpochDay());
+		assertEquals(new Date("3/1/2024").getEpochDay(), new Date(3, 1, 2024).getEpochDay());
 	}
 
 	/**
@@ -202,6 +216,67 @@ public class DateTest {
 		assertEquals(1, d1.yearsTo(d2), "Should be 1 year difference");
 		assertEquals(-1, d1.yearsTo(d3), "Should be -1 year difference");
 		assertEquals(0, d1.yearsTo(new Date(12, 31, 2020)), "Should be 0 year difference");
+		assertEquals(0, new Date(11, 8, 2018).yearsTo(new Date(11, 7, 2019)), "Should be 0 year difference");
+		assertEquals(1, new Date(11, 8, 2018).yearsTo(new Date(11, 8, 2019)), "Should be 1 year difference");
+		assertEquals(0, new Date(11, 8, 2019).yearsTo(new Date(11, 9, 2018)), "Should be 0 year difference");
+		assertEquals(0, new Date(2, 29, 2004).yearsTo(new Date(2, 28, 2005)), "Should be 0 year difference");
+		assertEquals(1, new Date(2, 29, 2004).yearsTo(new Date(3, 1, 2005)), "Should be 1 year difference");
+	}
+
+	/**
+	 * Tests of method.
+	 */
+	@Test
+	public void testOf() {
+		Date d1 = Date.of(2, 29, 2020);
+		assertEquals(2, d1.getMonth());
+		assertEquals(29, d1.getDay());
+		assertEquals(2020, d1.getYear());
+		assertSame(d1, Date.of(2, 29, 2020), "Should return the shared instance");
+		assertEquals(new Date(2, 29, 2020), d1);
+		assertSame(Date.of(1, 1, 2000), Date.of(1, 1, 2000));
+		assertSame(Date.of(12, 31, 2050), Date.of(12, 31, 2050));
+
+		Exception e = assertThrows(IllegalArgumentException.class, () -> Date.of(2, 29, 2021));
+		assertEquals("Invalid date", e.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> Date.of(1, 1, 2051));
+	}
+
+	/**
+	 * Tests ofEpochDay method against every day in range.
+	 */
+	@Test
+	public void testOfEpochDay() {
+		assertSame(Date.of(1, 1, 2000), Date.ofEpochDay(0));
+		assertSame(Date.of(2, 29, 2000), Date.ofEpochDay(59));
+		assertSame(Date.of(3, 1, 2000), Date.ofEpochDay(60));
+		assertSame(Date.of(12, 31, 2050), Date.ofEpochDay(18627));
+		for (int epochDay = 0; epochDay <= 18627; epochDay++) {
+			assertEquals(epochDay, Date.ofEpochDay(epochDay).getEpochDay());
+		}
+
+		Exception e = assertThrows(IllegalArgumentException.class, () -> Date.ofEpochDay(-1));
+		assertEquals("Invalid date", e.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> Date.ofEpochDay(18628));
+	}
+
+	/**
+	 * Tests parse method.
+	 */
+	@Test
+	public void testParse() {
+		assertSame(Date.of(9, 7, 2020), Date.parse("9/7/2020"));
+		assertSame(Date.of(9, 7, 2020), Date.parse("09/07/2020"));
+		assertSame(Date.of(10, 18, 2019), Date.parse(new StringBuilder("10/18/2019")));
+
+		String[] invalid = { "", "/", "1/1", "1/1/", "1//2020", "/1/2020", "1/1/20", "1/1/20200", "100/1/2020",
+			"1/100/2020", "1/1/2020/", "1-1-2020", " 1/1/2020", "1/1/2020 ", "13/1/2020", "2/30/2020", "0/1/2020",
+			"1/1/1999", "a/1/2020" };
+		for (String text : invalid) {
+			Exception e = assertThrows(IllegalArgumentException.class, () -> Date.parse(text), text);
+			assertEquals("Invalid date", e.getMessage());
+			assertFalse(Date.isValidDate(text), text);
+		}
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,185 @@
+/**
+ *
+ */
+package edu.ncsu.csc216.packdoption.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ConcurrentModificationException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for SortedArrayList class.
+ *
+ * @author Michael Pacheco
+ * @author Dania Swelam
+ */
+class SortedArrayListTest {
+
+	/** Field for Sorted Array List */
+	private SortedArrayList<String> list;
+
+	@BeforeEach
+	void setUp() {
+		list = new SortedArrayList<>();
+	}
+
+	/**
+	 * Test method for the constructors of SortedArrayList.
+	 */
+	@Test
+	void testSortedArrayList() {
+		assertNotNull(list);
+		assertTrue(list.isEmpty());
+		assertEquals(0, list.size());
+		assertTrue(new SortedArrayList<String>(0).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> new SortedArrayList<String>(-1));
+	}
+
+	/**
+	 * Test method for add(E e).
+	 */
+	@Test
+	void testAdd() {
+		assertTrue(list.add("Cookies"));
+		assertEquals(1, list.size());
+		assertEquals(0, list.indexOf("Cookies"));
+
+		assertTrue(list.add("Cake"));
+		assertEquals(0, list.indexOf("Cake"));
+		assertEquals(1, list.indexOf("Cookies"));
+
+		assertTrue(list.add("Ice Cream"));
+		assertEquals(3, list.size());
+		assertEquals(2, list.indexOf("Ice Cream"));
+
+		assertThrows(IllegalArgumentException.class, () -> list.add("Cake"));
+		assertThrows(NullPointerException.class, () -> list.add(null));
+		assertEquals(3, list.size());
+	}
+
+	/**
+	 * Test method for add(E e) past the initial capacity.
+	 */
+	@Test
+	void testAddGrow() {
+		for (int i = 99; i >= 0; i--) {
+			list.add(String.format("%03d", i));
+		}
+		assertEquals(100, list.size());
+		for (int i = 0; i < 100; i++) {
+			assertEquals(String.format("%03d", i), list.get(i));
+			assertEquals(i, list.indexOf(String.format("%03d", i)));
+		}
+	}
+
+	/**
+	 * Test method for remove(int index).
+	 */
+	@Test
+	void testRemove() {
+		list.add("Cookies");
+		list.add("Cake");
+		list.add("Ice Cream");
+
+		assertEquals("Cookies", list.remove(1));
+		assertEquals(2, list.size());
+		assertFalse(list.contains("Cookies"));
+		assertEquals(1, list.indexOf("Ice Cream"));
+
+		assertEquals("Cake", list.remove(0));
+		assertEquals("Ice Cream", list.remove(0));
+		assertTrue(list.isEmpty());
+		assertThrows(IndexOutOfBoundsException.class, () -> list.remove(0));
+	}
+
+	/**
+	 * Test method for get(int index).
+	 */
+	@Test
+	void testGet() {
+		list.add("Cookies");
+		list.add("Cake");
+		list.add("Ice Cream");
+
+		assertEquals("Cake", list.get(0));
+		assertEquals("Cookies", list.get(1));
+		assertEquals("Ice Cream", list.get(2));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+	}
+
+	/**
+	 * Test method for contains(E e) and indexOf(E e).
+	 */
+	@Test
+	void testContainsIndexOf() {
+		assertFalse(list.contains("Cookies"));
+		assertEquals(-1, list.indexOf("Cookies"));
+		list.add("Cookies");
+		list.add("Cake");
+		assertTrue(list.contains("Cookies"));
+		assertFalse(list.contains("Brownies"));
+		assertFalse(list.contains("Donuts"));
+		assertFalse(list.contains(null));
+		assertEquals(-1, list.indexOf("Pie"));
+	}
+
+	/**
+	 * Test method for iterator().
+	 */
+	@Test
+	void testIterator() {
+		list.add("Cookies");
+		list.add("Cake");
+
+		SimpleListIterator<String> it = list.iterator();
+		assertEquals("Cake", it.next());
+		assertEquals("Cookies", it.next());
+		assertFalse(it.hasNext());
+		assertThrows(NoSuchListElementException.class, () -> it.next());
+	}
+
+	/**
+	 * Test method for toString(), equals(Object obj), and hashCode().
+	 */
+	@Test
+	void testToStringEqualsHashCode() {
+		SortedArrayList<String> list2 = new SortedArrayList<>();
+		assertEquals("", list.toString());
+		assertEquals(list, list2);
+		assertEquals(list.hashCode(), list2.hashCode());
+
+		list.add("Cookies");
+		list.add("Cake");
+		assertEquals("-Cake\n-Cookies", list.toString());
+		assertNotEquals(list, list2);
+
+		list2.add("Cake");
+		list2.add("Cookies");
+		assertEquals(list, list2);
+		assertEquals(list.hashCode(), list2.hashCode());
+	}
+
+	/**
+	 * Test method for iterator() when the list is modified during iteration.
+	 */
+	@Test
+	void testIteratorFailFast() {
+		list.add("Cookies");
+		list.add("Cake");
+
+		SimpleListIterator<String> it = list.iterator();
+		assertEquals("Cake", it.next());
+		list.add("Ice Cream");
+		assertThrows(ConcurrentModificationException.class, () -> it.next());
+
+		SimpleListIterator<String> it2 = list.iterator();
+		list.remove(0);
+		assertTrue(it2.hasNext());
+		assertThrows(ConcurrentModificationException.class, () -> it2.next());
+	}
+
+}
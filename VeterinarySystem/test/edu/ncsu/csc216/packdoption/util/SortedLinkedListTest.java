@@ -5,6 +5,8 @@ package edu.ncsu.csc216.packdoption.util;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ConcurrentModificationException;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -65,6 +67,42 @@ class SortedLinkedListTest {
 		assertThrows(NullPointerException.class, () -> list.add(null));
 	}
 
+	/**
+	 * Test method for add(E e) with a duplicate, in the middle and at the end of
+	 * the list.
+	 */
+	@Test
+	void testAddDuplicate() {
+		list.add("Cookies");
+		list.add("Cake");
+		list.add("Ice Cream");
+
+		assertThrows(IllegalArgumentException.class, () -> list.add("Cake"));
+		assertThrows(IllegalArgumentException.class, () -> list.add("Cookies"));
+		assertThrows(IllegalArgumentException.class, () -> list.add("Ice Cream"));
+		assertEquals(3, list.size());
+	}
+
+	/**
+	 * Test method for add(E e) appending after the last element is removed.
+	 */
+	@Test
+	void testAddAfterRemoveLast() {
+		list.add("Cake");
+		list.add("Cookies");
+		list.remove(1);
+		assertTrue(list.add("Donuts"));
+		assertTrue(list.add("Brownies"));
+		assertTrue(list.add("Pie"));
+		assertEquals("-Brownies\n-Cake\n-Donuts\n-Pie", list.toString());
+		list.remove(0);
+		list.remove(0);
+		list.remove(0);
+		list.remove(0);
+		assertTrue(list.add("Ice Cream"));
+		assertEquals("-Ice Cream", list.toString());
+	}
+
 	/**
 	 * Test method for remove(int index).
 	 */
@@ -234,4 +272,24 @@ class SortedLinkedListTest {
 		list2.add("Cake");
 		assertEquals(list.hashCode(), list2.hashCode());
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Test method for iterator() when the list is modified during iteration.
+	 */
+	@Test
+	void testIteratorFailFast() {
+		list.add("Cookies");
+		list.add("Cake");
+
+		SimpleListIterator<String> it = list.iterator();
+		assertEquals("Cake", it.next());
+		list.add("Ice Cream");
+		assertThrows(ConcurrentModificationException.class, () -> it.next());
+
+		SimpleListIterator<String> it2 = list.iterator();
+		list.remove(0);
+		assertTrue(it2.hasNext());
+		assertThrows(ConcurrentModificationException.class, () -> it2.next());
+	}
+
+}